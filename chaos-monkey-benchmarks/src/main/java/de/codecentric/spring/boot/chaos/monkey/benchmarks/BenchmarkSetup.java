@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.Metrics;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeyProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.DefaultChaosToggleNameMapper;
+import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.DefaultChaosToggles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+
+/**
+ * Builds a Chaos Monkey without a Spring context. The only assault is a no-op,
+ * so the benchmarks measure the cost of the chaos monkey itself and not the
+ * cost of an injected failure.
+ */
+class BenchmarkSetup {
+
+    private final ChaosMonkeySettings settings;
+
+    BenchmarkSetup(ChaosLevel level) {
+        ChaosMonkeyProperties chaosMonkeyProperties = new ChaosMonkeyProperties();
+        chaosMonkeyProperties.setEnabled(level != ChaosLevel.DISABLED);
+        AssaultProperties assaultProperties = new AssaultProperties();
+        assaultProperties.setLevel(level == ChaosLevel.LEVEL_10000 ? 10000 : 1);
+        WatcherProperties watcherProperties = new WatcherProperties();
+        watcherProperties.setService(true);
+        watcherProperties.setActuatorHealth(true);
+        watcherProperties.setRestTemplate(true);
+        watcherProperties.setWebClient(true);
+        this.settings = new ChaosMonkeySettings(chaosMonkeyProperties, assaultProperties, watcherProperties);
+    }
+
+    ChaosMonkeySettings settings() {
+        return settings;
+    }
+
+    /**
+     * @return a publisher that records to a {@link SimpleMeterRegistry}, like the
+     *         default configuration does
+     */
+    MetricEventPublisher publisher() {
+        return new MetricEventPublisher(new Metrics(new SimpleMeterRegistry()), false);
+    }
+
+    ChaosMonkeyRequestScope requestScope() {
+        return new ChaosMonkeyRequestScope(settings, Collections.singletonList(new NoOpAssault()), Collections.emptyList(), null,
+                new DefaultChaosToggles(), new DefaultChaosToggleNameMapper(settings.getChaosMonkeyProperties().getTogglePrefix()));
+    }
+
+    private static class NoOpAssault implements ChaosMonkeyRequestAssault {
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public void attack() {
+        }
+    }
+}
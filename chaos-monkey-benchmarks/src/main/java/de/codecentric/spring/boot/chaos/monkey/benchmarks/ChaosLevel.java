@@ -0,0 +1,26 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+/** The chaos monkey configurations every benchmark is run with. */
+public enum ChaosLevel {
+    /** chaos monkey is disabled, every watched call is passed through */
+    DISABLED,
+    /** every watched call is attacked */
+    LEVEL_1,
+    /** on average one in 10000 watched calls is attacked */
+    LEVEL_10000
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.component.AsyncChaosMetricsRecorder;
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosMetricsRecorder;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.component.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of recording a watched call on the request thread, either
+ * directly to Micrometer or through the {@link AsyncChaosMetricsRecorder}. The
+ * number of dropped observations is reported as the secondary result
+ * {@code droppedCount}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ChaosMetricsRecorderBenchmark {
+
+    private static final String POINTCUT = "execution.DemoService.sayHello";
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private ChaosMetricsRecorder recorder;
+
+    private final AtomicBoolean droppedCountClaimed = new AtomicBoolean();
+
+    @Setup
+    public void setup() {
+        Metrics metrics = new Metrics(new SimpleMeterRegistry());
+        recorder = async ? new AsyncChaosMetricsRecorder(metrics, 8192, 100) : metrics;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recorder instanceof AsyncChaosMetricsRecorder) {
+            ((AsyncChaosMetricsRecorder) recorder).close();
+        }
+    }
+
+    @Benchmark
+    public void recordWatchedCall(DroppedObservations droppedObservations) {
+        recorder.recordWatchedCall(MetricType.SERVICE, POINTCUT);
+    }
+
+    /**
+     * Reports the observations dropped by the async recorder per iteration. The
+     * count is shared by all threads, so only the thread which claims it first
+     * reports it and the sum over all threads is not multiplied.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DroppedObservations {
+
+        private AsyncChaosMetricsRecorder recorder;
+
+        private long droppedAtStart;
+
+        @Setup(Level.Trial)
+        public void claim(ChaosMetricsRecorderBenchmark benchmark) {
+            if (benchmark.recorder instanceof AsyncChaosMetricsRecorder && benchmark.droppedCountClaimed.compareAndSet(false, true)) {
+                recorder = (AsyncChaosMetricsRecorder) benchmark.recorder;
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            droppedAtStart = recorder != null ? recorder.getDroppedCount() : 0;
+        }
+
+        public long droppedCount() {
+            return recorder != null ? recorder.getDroppedCount() - droppedAtStart : 0;
+        }
+    }
+}
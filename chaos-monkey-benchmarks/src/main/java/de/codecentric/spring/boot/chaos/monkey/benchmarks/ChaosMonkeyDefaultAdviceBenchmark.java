@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.watcher.advice.ChaosMonkeyDefaultAdvice;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Compares a call through a {@link ChaosMonkeyDefaultAdvice} proxy, as created
+ * for services, controllers, repositories and components, with a direct call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaosMonkeyDefaultAdviceBenchmark {
+
+    @Param({"DISABLED", "LEVEL_1", "LEVEL_10000"})
+    private ChaosLevel level;
+
+    private WatchedService target;
+
+    private WatchedService proxy;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup setup = new BenchmarkSetup(level);
+        target = new WatchedService();
+
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ChaosMonkeyDefaultAdvice(setup.requestScope(), setup.publisher(), ChaosTarget.SERVICE,
+                setup.settings().getWatcherProperties()::isService));
+        proxy = (WatchedService) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return target.sayHello();
+    }
+
+    @Benchmark
+    public String proxied() {
+        return proxy.sayHello();
+    }
+
+    public static class WatchedService {
+
+        public String sayHello() {
+            return "Hello";
+        }
+    }
+}
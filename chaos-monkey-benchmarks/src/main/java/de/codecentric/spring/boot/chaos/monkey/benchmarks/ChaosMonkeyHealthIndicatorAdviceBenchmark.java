@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.watcher.advice.ChaosMonkeyHealthIndicatorAdvice;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Compares a {@link HealthIndicator} proxied with the
+ * {@link ChaosMonkeyHealthIndicatorAdvice} with the plain health indicator.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaosMonkeyHealthIndicatorAdviceBenchmark {
+
+    @Param({"DISABLED", "LEVEL_1", "LEVEL_10000"})
+    private ChaosLevel level;
+
+    private HealthIndicator target;
+
+    private HealthIndicator proxy;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup setup = new BenchmarkSetup(level);
+        Health health = Health.up().build();
+        target = () -> health;
+
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(HealthIndicator.class);
+        proxyFactory.addAdvice(new ChaosMonkeyHealthIndicatorAdvice(setup.requestScope(), setup.settings().getWatcherProperties()));
+        proxy = (HealthIndicator) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public Health baseline() {
+        return target.getHealth(true);
+    }
+
+    @Benchmark
+    public Health proxied() {
+        return proxy.getHealth(true);
+    }
+}
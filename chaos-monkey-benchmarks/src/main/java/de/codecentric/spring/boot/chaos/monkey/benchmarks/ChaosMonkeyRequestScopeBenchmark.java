@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of {@link ChaosMonkeyRequestScope#callChaosMonkey} for a
+ * single watched call. Run it with the gc profiler to see the allocations per
+ * call, which should be zero for every scenario:
+ *
+ * <pre>
+ * java -jar chaos-monkey-benchmarks/target/benchmarks.jar ChaosMonkeyRequestScopeBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaosMonkeyRequestScopeBenchmark {
+
+    private static final String SIGNATURE = "de.codecentric.spring.boot.demo.chaos.monkey.service.DemoService.sayHello";
+
+    @Param({"DISABLED", "LEVEL_1", "LEVEL_10000"})
+    private ChaosLevel level;
+
+    /** Number of watched custom services, one of them matches the signature. */
+    @Param({"0", "500"})
+    private int watchedCustomServices;
+
+    private ChaosMonkeyRequestScope requestScope;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup benchmarkSetup = new BenchmarkSetup(level);
+        if (watchedCustomServices > 0) {
+            List<String> watched = new ArrayList<>();
+            for (int i = 1; i < watchedCustomServices; i++) {
+                watched.add("de.codecentric.spring.boot.demo.chaos.monkey.service" + i + ".DemoService");
+            }
+            watched.add("de.codecentric.spring.boot.demo.chaos.monkey.service.DemoService");
+            benchmarkSetup.settings().getAssaultProperties().setWatchedCustomServices(watched);
+        }
+        requestScope = benchmarkSetup.requestScope();
+    }
+
+    @Benchmark
+    public void callChaosMonkey() {
+        requestScope.callChaosMonkey(ChaosTarget.SERVICE, SIGNATURE);
+    }
+}
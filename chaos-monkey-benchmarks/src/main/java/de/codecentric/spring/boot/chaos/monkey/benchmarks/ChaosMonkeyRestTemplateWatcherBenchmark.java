@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyRestTemplateWatcher;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Compares {@link ChaosMonkeyRestTemplateWatcher#intercept} with calling the
+ * request execution directly. The execution returns a canned response, so no
+ * network is involved.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaosMonkeyRestTemplateWatcherBenchmark {
+
+    private static final byte[] BODY = new byte[0];
+
+    @Param({"DISABLED", "LEVEL_1", "LEVEL_10000"})
+    private ChaosLevel level;
+
+    private ChaosMonkeyRestTemplateWatcher watcher;
+
+    private HttpRequest request;
+
+    private ClientHttpRequestExecution execution;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup setup = new BenchmarkSetup(level);
+        watcher = new ChaosMonkeyRestTemplateWatcher(setup.requestScope(), setup.settings().getWatcherProperties(),
+                setup.settings().getAssaultProperties());
+
+        URI uri = URI.create("http://localhost:8080/hello");
+        HttpHeaders headers = new HttpHeaders();
+        request = new HttpRequest() {
+            @Override
+            public String getMethodValue() {
+                return "GET";
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        ClientHttpResponse response = new CannedResponse();
+        execution = (httpRequest, body) -> response;
+    }
+
+    @Benchmark
+    public ClientHttpResponse baseline() throws IOException {
+        return execution.execute(request, BODY);
+    }
+
+    @Benchmark
+    public ClientHttpResponse intercepted() throws IOException {
+        return watcher.intercept(request, BODY, execution);
+    }
+
+    private static class CannedResponse extends AbstractClientHttpResponse {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(BODY);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
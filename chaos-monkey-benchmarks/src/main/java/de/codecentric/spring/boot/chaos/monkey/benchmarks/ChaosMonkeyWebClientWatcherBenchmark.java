@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyWebClientWatcher;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares {@link ChaosMonkeyWebClientWatcher#filter} with calling the exchange
+ * function directly. The exchange function returns a canned response, so no
+ * network is involved. Both variants block on the result to include the cost
+ * of the composed {@link Mono}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaosMonkeyWebClientWatcherBenchmark {
+
+    @Param({"DISABLED", "LEVEL_1", "LEVEL_10000"})
+    private ChaosLevel level;
+
+    private ChaosMonkeyWebClientWatcher watcher;
+
+    private ClientRequest request;
+
+    private ExchangeFunction exchangeFunction;
+
+    @Setup
+    public void setup() {
+        BenchmarkSetup setup = new BenchmarkSetup(level);
+        watcher = new ChaosMonkeyWebClientWatcher(setup.requestScope(), setup.settings().getWatcherProperties(),
+                setup.settings().getAssaultProperties());
+
+        request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:8080/hello")).build();
+        Mono<ClientResponse> response = Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        exchangeFunction = clientRequest -> response;
+    }
+
+    @Benchmark
+    public ClientResponse baseline() {
+        return exchangeFunction.exchange(request).block();
+    }
+
+    @Benchmark
+    public ClientResponse filtered() {
+        return watcher.filter(request, exchangeFunction).block();
+    }
+}
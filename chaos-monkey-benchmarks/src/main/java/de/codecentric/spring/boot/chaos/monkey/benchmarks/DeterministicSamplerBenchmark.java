@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.benchmarks;
+
+import de.codecentric.spring.boot.chaos.monkey.component.DeterministicSampler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the shared counter formerly used for the deterministic mode with the
+ * {@link DeterministicSampler} under contention. JMH can't vary the number of
+ * threads with a parameter, so the main method runs the benchmark for 1 to 64
+ * threads:
+ *
+ * <pre>
+ * java -cp chaos-monkey-benchmarks/target/benchmarks.jar de.codecentric.spring.boot.chaos.monkey.benchmarks.DeterministicSamplerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeterministicSamplerBenchmark {
+
+    private static final int LEVEL = 10;
+
+    private final AtomicInteger sharedCounter = new AtomicInteger();
+
+    private final DeterministicSampler sampler = new DeterministicSampler();
+
+    @Benchmark
+    public boolean sharedCounter() {
+        return sharedCounter.incrementAndGet() % LEVEL == 0;
+    }
+
+    @Benchmark
+    public boolean stripedSampler() {
+        return sampler.sample(LEVEL);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            new Runner(new OptionsBuilder().include(DeterministicSamplerBenchmark.class.getSimpleName()).threads(threads).build()).run();
+        }
+    }
+}
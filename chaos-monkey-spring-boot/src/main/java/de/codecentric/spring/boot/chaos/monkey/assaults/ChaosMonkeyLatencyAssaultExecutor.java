@@ -18,4 +18,16 @@ package de.codecentric.spring.boot.chaos.monkey.assaults;
 public interface ChaosMonkeyLatencyAssaultExecutor {
 
     void execute(long duration);
+
+    /**
+     * Same as {@link #execute(long)}, but tells whether the latency was applied.
+     * Executors that may skip a delay override this.
+     *
+     * @return {@code true} if the thread was delayed, {@code false} if the delay
+     *         was skipped
+     */
+    default boolean tryExecute(long duration) {
+        execute(duration);
+        return true;
+    }
 }
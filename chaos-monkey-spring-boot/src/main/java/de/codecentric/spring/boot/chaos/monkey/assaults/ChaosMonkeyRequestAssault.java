@@ -15,5 +15,66 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.assaults;
 
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import org.springframework.lang.Nullable;
+
 public interface ChaosMonkeyRequestAssault extends ChaosMonkeyAssault {
+
+    /**
+     * Runs the assault for a call of a watched target. This is what the request
+     * scope calls, assaults that don't need to know the attacked call only
+     * implement {@link #attack()}.
+     *
+     * @param target
+     *            the kind of the watched call
+     * @param signature
+     *            the signature of the watched method, or the url of an outgoing
+     *            request
+     */
+    default void attack(@Nullable ChaosTarget target, @Nullable String signature) {
+        attack();
+    }
+
+    /**
+     * Same as {@link #attack(ChaosTarget, String)} for a caller that must not block
+     * its thread, see {@link #attackNonBlocking()}.
+     *
+     * @return the delay in milliseconds to apply to the request, 0 for none
+     */
+    default long attackNonBlocking(@Nullable ChaosTarget target, @Nullable String signature) {
+        return attackNonBlocking();
+    }
+
+    /**
+     * Runs the assault for a caller that must not block its thread, e.g. a netty
+     * event loop. Assaults that would block return the delay in milliseconds
+     * instead, which the caller has to apply to the assaulted request on its own.
+     *
+     * @return the delay in milliseconds to apply to the request, 0 for none
+     */
+    default long attackNonBlocking() {
+        attack();
+        return 0;
+    }
+
+    /**
+     * @return whether the assault can only attack callers that may block, like
+     *         an assault that waits for a lock. The request scope doesn't
+     *         choose these for non-blocking callers, so their share of the
+     *         attacks goes to the other assaults.
+     */
+    default boolean isBlockingOnly() {
+        return false;
+    }
+
+    /**
+     * Called by a non-blocking caller once it really applies a delay returned by
+     * {@link #attackNonBlocking(ChaosTarget, String)}, e.g. when the delayed
+     * publisher is subscribed.
+     *
+     * @param delay
+     *            the applied delay in milliseconds
+     */
+    default void delayApplied(@Nullable ChaosTarget target, @Nullable String signature, long delay) {
+    }
 }
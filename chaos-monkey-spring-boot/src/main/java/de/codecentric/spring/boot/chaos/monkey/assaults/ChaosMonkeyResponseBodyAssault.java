@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+/**
+ * A request assault that attacks the streamed body of a response instead of
+ * the call, e.g. of the WebClient watcher. The request scope only chooses it for
+ * callers that can apply it, see
+ * {@link de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope#callChaosMonkeyStreaming}.
+ */
+public interface ChaosMonkeyResponseBodyAssault extends ChaosMonkeyRequestAssault {
+
+    /**
+     * @param body
+     *            the body of the attacked response
+     * @return the attacked body. Buffers that are not passed on must be released.
+     */
+    Flux<DataBuffer> attackBody(Flux<DataBuffer> body);
+
+    /** There is no body to attack, the request scope doesn't choose it for calls. */
+    @Override
+    default void attack() {
+    }
+}
@@ -20,15 +20,33 @@ import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Generates the configured CPU load with one worker thread per processor. The
+ * workers alternate between spinning and parking in short slices, and a
+ * controller adjusts the share of spinning every 100 ms based on the measured
+ * process load, so the load generated by the application itself is taken into
+ * account.
+ */
 public class CpuAssault implements ChaosMonkeyRuntimeAssault {
     private static final double leeway = 0.05;
     private static final Logger Logger = LoggerFactory.getLogger(CpuAssault.class);
 
+    private static final long CONTROL_PERIOD_MILLIS = 100;
+
+    // the load is held for cpuMillisecondsHoldLoad after it has been reached, or
+    // after this time if it can't be reached
+    private static final long RAMP_UP_TIMEOUT_MILLIS = 10000;
+
     private final ChaosMonkeySettings settings;
 
     private final MetricEventPublisher metricEventPublisher;
@@ -55,24 +73,45 @@ public class CpuAssault implements ChaosMonkeyRuntimeAssault {
         }
         double load = settings.getAssaultProperties().getCpuLoadTargetFraction();
 
-        if (os.getProcessCpuLoad() >= 0) {
-            ThreadManager threadManager = new ThreadManager(os, load);
-            // initial ramp up
-            while (os.getProcessCpuLoad() < load && isActive()) {
-                threadManager.tick();
-            }
-            final long targetMs = System.currentTimeMillis() + settings.getAssaultProperties().getCpuMillisecondsHoldLoad();
-            // hold for specified time
-            while (targetMs > System.currentTimeMillis() && isActive()) {
-                threadManager.tick();
+        ProcessCpuLoad processCpuLoad = new ProcessCpuLoad(os, Runtime.getRuntime().availableProcessors());
+        if (processCpuLoad.isAvailable()) {
+            DutyCycleController controller = new DutyCycleController(load);
+            Workers workers = new Workers(Runtime.getRuntime().availableProcessors(), load);
+            try {
+                publishLoad(MetricType.CPU_ASSAULT_TARGET_LOAD, load);
+                long start = System.currentTimeMillis();
+                long holdUntil = -1;
+                while (isActive() && (holdUntil < 0 || holdUntil > System.currentTimeMillis())) {
+                    Thread.sleep(CONTROL_PERIOD_MILLIS);
+                    double measured = processCpuLoad.sample();
+                    if (measured >= 0) {
+                        workers.setDutyCycle(controller.update(measured, CONTROL_PERIOD_MILLIS / 1000.0));
+                        publishLoad(MetricType.CPU_ASSAULT_LOAD, measured);
+                    }
+                    // initial ramp up
+                    if (holdUntil < 0 && (measured >= load - leeway || System.currentTimeMillis() - start > RAMP_UP_TIMEOUT_MILLIS)) {
+                        // hold for specified time
+                        holdUntil = System.currentTimeMillis() + settings.getAssaultProperties().getCpuMillisecondsHoldLoad();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                workers.stop();
+                publishLoad(MetricType.CPU_ASSAULT_TARGET_LOAD, 0);
             }
-            threadManager.stop();
             Logger.info("Chaos Monkey - cpu assault cleaned up");
         } else {
             Logger.warn("Chaos Monkey - cpu information not available, assault not executed");
         }
     }
 
+    private void publishLoad(MetricType type, double load) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(type, Math.round(load * 100));
+        }
+    }
+
     @Override
     public String getCronExpression(AssaultProperties assaultProperties) {
         return assaultProperties.getCpuCronExpression() != null
@@ -80,88 +119,174 @@ public class CpuAssault implements ChaosMonkeyRuntimeAssault {
                 : assaultProperties.getRuntimeAssaultCronExpression();
     }
 
-    private static class ThreadManager {
+    /**
+     * Measures the load of this process. Uses the {@link OperatingSystemMXBean}
+     * and falls back to the cpu time in /proc/self/stat where the bean doesn't
+     * know the load, e.g. in some containers.
+     */
+    static class ProcessCpuLoad {
+        private static final Path PROC_SELF_STAT = Paths.get("/proc/self/stat");
+
+        // USER_HZ, the unit of the cpu times, is 100 on practically every Linux
+        private static final long NANOS_PER_TICK = TimeUnit.SECONDS.toNanos(1) / 100;
+
         private final OperatingSystemMXBean os;
-        private final double targetLoad;
-        private final List<WorkerThread> runningThreads = new ArrayList<>();
-        private final List<WorkerThread> pausedThreads = new ArrayList<>();
-        private double lastLoad;
+        private final int processors;
+        private long lastCpuTime = -1;
+        private long lastNanoTime;
 
-        private ThreadManager(OperatingSystemMXBean os, double targetLoad) {
+        ProcessCpuLoad(OperatingSystemMXBean os, int processors) {
             this.os = os;
-            this.targetLoad = targetLoad;
+            this.processors = processors;
+        }
+
+        boolean isAvailable() {
+            return os.getProcessCpuLoad() >= 0 || Files.isReadable(PROC_SELF_STAT);
         }
 
-        public void tick() {
+        /**
+         * @return the load since the previous sample between 0 and 1, or -1 if it
+         *         is not known
+         */
+        double sample() {
             double load = os.getProcessCpuLoad();
-            // only change things if we have new data
-            if (load != lastLoad) {
-                lastLoad = load;
-                if (load < targetLoad) {
-                    WorkerThread thread;
-                    if (pausedThreads.isEmpty()) {
-                        thread = new WorkerThread("CPU Assault thread " + runningThreads.size());
-                        thread.start();
-                    } else {
-                        thread = pausedThreads.remove(0);
-                        synchronized (thread) {
-                            thread.shouldPause = false;
-                            thread.notify();
-                        }
-                    }
-                    runningThreads.add(thread);
-                } else if (load > targetLoad + leeway && !runningThreads.isEmpty()) {
-                    WorkerThread thread = runningThreads.remove(0);
-                    thread.shouldPause = true;
-                    pausedThreads.add(thread);
-                }
-                // make sure the managing thread doesn't generate too much load
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException ignored) {
-                }
+            if (load >= 0) {
+                return load;
             }
+            long cpuTime = readProcSelfStat();
+            long nanoTime = System.nanoTime();
+            double result = -1;
+            if (cpuTime >= 0 && lastCpuTime >= 0 && nanoTime > lastNanoTime) {
+                result = Math.min(1.0, (double) (cpuTime - lastCpuTime) / ((nanoTime - lastNanoTime) * (double) processors));
+            }
+            lastCpuTime = cpuTime;
+            lastNanoTime = nanoTime;
+            return result;
         }
 
-        public void stop() {
-            runningThreads.addAll(pausedThreads);
-            for (Thread thread : runningThreads) {
+        private static long readProcSelfStat() {
+            try {
+                return parseCpuTime(new String(Files.readAllBytes(PROC_SELF_STAT), StandardCharsets.US_ASCII));
+            } catch (IOException | RuntimeException e) {
+                return -1;
+            }
+        }
+
+        /**
+         * @return user plus system time of the process in nanoseconds
+         */
+        static long parseCpuTime(String stat) {
+            // the command name may contain spaces, the fields after it are 3 (state)
+            // to 14 (utime) and 15 (stime)
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return (Long.parseLong(fields[11]) + Long.parseLong(fields[12])) * NANOS_PER_TICK;
+        }
+    }
+
+    /**
+     * Proportional-integral controller for the share of time the workers spin.
+     * The target itself is used as starting point, which is right for an
+     * otherwise idle process, the integral part makes up for the load of the
+     * application and for what the workers can't achieve.
+     */
+    static class DutyCycleController {
+        private static final double KP = 0.2;
+        private static final double KI = 5.0;
+
+        private final double target;
+        private double integral;
+
+        DutyCycleController(double target) {
+            this.target = target;
+        }
+
+        /**
+         * @param measured
+         *            the load measured during the last period
+         * @param seconds
+         *            the length of the period
+         * @return the new duty cycle between 0 and 1
+         */
+        double update(double measured, double seconds) {
+            double error = target - measured;
+            integral += error * seconds;
+            double output = target + KP * error + KI * integral;
+            // don't wind up the integral while the output is saturated
+            if (output > 1) {
+                integral = (1 - target - KP * error) / KI;
+                output = 1;
+            } else if (output < 0) {
+                integral = (0 - target - KP * error) / KI;
+                output = 0;
+            }
+            return output;
+        }
+    }
+
+    private static class Workers {
+        private final WorkerThread[] threads;
+        private volatile double dutyCycle;
+
+        private Workers(int count, double dutyCycle) {
+            this.dutyCycle = dutyCycle;
+            this.threads = new WorkerThread[count];
+            for (int i = 0; i < count; i++) {
+                threads[i] = new WorkerThread("CPU Assault thread " + i, this);
+                threads[i].start();
+            }
+        }
+
+        private void setDutyCycle(double dutyCycle) {
+            this.dutyCycle = dutyCycle;
+        }
+
+        private void stop() {
+            for (WorkerThread thread : threads) {
                 thread.interrupt();
+            }
+            boolean interrupted = false;
+            for (WorkerThread thread : threads) {
                 while (thread.isAlive()) {
                     try {
                         thread.join();
                     } catch (InterruptedException e) {
-                        thread.interrupt();
+                        interrupted = true;
                     }
                 }
             }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
     private static class WorkerThread extends Thread {
-        private volatile boolean shouldPause = false;
+        // short enough for the scheduler to spread the load evenly
+        private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final Workers workers;
+
+        // the result of the busy loop is published, so it can't be optimized away
+        private volatile long sink;
 
-        public WorkerThread(String name) {
+        public WorkerThread(String name, Workers workers) {
             super(name);
+            this.workers = workers;
+            setDaemon(true);
         }
 
         @Override
         public void run() {
-            long f1 = 0;
-            long f2 = 1;
-            while (!interrupted()) {
-                try {
-                    if (shouldPause) {
-                        synchronized (this) {
-                            wait();
-                        }
-                    }
-                    // next fibonacci number
-                    f2 = f1 + f2;
-                    f1 = f2 - f1;
-                } catch (InterruptedException e) {
-                    // set interrupt flag for outer check
-                    interrupt();
+            long value = getId();
+            while (!isInterrupted()) {
+                long busyNanos = (long) (SLICE_NANOS * workers.dutyCycle);
+                long start = System.nanoTime();
+                while (System.nanoTime() - start < busyNanos) {
+                    value = value * 6364136223846793005L + 1442695040888963407L;
+                }
+                sink = value;
+                if (busyNanos < SLICE_NANOS) {
+                    LockSupport.parkNanos(SLICE_NANOS - busyNanos);
                 }
             }
         }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fills the direct memory with direct byte buffers, like the ones used by
+ * Netty. The used direct memory includes the buffers of the application.
+ */
+class DirectMemoryFiller extends MemoryFiller {
+
+    private static final Logger Logger = LoggerFactory.getLogger(DirectMemoryFiller.class);
+
+    private static final AtomicLong stolenMemory = new AtomicLong(0);
+
+    private static final long MAX_SLICE_SIZE = SizeConverter.toBytes(1024);
+
+    private final long maxDirectMemory;
+
+    private final BufferPoolMXBean directBufferPool;
+
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+
+    DirectMemoryFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this(settings, metricEventPublisher, maxDirectMemory());
+    }
+
+    DirectMemoryFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, long maxDirectMemory) {
+        super(settings, metricEventPublisher, MetricType.MEMORY_ASSAULT_DIRECT_MEMORY_STOLEN, stolenMemory);
+        this.maxDirectMemory = maxDirectMemory;
+        this.directBufferPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream().filter(it -> "direct".equals(it.getName()))
+                .findFirst().orElse(null);
+    }
+
+    @Override
+    boolean isAvailable() {
+        return directBufferPool != null;
+    }
+
+    @Override
+    boolean isFilled() {
+        return directBufferPool.getMemoryUsed() >= getLimit();
+    }
+
+    @Override
+    int getMillisecondsWaitNextIncrease() {
+        return assaultProperties().getDirectMemoryMillisecondsWaitNextIncrease();
+    }
+
+    @Override
+    int getMillisecondsHoldFilledMemory() {
+        return assaultProperties().getDirectMemoryMillisecondsHoldFilledMemory();
+    }
+
+    @Override
+    protected long steal() {
+        // direct memory is a hard limit, so don't go beyond the target
+        long bytesToSteal = Math.min(Math.min((long) (maxDirectMemory * assaultProperties().getDirectMemoryFillIncrementFraction()),
+                getLimit() - directBufferPool.getMemoryUsed()), MAX_SLICE_SIZE);
+        if (bytesToSteal <= 0) {
+            return 0;
+        }
+        try {
+            // direct buffers are zeroed, so all their pages are touched
+            buffers.add(ByteBuffer.allocateDirect((int) bytesToSteal));
+        } catch (OutOfMemoryError e) {
+            Logger.debug("Cannot allocate more direct memory");
+            return 0;
+        }
+        return bytesToSteal;
+    }
+
+    @Override
+    protected void free() {
+        // the buffers are freed by the garbage collector
+        buffers.clear();
+    }
+
+    private long getLimit() {
+        return (long) (maxDirectMemory * assaultProperties().getDirectMemoryFillTargetFraction());
+    }
+
+    private static long maxDirectMemory() {
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            long maxDirectMemorySize = Long.parseLong(hotSpot.getVMOption("MaxDirectMemorySize").getValue());
+            if (maxDirectMemorySize > 0) {
+                return maxDirectMemorySize;
+            }
+        } catch (RuntimeException e) {
+            Logger.debug("MaxDirectMemorySize not available", e);
+        }
+        // the default is the maximum heap size
+        return Runtime.getRuntime().maxMemory();
+    }
+}
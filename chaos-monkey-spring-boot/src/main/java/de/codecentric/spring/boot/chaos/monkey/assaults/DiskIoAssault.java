@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Saturates the disk with reads and writes of a temporary file. The assault
+ * writes and reads blocks through a {@link FileChannel} with a direct buffer at
+ * the configured throughput and mix, and forces the written blocks to the disk
+ * after the configured number of writes. Reads are usually served by the page
+ * cache, so the write share determines the load of the disk. The file is
+ * deleted when the assault ends and when the application shuts down.
+ */
+public class DiskIoAssault implements ChaosMonkeyRuntimeAssault, DisposableBean {
+    private static final Logger Logger = LoggerFactory.getLogger(DiskIoAssault.class);
+
+    static final int BLOCK_SIZE = 1024 * 1024;
+
+    private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long REPORT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicBoolean inAttack = new AtomicBoolean(false);
+
+    private volatile boolean destroyed;
+
+    private volatile Path file;
+
+    public DiskIoAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isDiskIoActive();
+    }
+
+    @Override
+    public void attack() {
+        Logger.info("Chaos Monkey - disk io assault");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.DISK_IO_ASSAULT);
+        }
+
+        if (inAttack.compareAndSet(false, true)) {
+            try {
+                saturateDisk(settings.getAssaultProperties());
+            } catch (IOException e) {
+                Logger.warn("Chaos Monkey - disk io assault failed", e);
+            } finally {
+                deleteFile();
+                inAttack.set(false);
+            }
+        }
+
+        Logger.info("Chaos Monkey - disk io assault cleaned up");
+    }
+
+    private void saturateDisk(AssaultProperties properties) throws IOException {
+        String directory = properties.getDiskIoDirectory() != null ? properties.getDiskIoDirectory() : System.getProperty("java.io.tmpdir");
+        file = Files.createTempFile(Paths.get(directory), "chaos-monkey-disk-io-", ".tmp");
+        long fileSize = Math.max(1, properties.getDiskIoFileSizeMegabytes()) * (long) BLOCK_SIZE;
+        long bytesPerSlice = properties.getDiskIoThroughputMegabytesPerSecond() * (long) BLOCK_SIZE * SLICE_NANOS / TimeUnit.SECONDS.toNanos(1);
+        double readFraction = properties.getDiskIoReadFraction();
+        int writesPerFsync = properties.getDiskIoWritesPerFsync();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        byte[] random = new byte[BLOCK_SIZE];
+        ThreadLocalRandom.current().nextBytes(random);
+        buffer.put(random);
+
+        long bytesWritten = 0;
+        long bytesRead = 0;
+        long writes = 0;
+        long writePosition = 0;
+        long readPosition = 0;
+        long reportedBytes = 0;
+        long maxFsyncNanos = 0;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(properties.getDiskIoMillisecondsHoldLoad());
+        long nextReport = start + REPORT_PERIOD_NANOS;
+        long lastReport = start;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long now = start;
+            while (isActive() && !destroyed && end - now > 0) {
+                long sliceEnd = now + SLICE_NANOS;
+                long budget = bytesPerSlice;
+                while (budget > 0) {
+                    // keep the share of reads at the configured fraction, a block can only
+                    // be read after it has been written
+                    boolean read = bytesWritten > 0 && bytesRead < readFraction * (bytesRead + bytesWritten);
+                    int length = (int) Math.min(BLOCK_SIZE, budget);
+                    // cast for Java 8, where ByteBuffer doesn't override these methods
+                    ((Buffer) buffer).clear();
+                    ((Buffer) buffer).limit(length);
+                    if (read) {
+                        long readable = Math.min(bytesWritten, fileSize);
+                        if (readPosition + length > readable) {
+                            readPosition = 0;
+                        }
+                        readFully(channel, buffer, readPosition);
+                        readPosition += length;
+                        bytesRead += length;
+                    } else {
+                        if (writePosition + length > fileSize) {
+                            writePosition = 0;
+                        }
+                        writeFully(channel, buffer, writePosition);
+                        writePosition += length;
+                        bytesWritten += length;
+                        if (writesPerFsync > 0 && ++writes % writesPerFsync == 0) {
+                            long fsyncStart = System.nanoTime();
+                            channel.force(false);
+                            maxFsyncNanos = Math.max(maxFsyncNanos, System.nanoTime() - fsyncStart);
+                        }
+                    }
+                    budget -= length;
+                }
+                now = System.nanoTime();
+                if (now - nextReport >= 0) {
+                    long transferred = bytesRead + bytesWritten;
+                    publish(bytesWritten, (transferred - reportedBytes) * TimeUnit.SECONDS.toNanos(1) / (now - lastReport), maxFsyncNanos);
+                    reportedBytes = transferred;
+                    lastReport = now;
+                    nextReport = now + REPORT_PERIOD_NANOS;
+                    maxFsyncNanos = 0;
+                }
+                if (sliceEnd - now > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sliceEnd - now);
+                    now = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            publish(bytesWritten, 0, maxFsyncNanos);
+            Logger.info("Chaos Monkey - disk io assault wrote {} and read {} bytes", bytesWritten, bytesRead);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private void publish(long bytesWritten, long throughput, long maxFsyncNanos) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.DISK_IO_ASSAULT_BYTES_WRITTEN, bytesWritten);
+            metricEventPublisher.publishMetricEvent(MetricType.DISK_IO_ASSAULT_THROUGHPUT, throughput);
+            metricEventPublisher.publishMetricEvent(MetricType.DISK_IO_ASSAULT_MAX_FSYNC, TimeUnit.NANOSECONDS.toMicros(maxFsyncNanos));
+        }
+    }
+
+    private void deleteFile() {
+        Path current = file;
+        if (current != null) {
+            try {
+                Files.deleteIfExists(current);
+            } catch (IOException e) {
+                Logger.warn("Chaos Monkey - could not delete " + current, e);
+            }
+            file = null;
+        }
+    }
+
+    /**
+     * Stops a running assault and deletes its file.
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+        deleteFile();
+    }
+
+    @Override
+    public String getCronExpression(AssaultProperties assaultProperties) {
+        return assaultProperties.getDiskIoCronExpression() != null
+                ? assaultProperties.getDiskIoCronExpression()
+                : assaultProperties.getRuntimeAssaultCronExpression();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import de.codecentric.spring.boot.chaos.monkey.configuration.FileDescriptorAssaultMode;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Uses up the file descriptors of the process. The assault opens temporary
+ * files or loopback connections step by step until the process holds the
+ * configured fraction of its file descriptor limit, holds them and closes them
+ * afterwards. Only available where the JVM reports the limit, i.e. on Unix.
+ */
+public class FileDescriptorAssault implements ChaosMonkeyRuntimeAssault, DisposableBean {
+    private static final Logger Logger = LoggerFactory.getLogger(FileDescriptorAssault.class);
+
+    private static final long REPORT_PERIOD_MILLIS = 1000;
+
+    private final OperatingSystemMXBean os;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicBoolean inAttack = new AtomicBoolean(false);
+
+    private volatile boolean destroyed;
+
+    public FileDescriptorAssault(OperatingSystemMXBean os, ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.os = os;
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isFileDescriptorActive() && !destroyed;
+    }
+
+    @Override
+    public void attack() {
+        Logger.info("Chaos Monkey - file descriptor assault");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.FILE_DESCRIPTOR_ASSAULT);
+        }
+
+        if (!(os instanceof UnixOperatingSystemMXBean)) {
+            Logger.warn("Chaos Monkey - file descriptor limit not available, assault not executed");
+            return;
+        }
+        if (inAttack.compareAndSet(false, true)) {
+            DescriptorSource source = null;
+            try {
+                AssaultProperties properties = settings.getAssaultProperties();
+                source = properties.getFileDescriptorMode() == FileDescriptorAssaultMode.SOCKET ? new SocketSource() : new FileSource();
+                holdDescriptors((UnixOperatingSystemMXBean) os, source, properties);
+            } catch (IOException e) {
+                Logger.warn("Chaos Monkey - file descriptor assault failed", e);
+            } finally {
+                if (source != null) {
+                    source.close();
+                }
+                publishHeld(0);
+                inAttack.set(false);
+            }
+        }
+
+        Logger.info("Chaos Monkey - file descriptor assault cleaned up");
+    }
+
+    private void holdDescriptors(UnixOperatingSystemMXBean unix, DescriptorSource source, AssaultProperties properties) {
+        long limit = unix.getMaxFileDescriptorCount();
+        long target = (long) (limit * properties.getFileDescriptorFillTargetFraction());
+        long increment = Math.max(1, (long) (limit * properties.getFileDescriptorFillIncrementFraction()));
+        try {
+            // open step by step
+            boolean filled = false;
+            while (isActive() && !filled) {
+                long wanted = Math.min(increment, target - unix.getOpenFileDescriptorCount());
+                filled = wanted <= 0 || !source.open(wanted) || unix.getOpenFileDescriptorCount() >= target;
+                publishHeld(source.held());
+                if (!filled) {
+                    Thread.sleep(properties.getFileDescriptorMillisecondsWaitNextIncrease());
+                }
+            }
+            Logger.info("File descriptor fill reached, now holding {} descriptors", source.held());
+            long holdUntil = System.currentTimeMillis() + properties.getFileDescriptorMillisecondsHoldFilled();
+            long remaining;
+            while (isActive() && (remaining = holdUntil - System.currentTimeMillis()) > 0) {
+                Thread.sleep(Math.min(REPORT_PERIOD_MILLIS, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishHeld(long held) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.FILE_DESCRIPTOR_ASSAULT_HELD, held);
+        }
+    }
+
+    /**
+     * Stops a running assault, which closes its descriptors.
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+    }
+
+    @Override
+    public String getCronExpression(AssaultProperties assaultProperties) {
+        return assaultProperties.getFileDescriptorCronExpression() != null
+                ? assaultProperties.getFileDescriptorCronExpression()
+                : assaultProperties.getRuntimeAssaultCronExpression();
+    }
+
+    private abstract static class DescriptorSource {
+        private final List<Closeable> opened = new ArrayList<>();
+
+        /**
+         * @return false if no more descriptors can be opened
+         */
+        boolean open(long count) {
+            long goal = opened.size() + count;
+            try {
+                while (opened.size() < goal) {
+                    openOne(opened);
+                }
+                return true;
+            } catch (IOException e) {
+                // most likely the limit is reached
+                Logger.info("Chaos Monkey - no more file descriptors: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        /**
+         * Opens one or more descriptors and adds them to opened.
+         */
+        abstract void openOne(List<Closeable> opened) throws IOException;
+
+        long held() {
+            return opened.size();
+        }
+
+        void close() {
+            for (Closeable closeable : opened) {
+                closeQuietly(closeable);
+            }
+            opened.clear();
+        }
+
+        static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                Logger.debug("Chaos Monkey - could not close a file descriptor", e);
+            }
+        }
+    }
+
+    private static class FileSource extends DescriptorSource {
+        private final Path file;
+
+        private FileSource() throws IOException {
+            this.file = Files.createTempFile("chaos-monkey-fd-", ".tmp");
+        }
+
+        @Override
+        void openOne(List<Closeable> opened) throws IOException {
+            opened.add(FileChannel.open(file, StandardOpenOption.READ));
+        }
+
+        @Override
+        void close() {
+            super.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                Logger.warn("Chaos Monkey - could not delete " + file, e);
+            }
+        }
+    }
+
+    private static class SocketSource extends DescriptorSource {
+        private final ServerSocketChannel server;
+
+        private SocketSource() throws IOException {
+            this.server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        }
+
+        @Override
+        void openOne(List<Closeable> opened) throws IOException {
+            SocketChannel client = SocketChannel.open(server.getLocalAddress());
+            opened.add(client);
+            opened.add(server.accept());
+        }
+
+        @Override
+        void close() {
+            super.close();
+            closeQuietly(server);
+        }
+    }
+}
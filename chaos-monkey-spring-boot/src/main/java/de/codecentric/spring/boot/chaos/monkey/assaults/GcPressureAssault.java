@@ -0,0 +1,334 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the garbage collector under pressure with a sustained allocation rate
+ * instead of retained heap. A bounded number of threads allocate short-lived
+ * objects of random size, a configurable fraction of them survives for a while
+ * to be copied between the survivor spaces or tenured. The collections and the
+ * time spent in them during the assault are published as metrics.
+ */
+public class GcPressureAssault implements ChaosMonkeyRuntimeAssault {
+    private static final Logger Logger = LoggerFactory.getLogger(GcPressureAssault.class);
+
+    private static final long REPORT_PERIOD_MILLIS = 1000;
+
+    // survivors never occupy more than this fraction of the heap, so the assault
+    // creates pressure but no OutOfMemoryError
+    private static final double MAX_RETAINED_HEAP_FRACTION = 0.25;
+
+    private final List<GarbageCollectorMXBean> garbageCollectors;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicBoolean inAttack = new AtomicBoolean(false);
+
+    public GcPressureAssault(List<GarbageCollectorMXBean> garbageCollectors, ChaosMonkeySettings settings,
+            MetricEventPublisher metricEventPublisher) {
+        this.garbageCollectors = garbageCollectors;
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isGcPressureActive();
+    }
+
+    @Override
+    public void attack() {
+        Logger.info("Chaos Monkey - gc pressure assault");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.GC_PRESSURE_ASSAULT);
+        }
+
+        if (inAttack.compareAndSet(false, true)) {
+            try {
+                applyPressure(settings.getAssaultProperties());
+            } finally {
+                inAttack.set(false);
+            }
+        }
+
+        Logger.info("Chaos Monkey - gc pressure assault cleaned up");
+    }
+
+    private void applyPressure(AssaultProperties properties) {
+        int threads = Math.max(1, Math.min(properties.getGcPressureThreads(), Runtime.getRuntime().availableProcessors()));
+        long bytesPerSecond = properties.getGcPressureAllocationRateMegabytesPerSecond() * 1024L * 1024L;
+        Profile profile = new Profile(bytesPerSecond / threads, properties.getGcPressureObjectSizeMinBytes(),
+                properties.getGcPressureObjectSizeMaxBytes(), properties.getGcPressureSurvivorFraction(),
+                properties.getGcPressureSurvivorMillisecondsRetain(), (long) (Runtime.getRuntime().maxMemory() * MAX_RETAINED_HEAP_FRACTION));
+
+        GcStatistics gcStatistics = new GcStatistics(garbageCollectors);
+        Allocators allocators = new Allocators(threads, profile);
+        try {
+            long end = System.currentTimeMillis() + properties.getGcPressureMillisecondsHoldLoad();
+            long lastReport = System.nanoTime();
+            long lastAllocated = 0;
+            long remaining;
+            while (isActive() && (remaining = end - System.currentTimeMillis()) > 0) {
+                Thread.sleep(Math.min(REPORT_PERIOD_MILLIS, remaining));
+                long now = System.nanoTime();
+                long allocated = allocators.allocatedBytes();
+                publish(MetricType.GC_PRESSURE_ASSAULT_ALLOCATION_RATE, (allocated - lastAllocated) * TimeUnit.SECONDS.toNanos(1) / Math.max(1, now - lastReport));
+                gcStatistics.publish();
+                lastReport = now;
+                lastAllocated = allocated;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            allocators.stop();
+            publish(MetricType.GC_PRESSURE_ASSAULT_ALLOCATION_RATE, 0);
+            gcStatistics.publish();
+        }
+        Logger.info("Chaos Monkey - gc pressure assault allocated {} bytes, {} collections took {} ms", allocators.allocatedBytes(),
+                gcStatistics.collectionCount(), gcStatistics.collectionTime());
+    }
+
+    private void publish(MetricType type, long value) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(type, value);
+        }
+    }
+
+    @Override
+    public String getCronExpression(AssaultProperties assaultProperties) {
+        return assaultProperties.getGcPressureCronExpression() != null
+                ? assaultProperties.getGcPressureCronExpression()
+                : assaultProperties.getRuntimeAssaultCronExpression();
+    }
+
+    /**
+     * @param uniform
+     *            a random value between 0 and 1
+     * @return an object size between min and max, log-uniformly distributed like
+     *         the sizes of the objects of a typical application: most are small,
+     *         few are large
+     */
+    static int objectSize(int min, int max, double uniform) {
+        if (max <= min) {
+            return min;
+        }
+        return (int) Math.min(max, Math.round(min * Math.exp(uniform * Math.log((double) max / min))));
+    }
+
+    /**
+     * The collections and the collection time since the start of the assault. The
+     * time is reported by the collectors, for concurrent collectors it includes
+     * the concurrent work.
+     */
+    private class GcStatistics {
+        private final List<GarbageCollectorMXBean> garbageCollectors;
+        private final long initialCount;
+        private final long initialTime;
+
+        private GcStatistics(List<GarbageCollectorMXBean> garbageCollectors) {
+            this.garbageCollectors = garbageCollectors;
+            this.initialCount = totalCount();
+            this.initialTime = totalTime();
+        }
+
+        private long collectionCount() {
+            return totalCount() - initialCount;
+        }
+
+        private long collectionTime() {
+            return totalTime() - initialTime;
+        }
+
+        private void publish() {
+            GcPressureAssault.this.publish(MetricType.GC_PRESSURE_ASSAULT_GC_COUNT, collectionCount());
+            GcPressureAssault.this.publish(MetricType.GC_PRESSURE_ASSAULT_GC_TIME, collectionTime());
+        }
+
+        private long totalCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+                // -1 if the collector doesn't know it
+                count += Math.max(0, garbageCollector.getCollectionCount());
+            }
+            return count;
+        }
+
+        private long totalTime() {
+            long time = 0;
+            for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+                time += Math.max(0, garbageCollector.getCollectionTime());
+            }
+            return time;
+        }
+    }
+
+    /**
+     * What every allocator thread allocates.
+     */
+    private static class Profile {
+        private final long bytesPerSecond;
+        private final int minObjectSize;
+        private final int maxObjectSize;
+        private final double survivorFraction;
+        private final long survivorRetainNanos;
+        private final long maxRetainedBytes;
+
+        private Profile(long bytesPerSecond, int minObjectSize, int maxObjectSize, double survivorFraction, long survivorRetainMillis,
+                long maxRetainedBytes) {
+            this.bytesPerSecond = bytesPerSecond;
+            this.minObjectSize = Math.max(1, minObjectSize);
+            this.maxObjectSize = Math.max(this.minObjectSize, maxObjectSize);
+            this.survivorFraction = survivorFraction;
+            this.survivorRetainNanos = TimeUnit.MILLISECONDS.toNanos(survivorRetainMillis);
+            this.maxRetainedBytes = maxRetainedBytes;
+        }
+    }
+
+    private static class Allocators {
+        private final AllocatorThread[] threads;
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final AtomicLong retainedBytes = new AtomicLong();
+
+        private Allocators(int count, Profile profile) {
+            this.threads = new AllocatorThread[count];
+            for (int i = 0; i < count; i++) {
+                threads[i] = new AllocatorThread("GC Pressure Assault thread " + i, profile, this);
+                threads[i].start();
+            }
+        }
+
+        private long allocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        private void stop() {
+            for (AllocatorThread thread : threads) {
+                thread.interrupt();
+            }
+            boolean interrupted = false;
+            for (AllocatorThread thread : threads) {
+                while (thread.isAlive()) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class AllocatorThread extends Thread {
+        // short enough for an even allocation rate, long enough for cheap pacing
+        private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        // the garbage is published here, so the allocations can't be optimized away
+        private static final int SINK_SIZE = 64;
+
+        private final Profile profile;
+        private final Allocators allocators;
+        private final Object[] sink = new Object[SINK_SIZE];
+        private final ArrayDeque<Survivor> survivors = new ArrayDeque<>();
+
+        private AllocatorThread(String name, Profile profile, Allocators allocators) {
+            super(name);
+            this.profile = profile;
+            this.allocators = allocators;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long budgetPerSlice = Math.max(1, profile.bytesPerSecond * SLICE_NANOS / TimeUnit.SECONDS.toNanos(1));
+            int next = 0;
+            try {
+                while (!isInterrupted()) {
+                    long start = System.nanoTime();
+                    releaseSurvivors(start);
+                    long allocated = 0;
+                    while (allocated < budgetPerSlice) {
+                        int size = objectSize(profile.minObjectSize, profile.maxObjectSize, random.nextDouble());
+                        byte[] object = new byte[size];
+                        allocated += size;
+                        if (random.nextDouble() < profile.survivorFraction) {
+                            retain(object, start);
+                        } else {
+                            sink[next++ & (SINK_SIZE - 1)] = object;
+                        }
+                    }
+                    allocators.allocatedBytes.add(allocated);
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed < SLICE_NANOS) {
+                        LockSupport.parkNanos(SLICE_NANOS - elapsed);
+                    }
+                }
+            } finally {
+                releaseSurvivors(Long.MAX_VALUE);
+            }
+        }
+
+        private void retain(byte[] object, long now) {
+            if (allocators.retainedBytes.addAndGet(object.length) > profile.maxRetainedBytes) {
+                allocators.retainedBytes.addAndGet(-object.length);
+                return;
+            }
+            survivors.add(new Survivor(object, now + profile.survivorRetainNanos));
+        }
+
+        private void releaseSurvivors(long now) {
+            // all survivors are retained equally long, so the oldest come first
+            Survivor survivor;
+            while ((survivor = survivors.peek()) != null && (now == Long.MAX_VALUE || survivor.releaseAt - now <= 0)) {
+                survivors.poll();
+                allocators.retainedBytes.addAndGet(-survivor.object.length);
+            }
+        }
+    }
+
+    private static class Survivor {
+        private final byte[] object;
+        private final long releaseAt;
+
+        private Survivor(byte[] object, long releaseAt) {
+            this.object = object;
+            this.releaseAt = releaseAt;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Fills the Java heap with byte arrays. */
+class HeapMemoryFiller extends MemoryFiller {
+
+    private static final Logger Logger = LoggerFactory.getLogger(HeapMemoryFiller.class);
+
+    private static final AtomicLong stolenMemory = new AtomicLong(0);
+
+    private final Runtime runtime;
+
+    private final List<byte[]> memorySlices = new ArrayList<>();
+
+    HeapMemoryFiller(Runtime runtime, ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        super(settings, metricEventPublisher, MetricType.MEMORY_ASSAULT_MEMORY_STOLEN, stolenMemory);
+        this.runtime = runtime;
+    }
+
+    @Override
+    boolean isFilled() {
+        // overview of memory methods in java https://stackoverflow.com/a/18375641
+        Logger.debug("Used memory in bytes: " + (runtime.totalMemory() - runtime.freeMemory()));
+
+        double limit = runtime.maxMemory() * assaultProperties().getMemoryFillTargetFraction();
+        return runtime.totalMemory() > Math.floor(limit);
+    }
+
+    @Override
+    int getMillisecondsWaitNextIncrease() {
+        return assaultProperties().getMemoryMillisecondsWaitNextIncrease();
+    }
+
+    @Override
+    int getMillisecondsHoldFilledMemory() {
+        return assaultProperties().getMemoryMillisecondsHoldFilledMemory();
+    }
+
+    @Override
+    protected long steal() {
+        int bytesToSteal = getBytesToSteal();
+        memorySlices.add(createDirtyMemorySlice(bytesToSteal));
+        Logger.debug("Chaos Monkey - memory assault increase, free memory: " + SizeConverter.toMegabytes(runtime.freeMemory()));
+        return bytesToSteal;
+    }
+
+    @Override
+    protected void free() {
+        memorySlices.clear();
+    }
+
+    private int getBytesToSteal() {
+        int amount = (int) (runtime.freeMemory() * assaultProperties().getMemoryFillIncrementFraction());
+        boolean isJava8 = System.getProperty("java.version").startsWith("1.8");
+
+        // TODO: Check again when JAVA 8 can be dropped.
+        // seems filling more than 256 MB per slice is bad on java 8
+        // we keep running into heap errors and other OOMs.
+        return isJava8 ? Math.min(SizeConverter.toBytes(256), amount) : amount;
+    }
+
+    private byte[] createDirtyMemorySlice(int size) {
+        byte[] b = new byte[size];
+        for (int idx = 0; idx < size; idx += PAGE_SIZE) {
+            b[idx] = 19;
+        }
+
+        return b;
+    }
+}
@@ -15,13 +15,17 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.assaults;
 
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.component.InjectedLatencyHistograms;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
 
 /** @author Thorsten Deelmann */
 public class LatencyAssault implements ChaosMonkeyRequestAssault {
@@ -34,13 +38,23 @@ public class LatencyAssault implements ChaosMonkeyRequestAssault {
 
     private MetricEventPublisher metricEventPublisher;
 
-    private AtomicInteger atomicTimeoutGauge;
+    @Nullable
+    private final InjectedLatencyHistograms injectedLatencyHistograms;
 
-    public LatencyAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, ChaosMonkeyLatencyAssaultExecutor executor) {
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private volatile LatencySampler sampler;
+
+    public LatencyAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, ChaosMonkeyLatencyAssaultExecutor executor,
+            @Nullable InjectedLatencyHistograms injectedLatencyHistograms) {
         this.settings = settings;
         this.metricEventPublisher = metricEventPublisher;
-        this.atomicTimeoutGauge = new AtomicInteger(0);
         this.assaultExecutor = executor;
+        this.injectedLatencyHistograms = injectedLatencyHistograms;
+    }
+
+    public LatencyAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, ChaosMonkeyLatencyAssaultExecutor executor) {
+        this(settings, metricEventPublisher, executor, null);
     }
 
     public LatencyAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
@@ -54,27 +68,58 @@ public class LatencyAssault implements ChaosMonkeyRequestAssault {
 
     @Override
     public void attack() {
+        attack(null, null);
+    }
+
+    @Override
+    public void attack(@Nullable ChaosTarget target, @Nullable String signature) {
+        long latency = attackNonBlocking(target, signature);
+        // a thread aware executor may skip the delay, which then isn't injected
+        if (assaultExecutor.tryExecute(latency)) {
+            delayApplied(target, signature, latency);
+        }
+    }
+
+    @Override
+    public long attackNonBlocking() {
+        return attackNonBlocking(null, null);
+    }
+
+    @Override
+    public long attackNonBlocking(@Nullable ChaosTarget target, @Nullable String signature) {
         Logger.debug("Chaos Monkey - timeout");
 
-        atomicTimeoutGauge.set(determineLatency());
+        // local, concurrent attacks must not see each other's latency
+        return determineLatency();
+    }
 
-        // metrics
+    @Override
+    public void delayApplied(@Nullable ChaosTarget target, @Nullable String signature, long latency) {
         if (metricEventPublisher != null) {
             metricEventPublisher.publishMetricEvent(MetricType.LATENCY_ASSAULT);
-            metricEventPublisher.publishMetricEvent(MetricType.LATENCY_ASSAULT, atomicTimeoutGauge);
+            metricEventPublisher.publishMetricEvent(MetricType.LATENCY_ASSAULT, latency);
+            metricEventPublisher.publishInjectedLatency(target, latency);
+        }
+        if (injectedLatencyHistograms != null) {
+            injectedLatencyHistograms.record(target, signature, latency);
         }
-
-        assaultExecutor.execute(atomicTimeoutGauge.get());
     }
 
     private int determineLatency() {
-        final int latencyRangeStart = settings.getAssaultProperties().getLatencyRangeStart();
-        final int latencyRangeEnd = settings.getAssaultProperties().getLatencyRangeEnd();
+        return getSampler(settings.getAssaultProperties()).sample();
+    }
 
-        if (latencyRangeStart == latencyRangeEnd) {
-            return latencyRangeStart;
-        } else {
-            return ThreadLocalRandom.current().nextInt(latencyRangeStart, latencyRangeEnd);
+    private LatencySampler getSampler(AssaultProperties assaultProperties) {
+        LatencySampler current = sampler;
+        if (current == null || !current.isFor(assaultProperties)) {
+            try {
+                current = LatencySampler.create(assaultProperties, resourceLoader);
+            } catch (IllegalArgumentException e) {
+                Logger.warn("Chaos Monkey - latency distribution " + assaultProperties.getLatencyDistribution() + " not available, using UNIFORM", e);
+                current = LatencySampler.uniform(assaultProperties);
+            }
+            sampler = current;
         }
+        return current;
     }
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.LatencyDistribution;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.HistogramLogReader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Draws latencies in milliseconds from one of the {@link LatencyDistribution}s,
+ * limited to the latency range. Sampling doesn't allocate, a sampler is created
+ * once per configuration.
+ */
+abstract class LatencySampler {
+
+    private static final boolean HDR_HISTOGRAM_PRESENT = ClassUtils.isPresent("org.HdrHistogram.Histogram", LatencySampler.class.getClassLoader());
+
+    final LatencyDistribution distribution;
+    final int start;
+    final int end;
+    final int mean;
+    final int standardDeviation;
+    final double paretoShape;
+    final String histogramFile;
+    final TimeUnit histogramUnit;
+
+    private LatencySampler(AssaultProperties properties) {
+        this.distribution = properties.getLatencyDistribution();
+        this.start = properties.getLatencyRangeStart();
+        this.end = properties.getLatencyRangeEnd();
+        this.mean = properties.getLatencyMean();
+        this.standardDeviation = properties.getLatencyStandardDeviation();
+        this.paretoShape = properties.getLatencyParetoShape();
+        this.histogramFile = properties.getLatencyHistogramFile();
+        this.histogramUnit = properties.getLatencyHistogramUnit();
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the histogram of the empirical distribution can't be read
+     */
+    static LatencySampler create(AssaultProperties properties, ResourceLoader resourceLoader) {
+        LatencyDistribution distribution = properties.getLatencyDistribution();
+        switch (distribution == null ? LatencyDistribution.UNIFORM : distribution) {
+            case FIXED :
+                return new Fixed(properties);
+            case NORMAL :
+                return new Normal(properties);
+            case LOG_NORMAL :
+                return new LogNormal(properties);
+            case PARETO :
+                return new Pareto(properties);
+            case EMPIRICAL :
+                if (!HDR_HISTOGRAM_PRESENT) {
+                    throw new IllegalArgumentException("The empirical latency distribution needs HdrHistogram on the classpath");
+                }
+                return new Empirical(properties, resourceLoader);
+            default :
+                return new Uniform(properties);
+        }
+    }
+
+    /**
+     * A uniform sampler, e.g. as fallback if the configured distribution is not
+     * available. It is still considered to be created for the configuration.
+     */
+    static LatencySampler uniform(AssaultProperties properties) {
+        return new Uniform(properties);
+    }
+
+    /**
+     * @return whether this sampler has been created for the current configuration
+     */
+    boolean isFor(AssaultProperties properties) {
+        return distribution == properties.getLatencyDistribution() && start == properties.getLatencyRangeStart()
+                && end == properties.getLatencyRangeEnd() && mean == properties.getLatencyMean()
+                && standardDeviation == properties.getLatencyStandardDeviation() && paretoShape == properties.getLatencyParetoShape()
+                && Objects.equals(histogramFile, properties.getLatencyHistogramFile()) && histogramUnit == properties.getLatencyHistogramUnit();
+    }
+
+    int sample() {
+        double latency = draw(ThreadLocalRandom.current());
+        return (int) Math.max(start, Math.min(end, Math.round(latency)));
+    }
+
+    abstract double draw(ThreadLocalRandom random);
+
+    private static class Fixed extends LatencySampler {
+        private Fixed(AssaultProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            return start;
+        }
+    }
+
+    private static class Uniform extends LatencySampler {
+        private Uniform(AssaultProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            return start >= end ? start : random.nextInt(start, end);
+        }
+    }
+
+    private static class Normal extends LatencySampler {
+        private Normal(AssaultProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            return mean + random.nextGaussian() * standardDeviation;
+        }
+    }
+
+    private static class LogNormal extends LatencySampler {
+        private final double mu;
+        private final double sigma;
+
+        private LogNormal(AssaultProperties properties) {
+            super(properties);
+            // parameters of the underlying normal distribution for the given mean and
+            // standard deviation of the latency
+            double m = Math.max(1, mean);
+            double variance = (double) standardDeviation * standardDeviation;
+            double sigmaSquared = Math.log(1 + variance / (m * m));
+            this.sigma = Math.sqrt(sigmaSquared);
+            this.mu = Math.log(m) - sigmaSquared / 2;
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            return Math.exp(mu + sigma * random.nextGaussian());
+        }
+    }
+
+    private static class Pareto extends LatencySampler {
+        private final double scale;
+        private final double inverseShape;
+
+        private Pareto(AssaultProperties properties) {
+            super(properties);
+            this.scale = Math.max(1, start);
+            this.inverseShape = 1 / paretoShape;
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            // inverse transform, 1 - nextDouble() is never 0
+            return scale / Math.pow(1 - random.nextDouble(), inverseShape);
+        }
+    }
+
+    /**
+     * Replays a recorded distribution. The histogram is flattened into a
+     * cumulative table once, a sample is a binary search for a random count.
+     */
+    private static class Empirical extends LatencySampler {
+        private final double[] values;
+        private final long[] cumulativeCounts;
+        private final long totalCount;
+
+        private Empirical(AssaultProperties properties, ResourceLoader resourceLoader) {
+            super(properties);
+            Histogram histogram = readHistogram(properties.getLatencyHistogramFile(), resourceLoader);
+            double millisPerUnit = (double) properties.getLatencyHistogramUnit().toNanos(1) / TimeUnit.MILLISECONDS.toNanos(1);
+            int buckets = 0;
+            double[] bucketValues = new double[64];
+            long[] bucketCounts = new long[64];
+            long count = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                if (buckets == bucketValues.length) {
+                    bucketValues = Arrays.copyOf(bucketValues, buckets * 2);
+                    bucketCounts = Arrays.copyOf(bucketCounts, buckets * 2);
+                }
+                count += value.getCountAtValueIteratedTo();
+                bucketValues[buckets] = histogram.medianEquivalentValue(value.getValueIteratedTo()) * millisPerUnit;
+                bucketCounts[buckets] = count;
+                buckets++;
+            }
+            if (count == 0) {
+                throw new IllegalArgumentException("The latency histogram " + properties.getLatencyHistogramFile() + " is empty");
+            }
+            this.values = Arrays.copyOf(bucketValues, buckets);
+            this.cumulativeCounts = Arrays.copyOf(bucketCounts, buckets);
+            this.totalCount = count;
+        }
+
+        @Override
+        double draw(ThreadLocalRandom random) {
+            int index = Arrays.binarySearch(cumulativeCounts, random.nextLong(totalCount) + 1);
+            return values[index >= 0 ? index : -index - 1];
+        }
+
+        /**
+         * @return the sum of all intervals of the log
+         */
+        private static Histogram readHistogram(String location, ResourceLoader resourceLoader) {
+            if (location == null) {
+                throw new IllegalArgumentException("latencyHistogramFile is required for the empirical latency distribution");
+            }
+            Resource resource = resourceLoader.getResource(location);
+            try (InputStream in = resource.getInputStream()) {
+                HistogramLogReader reader = new HistogramLogReader(in);
+                Histogram sum = null;
+                Histogram interval;
+                while ((interval = (Histogram) reader.nextIntervalHistogram()) != null) {
+                    if (sum == null) {
+                        sum = new Histogram(interval.getNumberOfSignificantValueDigits());
+                    }
+                    sum.add(interval);
+                }
+                if (sum == null) {
+                    throw new IllegalArgumentException("The latency histogram " + location + " is empty");
+                }
+                return sum;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Could not read the latency histogram " + location, e);
+            }
+        }
+    }
+}
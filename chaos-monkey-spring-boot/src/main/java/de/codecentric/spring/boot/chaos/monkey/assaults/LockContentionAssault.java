@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes the attacked calls contend on a shared pool of monitors. Every attack
+ * enters a random monitor of the pool and holds it for the configured time, so
+ * concurrent attacks on the same stripe wait for each other like threads
+ * contending on a lock of the application. The fewer stripes, the more
+ * contention. The time spent waiting for the monitor is published as metric.
+ */
+public class LockContentionAssault implements ChaosMonkeyRequestAssault {
+
+    private static final Logger Logger = LoggerFactory.getLogger(LockContentionAssault.class);
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private volatile Object[] stripes = new Object[0];
+
+    public LockContentionAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isLockContentionActive();
+    }
+
+    @Override
+    public void attack() {
+        Logger.debug("Chaos Monkey - lock contention");
+
+        AssaultProperties assaultProperties = settings.getAssaultProperties();
+        Object[] pool = getStripes(Math.max(1, assaultProperties.getLockContentionStripes()));
+        Object stripe = pool[ThreadLocalRandom.current().nextInt(pool.length)];
+        long holdNanos = TimeUnit.MILLISECONDS.toNanos(assaultProperties.getLockContentionMillisecondsHold());
+
+        long start = System.nanoTime();
+        synchronized (stripe) {
+            long acquired = System.nanoTime();
+            // metrics
+            if (metricEventPublisher != null) {
+                metricEventPublisher.publishMetricEvent(MetricType.LOCK_CONTENTION_ASSAULT);
+                metricEventPublisher.publishMetricEvent(MetricType.LOCK_CONTENTION_ASSAULT_WAIT, TimeUnit.NANOSECONDS.toMicros(acquired - start));
+            }
+            hold(acquired, holdNanos);
+        }
+    }
+
+    /**
+     * A caller that must not block, e.g. a netty event loop, can't wait for a
+     * monitor, so the request scope doesn't choose this assault for it.
+     */
+    @Override
+    public boolean isBlockingOnly() {
+        return true;
+    }
+
+    /** Does nothing if called anyway, see {@link #isBlockingOnly()}. */
+    @Override
+    public long attackNonBlocking() {
+        Logger.debug("Chaos Monkey - lock contention skipped for a non-blocking caller");
+        return 0;
+    }
+
+    private Object[] getStripes(int count) {
+        Object[] pool = stripes;
+        if (pool.length != count) {
+            // racing threads may create different pools for a moment, which only
+            // reduces the contention briefly
+            pool = new Object[count];
+            for (int i = 0; i < count; i++) {
+                pool[i] = new Object();
+            }
+            stripes = pool;
+        }
+        return pool;
+    }
+
+    private static void hold(long acquired, long holdNanos) {
+        long remaining;
+        while ((remaining = holdNanos - (System.nanoTime() - acquired)) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
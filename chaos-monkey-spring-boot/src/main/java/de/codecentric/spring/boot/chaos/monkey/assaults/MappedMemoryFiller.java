@@ -0,0 +1,156 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import com.sun.management.OperatingSystemMXBean;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Raises the resident set size of the process with memory mapped temporary
+ * files, which are neither heap nor direct memory. Every page is touched, so it
+ * counts against the memory limit of a container.
+ *
+ * <p>
+ * The files are created on the tmpfs {@code /dev/shm} unless another directory
+ * is configured, so the pages are shared memory which can only be reclaimed by
+ * swapping. If {@code /dev/shm} is not available the files are created in
+ * {@code java.io.tmpdir}, where the kernel may write dirty pages back to disk
+ * and drop them under memory pressure.
+ */
+class MappedMemoryFiller extends MemoryFiller {
+
+    private static final Logger Logger = LoggerFactory.getLogger(MappedMemoryFiller.class);
+
+    private static final AtomicLong stolenMemory = new AtomicLong(0);
+
+    private static final long MAX_SLICE_SIZE = SizeConverter.toBytes(1024);
+
+    private static final Path SHARED_MEMORY_DIRECTORY = Paths.get("/dev/shm");
+
+    private final long totalMemory;
+
+    private final List<MappedByteBuffer> buffers = new ArrayList<>();
+
+    private boolean failed;
+
+    private boolean warnedAboutTmpDir;
+
+    MappedMemoryFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this(settings, metricEventPublisher, ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class).getTotalPhysicalMemorySize());
+    }
+
+    MappedMemoryFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, long totalMemory) {
+        super(settings, metricEventPublisher, MetricType.MEMORY_ASSAULT_MAPPED_MEMORY_STOLEN, stolenMemory);
+        this.totalMemory = totalMemory;
+    }
+
+    @Override
+    boolean isAvailable() {
+        return totalMemory > 0;
+    }
+
+    @Override
+    boolean isFilled() {
+        return failed || getStolenMemoryTotal() >= getLimit();
+    }
+
+    @Override
+    int getMillisecondsWaitNextIncrease() {
+        return assaultProperties().getMappedMemoryMillisecondsWaitNextIncrease();
+    }
+
+    @Override
+    int getMillisecondsHoldFilledMemory() {
+        return assaultProperties().getMappedMemoryMillisecondsHoldFilledMemory();
+    }
+
+    @Override
+    protected long steal() {
+        long bytesToSteal = Math.min(Math.min((long) (totalMemory * assaultProperties().getMappedMemoryFillIncrementFraction()),
+                getLimit() - getStolenMemoryTotal()), MAX_SLICE_SIZE);
+        if (bytesToSteal <= 0) {
+            return 0;
+        }
+        try {
+            buffers.add(mapTouchedFile(bytesToSteal));
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("Chaos Monkey - cannot map more memory", e);
+            failed = true;
+            return 0;
+        }
+        return bytesToSteal;
+    }
+
+    @Override
+    protected void free() {
+        // the mappings are removed by the garbage collector
+        buffers.clear();
+        failed = false;
+    }
+
+    private long getLimit() {
+        return (long) (totalMemory * assaultProperties().getMappedMemoryFillTargetFraction());
+    }
+
+    Path getDirectory() {
+        String directory = assaultProperties().getMappedMemoryDirectory();
+        if (directory != null) {
+            return Paths.get(directory);
+        }
+        if (Files.isDirectory(SHARED_MEMORY_DIRECTORY) && Files.isWritable(SHARED_MEMORY_DIRECTORY)) {
+            return SHARED_MEMORY_DIRECTORY;
+        }
+        if (!warnedAboutTmpDir) {
+            Logger.warn("Chaos Monkey - {} is not available, mapped memory may be written back to disk and reclaimed", SHARED_MEMORY_DIRECTORY);
+            warnedAboutTmpDir = true;
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    private MappedByteBuffer mapTouchedFile(long size) throws IOException {
+        Path file = Files.createTempFile(getDirectory(), "chaos-monkey-memory", ".tmp");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(size);
+            // the mapping stays valid when the channel is closed
+            MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (int idx = 0; idx < size; idx += PAGE_SIZE) {
+                buffer.put(idx, (byte) 19);
+            }
+            return buffer;
+        } finally {
+            // the file stays allocated as long as it's mapped, but is gone afterwards
+            // on every platform which allows deleting mapped files
+            if (!file.toFile().delete()) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -19,10 +19,12 @@ import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
-import java.util.Vector;
+import de.codecentric.spring.boot.chaos.monkey.configuration.MemoryAssaultMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
@@ -32,8 +34,6 @@ public class MemoryAssault implements ChaosMonkeyRuntimeAssault {
 
     private static final Logger Logger = LoggerFactory.getLogger(MemoryAssault.class);
 
-    private static final AtomicLong stolenMemory = new AtomicLong(0);
-
     private final Runtime runtime;
 
     private final AtomicBoolean inAttack = new AtomicBoolean(false);
@@ -76,89 +76,81 @@ public class MemoryAssault implements ChaosMonkeyRuntimeAssault {
     }
 
     private void eatFreeMemory() {
-        @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
-        Vector<byte[]> memoryVector = new Vector<>();
-
-        long stolenMemoryTotal = 0L;
-
-        while (isActive()) {
-            // overview of memory methods in java https://stackoverflow.com/a/18375641
-            long freeMemory = runtime.freeMemory();
-            long usedMemory = runtime.totalMemory() - freeMemory;
-
-            if (cannotAllocateMoreMemory()) {
-                Logger.debug("Cannot allocate more memory");
-                break;
+        List<MemoryFiller> fillers = new ArrayList<>();
+        for (MemoryAssaultMode mode : settings.getAssaultProperties().getActiveMemoryModes()) {
+            MemoryFiller filler = createFiller(mode);
+            if (filler.isAvailable()) {
+                fillers.add(filler);
+            } else {
+                Logger.warn("Chaos Monkey - " + mode + " memory cannot be filled in this JVM");
             }
-
-            Logger.debug("Used memory in bytes: " + usedMemory);
-
-            stolenMemoryTotal = stealMemory(memoryVector, stolenMemoryTotal, getBytesToSteal());
-            waitUntil(settings.getAssaultProperties().getMemoryMillisecondsWaitNextIncrease());
         }
 
-        // Hold memory level and cleanUp after, only if experiment is running
-        if (isActive()) {
-            Logger.info("Memory fill reached, now sleeping and holding memory");
-            waitUntil(settings.getAssaultProperties().getMemoryMillisecondsHoldFilledMemory());
-        }
-
-        // clean Vector
-        memoryVector.clear();
-        // quickly run gc for reuse
-        runtime.gc();
-
-        long stolenAfterComplete = MemoryAssault.stolenMemory.addAndGet(-stolenMemoryTotal);
-        metricEventPublisher.publishMetricEvent(MetricType.MEMORY_ASSAULT_MEMORY_STOLEN, stolenAfterComplete);
-    }
-
-    private boolean cannotAllocateMoreMemory() {
-        double limit = runtime.maxMemory() * settings.getAssaultProperties().getMemoryFillTargetFraction();
-        return runtime.totalMemory() > Math.floor(limit);
-    }
-
-    private int getBytesToSteal() {
-        int amount = (int) (runtime.freeMemory() * settings.getAssaultProperties().getMemoryFillIncrementFraction());
-        boolean isJava8 = System.getProperty("java.version").startsWith("1.8");
-
-        // TODO: Check again when JAVA 8 can be dropped.
-        // seems filling more than 256 MB per slice is bad on java 8
-        // we keep running into heap errors and other OOMs.
-        return isJava8 ? Math.min(SizeConverter.toBytes(256), amount) : amount;
-    }
-
-    private long stealMemory(Vector<byte[]> memoryVector, long stolenMemoryTotal, int bytesToSteal) {
-        memoryVector.add(createDirtyMemorySlice(bytesToSteal));
-
-        stolenMemoryTotal += bytesToSteal;
-        long newStolenTotal = MemoryAssault.stolenMemory.addAndGet(bytesToSteal);
-        metricEventPublisher.publishMetricEvent(MetricType.MEMORY_ASSAULT_MEMORY_STOLEN, newStolenTotal);
-        Logger.debug("Chaos Monkey - memory assault increase, free memory: " + SizeConverter.toMegabytes(runtime.freeMemory()));
-
-        return stolenMemoryTotal;
-    }
-
-    private byte[] createDirtyMemorySlice(int size) {
-        byte[] b = new byte[size];
-        for (int idx = 0; idx < size; idx += 4096) { // 4096
-            // is commonly the size of a memory page, forcing a commit
-            b[idx] = 19;
+        // every filler has its own pace, so they are ticked in one loop: first
+        // they are filled up step by step, then the memory is held
+        int count = fillers.size();
+        long[] nextStep = new long[count];
+        long[] holdUntil = new long[count];
+        Arrays.fill(holdUntil, -1);
+        boolean[] released = new boolean[count];
+        int running = count;
+        try {
+            while (running > 0 && isActive()) {
+                long now = System.nanoTime();
+                long nextEvent = now + TimeUnit.MILLISECONDS.toNanos(100);
+                for (int i = 0; i < count; i++) {
+                    if (released[i]) {
+                        continue;
+                    }
+                    MemoryFiller filler = fillers.get(i);
+                    if (holdUntil[i] < 0) {
+                        if (now - nextStep[i] >= 0) {
+                            if (filler.isFilled() || !filler.fill()) {
+                                Logger.debug("Cannot allocate more memory");
+                                // Hold memory level and cleanUp after, only if experiment is running
+                                Logger.info("Memory fill reached, now sleeping and holding memory");
+                                holdUntil[i] = now + TimeUnit.MILLISECONDS.toNanos(filler.getMillisecondsHoldFilledMemory());
+                            } else {
+                                nextStep[i] = now + TimeUnit.MILLISECONDS.toNanos(filler.getMillisecondsWaitNextIncrease());
+                            }
+                        }
+                    } else if (now - holdUntil[i] >= 0) {
+                        filler.release(runtime);
+                        released[i] = true;
+                        running--;
+                        continue;
+                    }
+                    long event = holdUntil[i] < 0 ? nextStep[i] : holdUntil[i];
+                    if (event - nextEvent < 0) {
+                        nextEvent = event;
+                    }
+                }
+                long sleep = TimeUnit.NANOSECONDS.toMillis(nextEvent - System.nanoTime());
+                if (sleep > 0 && running > 0) {
+                    Thread.sleep(sleep);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (int i = 0; i < count; i++) {
+                if (!released[i]) {
+                    fillers.get(i).release(runtime);
+                }
+            }
         }
-
-        return b;
     }
 
-    private void waitUntil(int ms) {
-        final long startNano = System.nanoTime();
-        long now = startNano;
-        while (startNano + TimeUnit.MILLISECONDS.toNanos(ms) > now && isActive()) {
-            try {
-                long elapsed = TimeUnit.NANOSECONDS.toMillis(startNano - now);
-                Thread.sleep(Math.min(100, ms - elapsed));
-                now = System.nanoTime();
-            } catch (InterruptedException e) {
-                break;
-            }
+    private MemoryFiller createFiller(MemoryAssaultMode mode) {
+        switch (mode) {
+            case DIRECT :
+                return new DirectMemoryFiller(settings, metricEventPublisher);
+            case MAPPED :
+                return new MappedMemoryFiller(settings, metricEventPublisher);
+            case METASPACE :
+                return new MetaspaceFiller(settings, metricEventPublisher);
+            default :
+                return new HeapMemoryFiller(runtime, settings, metricEventPublisher);
         }
     }
 
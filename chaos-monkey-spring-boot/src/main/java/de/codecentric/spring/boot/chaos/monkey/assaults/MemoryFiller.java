@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One kind of memory the {@link MemoryAssault} fills up step by step, holds and
+ * releases again.
+ */
+abstract class MemoryFiller {
+
+    // 4096 is commonly the size of a memory page, writing to every page forces a
+    // commit
+    static final int PAGE_SIZE = 4096;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final MetricType stolenMemoryMetric;
+
+    private final AtomicLong stolenMemory;
+
+    private long stolenMemoryTotal;
+
+    MemoryFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, MetricType stolenMemoryMetric, AtomicLong stolenMemory) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+        this.stolenMemoryMetric = stolenMemoryMetric;
+        this.stolenMemory = stolenMemory;
+    }
+
+    /** @return whether this kind of memory can be filled in this JVM */
+    boolean isAvailable() {
+        return true;
+    }
+
+    /** @return whether the fill target is reached */
+    abstract boolean isFilled();
+
+    abstract int getMillisecondsWaitNextIncrease();
+
+    abstract int getMillisecondsHoldFilledMemory();
+
+    /** @return the number of bytes stolen, 0 if no more memory can be stolen */
+    protected abstract long steal();
+
+    /** Drops the references to everything stolen. */
+    protected abstract void free();
+
+    /** @return whether more memory has been stolen */
+    final boolean fill() {
+        long bytes = steal();
+        if (bytes <= 0) {
+            return false;
+        }
+        stolenMemoryTotal += bytes;
+        publishStolenMemory(stolenMemory.addAndGet(bytes));
+        return true;
+    }
+
+    final void release(Runtime runtime) {
+        free();
+        // quickly run gc for reuse
+        runtime.gc();
+        publishStolenMemory(stolenMemory.addAndGet(-stolenMemoryTotal));
+        stolenMemoryTotal = 0;
+    }
+
+    final long getStolenMemoryTotal() {
+        return stolenMemoryTotal;
+    }
+
+    final AssaultProperties assaultProperties() {
+        return settings.getAssaultProperties();
+    }
+
+    private void publishStolenMemory(long stolen) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(stolenMemoryMetric, stolen);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+/**
+ * Fills the metaspace with generated classes. Every step defines its classes
+ * in its own class loader, so they can be unloaded again. The metaspace has no
+ * limit by default, so this is only available if MaxMetaspaceSize is set.
+ */
+class MetaspaceFiller extends MemoryFiller {
+
+    private static final Logger Logger = LoggerFactory.getLogger(MetaspaceFiller.class);
+
+    private static final AtomicLong stolenMemory = new AtomicLong(0);
+
+    private static final AtomicLong classCounter = new AtomicLong(0);
+
+    private static final String CLASS_NAME_PREFIX = MetaspaceFiller.class.getName().replace('.', '/') + "$Stolen";
+
+    private static final int METHODS_PER_CLASS = 32;
+
+    private static final int MAX_CLASSES_PER_STEP = 100000;
+
+    private final MemoryPoolMXBean metaspace;
+
+    private final long maxMetaspace;
+
+    private final List<ClassLoader> classLoaders = new ArrayList<>();
+
+    private boolean failed;
+
+    MetaspaceFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this(settings, metricEventPublisher, -1);
+    }
+
+    MetaspaceFiller(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher, long maxMetaspace) {
+        super(settings, metricEventPublisher, MetricType.MEMORY_ASSAULT_METASPACE_STOLEN, stolenMemory);
+        this.metaspace = ManagementFactory.getMemoryPoolMXBeans().stream().filter(it -> "Metaspace".equals(it.getName())).findFirst().orElse(null);
+        this.maxMetaspace = maxMetaspace > 0 || metaspace == null ? maxMetaspace : metaspace.getUsage().getMax();
+    }
+
+    @Override
+    boolean isAvailable() {
+        if (metaspace == null || maxMetaspace <= 0) {
+            Logger.warn("Chaos Monkey - metaspace can only be filled if MaxMetaspaceSize is set");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    boolean isFilled() {
+        return failed || metaspace.getUsage().getUsed() >= getLimit();
+    }
+
+    @Override
+    int getMillisecondsWaitNextIncrease() {
+        return assaultProperties().getMetaspaceMillisecondsWaitNextIncrease();
+    }
+
+    @Override
+    int getMillisecondsHoldFilledMemory() {
+        return assaultProperties().getMetaspaceMillisecondsHoldFilledMemory();
+    }
+
+    @Override
+    protected long steal() {
+        long usedBefore = metaspace.getUsage().getUsed();
+        long goal = Math.min(usedBefore + (long) (maxMetaspace * assaultProperties().getMetaspaceFillIncrementFraction()), getLimit());
+        StolenClassLoader classLoader = new StolenClassLoader();
+        classLoaders.add(classLoader);
+        try {
+            for (int i = 0; i < MAX_CLASSES_PER_STEP && metaspace.getUsage().getUsed() < goal; i++) {
+                classLoader.defineStolenClass(CLASS_NAME_PREFIX + classCounter.incrementAndGet());
+            }
+        } catch (OutOfMemoryError | LinkageError e) {
+            Logger.debug("Cannot allocate more metaspace");
+            failed = true;
+        }
+        return Math.max(metaspace.getUsage().getUsed() - usedBefore, 0);
+    }
+
+    @Override
+    protected void free() {
+        // the classes are unloaded by the garbage collector together with their
+        // class loaders
+        classLoaders.clear();
+        failed = false;
+    }
+
+    private long getLimit() {
+        return (long) (maxMetaspace * assaultProperties().getMetaspaceFillTargetFraction());
+    }
+
+    private static byte[] generateClass(String internalName) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+        for (int i = 0; i < METHODS_PER_CLASS; i++) {
+            MethodVisitor method = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "stolen" + i, "()Ljava/lang/String;", null,
+                    null);
+            method.visitCode();
+            method.visitLdcInsn(internalName + i);
+            method.visitInsn(Opcodes.ARETURN);
+            method.visitMaxs(1, 0);
+            method.visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static final class StolenClassLoader extends ClassLoader {
+
+        private StolenClassLoader() {
+            super(MetaspaceFiller.class.getClassLoader());
+        }
+
+        private void defineStolenClass(String internalName) {
+            byte[] bytes = generateClass(internalName);
+            defineClass(internalName.replace('/', '.'), bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Attacks the streamed body of a WebClient response, the way slow and broken
+ * downstream services fail: the body is throttled to a bandwidth, truncated
+ * after a number of bytes, or fails with an error signal in the middle of the
+ * stream. Buffers are sliced instead of copied, and every buffer that is not
+ * passed on is released.
+ */
+public class ResponseBodyAssault implements ChaosMonkeyResponseBodyAssault {
+
+    private static final Logger Logger = LoggerFactory.getLogger(ResponseBodyAssault.class);
+
+    /** A throttled body is passed on in slices of this fraction of a second. */
+    static final int SLICES_PER_SECOND = 10;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    public ResponseBodyAssault(ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isResponseBodyActive();
+    }
+
+    @Override
+    public Flux<DataBuffer> attackBody(Flux<DataBuffer> body) {
+        Logger.debug("Chaos Monkey - response body");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.RESPONSE_BODY_ASSAULT);
+        }
+
+        AssaultProperties assaultProperties = settings.getAssaultProperties();
+        long truncateAfter = assaultProperties.getResponseBodyTruncateAfterBytes();
+        long errorAfter = assaultProperties.getResponseBodyErrorAfterBytes();
+        int bytesPerSecond = assaultProperties.getResponseBodyBytesPerSecond();
+
+        Flux<DataBuffer> attacked = body;
+        if (errorAfter >= 0 && (truncateAfter < 0 || errorAfter < truncateAfter)) {
+            attacked = DataBufferUtils.takeUntilByteCount(attacked, errorAfter).concatWith(
+                    Mono.error(() -> new IOException("Chaos Monkey - response body interrupted after " + errorAfter + " bytes")));
+        } else if (truncateAfter >= 0) {
+            attacked = DataBufferUtils.takeUntilByteCount(attacked, truncateAfter);
+        }
+        if (bytesPerSecond > 0) {
+            attacked = throttle(attacked, bytesPerSecond);
+        }
+        // releases the buffers dropped by the operators above, e.g. on cancel
+        return attacked.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static Flux<DataBuffer> throttle(Flux<DataBuffer> body, int bytesPerSecond) {
+        int sliceSize = Math.max(1, bytesPerSecond / SLICES_PER_SECOND);
+        return body.concatMapIterable(buffer -> slice(buffer, sliceSize))
+                .concatMap(slice -> Mono.just(slice).delayElement(Duration.ofNanos(delayNanos(slice.readableByteCount(), bytesPerSecond))));
+    }
+
+    /** @return the time it takes to send the bytes at the given bandwidth */
+    static long delayNanos(long bytes, int bytesPerSecond) {
+        long nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        // split into whole seconds and the rest, so the multiplication can't
+        // overflow and a bandwidth that doesn't divide a second isn't rounded
+        return bytes / bytesPerSecond * nanosPerSecond + bytes % bytesPerSecond * nanosPerSecond / bytesPerSecond;
+    }
+
+    /** Splits the buffer into slices sharing its memory, the buffer is released. */
+    static List<DataBuffer> slice(DataBuffer buffer, int sliceSize) {
+        int length = buffer.readableByteCount();
+        List<DataBuffer> slices = new ArrayList<>(length / sliceSize + 1);
+        if (length <= sliceSize) {
+            slices.add(buffer);
+            return slices;
+        }
+        int start = buffer.readPosition();
+        for (int offset = 0; offset < length; offset += sliceSize) {
+            slices.add(buffer.retainedSlice(start + offset, Math.min(sliceSize, length - offset)));
+        }
+        DataBufferUtils.release(buffer);
+        return slices;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops the application threads at frequent safepoints. The assault requests a
+ * thread dump, which is executed at a global safepoint, every
+ * {@code safepointMillisecondsInterval}. Optional worker threads run long
+ * counted loops meanwhile. Where the JIT compiles these loops without safepoint
+ * polls, e.g. with {@code -XX:-UseCountedLoopSafepoints}, every safepoint has to
+ * wait for the loops to end, which stalls all other threads. The measured
+ * pauses are published as metrics.
+ */
+public class SafepointAssault implements ChaosMonkeyRuntimeAssault {
+    private static final Logger Logger = LoggerFactory.getLogger(SafepointAssault.class);
+
+    private static final long REPORT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ThreadMXBean threads;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicBoolean inAttack = new AtomicBoolean(false);
+
+    public SafepointAssault(ThreadMXBean threads, ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.threads = threads;
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isSafepointActive();
+    }
+
+    @Override
+    public void attack() {
+        Logger.info("Chaos Monkey - safepoint assault");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.SAFEPOINT_ASSAULT);
+        }
+
+        if (inAttack.compareAndSet(false, true)) {
+            try {
+                requestSafepoints(settings.getAssaultProperties());
+            } finally {
+                inAttack.set(false);
+            }
+        }
+
+        Logger.info("Chaos Monkey - safepoint assault cleaned up");
+    }
+
+    private void requestSafepoints(AssaultProperties properties) {
+        CountedLoopThread[] loops = new CountedLoopThread[Math.max(0, properties.getSafepointCountedLoopThreads())];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new CountedLoopThread("Safepoint Assault thread " + i, properties.getSafepointCountedLoopIterations());
+            loops[i].start();
+        }
+        long operations = 0;
+        long maxPauseNanos = 0;
+        long overallMaxPauseNanos = 0;
+        try {
+            long start = System.nanoTime();
+            long end = start + TimeUnit.MILLISECONDS.toNanos(properties.getSafepointMillisecondsHoldLoad());
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSafepointMillisecondsInterval());
+            long nextReport = start + REPORT_PERIOD_NANOS;
+            long now = start;
+            while (isActive() && end - now > 0) {
+                long pauseNanos = safepoint();
+                operations++;
+                maxPauseNanos = Math.max(maxPauseNanos, pauseNanos);
+                now = System.nanoTime();
+                if (now - nextReport >= 0) {
+                    publish(operations, maxPauseNanos);
+                    overallMaxPauseNanos = Math.max(overallMaxPauseNanos, maxPauseNanos);
+                    maxPauseNanos = 0;
+                    nextReport = now + REPORT_PERIOD_NANOS;
+                }
+                if (intervalNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(intervalNanos, end - now));
+                    now = System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stop(loops);
+            overallMaxPauseNanos = Math.max(overallMaxPauseNanos, maxPauseNanos);
+            publish(operations, maxPauseNanos);
+        }
+        Logger.info("Chaos Monkey - safepoint assault requested {} safepoints, the longest pause took {} µs", operations,
+                TimeUnit.NANOSECONDS.toMicros(overallMaxPauseNanos));
+    }
+
+    /**
+     * @return the time until the thread dump was taken, which includes the time to
+     *         reach the safepoint
+     */
+    private long safepoint() {
+        long start = System.nanoTime();
+        threads.dumpAllThreads(false, false);
+        return System.nanoTime() - start;
+    }
+
+    private void publish(long operations, long maxPauseNanos) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.SAFEPOINT_ASSAULT_OPERATIONS, operations);
+            metricEventPublisher.publishMetricEvent(MetricType.SAFEPOINT_ASSAULT_MAX_PAUSE, TimeUnit.NANOSECONDS.toMicros(maxPauseNanos));
+        }
+    }
+
+    private static void stop(Thread[] threads) {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getCronExpression(AssaultProperties assaultProperties) {
+        return assaultProperties.getSafepointCronExpression() != null
+                ? assaultProperties.getSafepointCronExpression()
+                : assaultProperties.getRuntimeAssaultCronExpression();
+    }
+
+    private static class CountedLoopThread extends Thread {
+        private final int iterations;
+
+        // the result of the loop is published, so it can't be optimized away
+        private volatile int sink;
+
+        private CountedLoopThread(String name, int iterations) {
+            super(name);
+            this.iterations = iterations;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int value = (int) getId();
+            while (!isInterrupted()) {
+                value = countedLoop(value, iterations);
+                sink = value;
+            }
+        }
+
+        /**
+         * An int indexed loop with a loop invariant bound, which the JIT compiles to
+         * a counted loop.
+         */
+        private static int countedLoop(int seed, int iterations) {
+            int value = seed;
+            for (int i = 0; i < iterations; i++) {
+                value = value * 31 + i;
+            }
+            return value;
+        }
+    }
+}
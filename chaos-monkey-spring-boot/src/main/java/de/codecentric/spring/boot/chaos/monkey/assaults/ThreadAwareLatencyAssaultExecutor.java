@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+/**
+ * Latency executor that knows which kind of thread it blocks. Virtual threads
+ * (JDK 21+) are cheap to park, so they are always delayed. Platform threads are
+ * usually taken from a bounded pool (e.g. the tomcat request threads), so the
+ * number of platform threads blocked by chaos at the same time can be limited
+ * with {@code chaos.monkey.assaults.latencyMaxBlockedThreads}. Requests above
+ * that limit are not delayed, which keeps a latency experiment from turning into
+ * a thread pool exhaustion.
+ *
+ * <p>
+ * The number of currently blocked platform threads and the number of skipped
+ * delays are published as metrics, so injected latency can be told apart from
+ * a real saturation of the pool.
+ */
+public class ThreadAwareLatencyAssaultExecutor implements ChaosMonkeyLatencyAssaultExecutor {
+
+    private static final Logger Logger = LoggerFactory.getLogger(ThreadAwareLatencyAssaultExecutor.class);
+
+    @Nullable
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private final ChaosMonkeySettings settings;
+
+    @Nullable
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicInteger blockedPlatformThreads = new AtomicInteger();
+
+    public ThreadAwareLatencyAssaultExecutor(ChaosMonkeySettings settings, @Nullable MetricEventPublisher metricEventPublisher) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public void execute(long duration) {
+        tryExecute(duration);
+    }
+
+    @Override
+    public boolean tryExecute(long duration) {
+        if (isVirtual(Thread.currentThread())) {
+            sleep(duration);
+            return true;
+        }
+
+        int maxBlockedThreads = settings.getAssaultProperties().getLatencyMaxBlockedThreads();
+        int blockedThreads = blockedPlatformThreads.incrementAndGet();
+        try {
+            if (maxBlockedThreads > 0 && blockedThreads > maxBlockedThreads) {
+                Logger.debug("Chaos Monkey - latency skipped, {} platform threads are already blocked", maxBlockedThreads);
+                if (metricEventPublisher != null) {
+                    metricEventPublisher.publishMetricEvent(MetricType.LATENCY_ASSAULT_SKIPPED);
+                }
+                return false;
+            }
+            publishBlockedThreads(blockedThreads);
+            sleep(duration);
+            return true;
+        } finally {
+            publishBlockedThreads(blockedPlatformThreads.decrementAndGet());
+        }
+    }
+
+    /** @return the number of platform threads currently blocked by this executor */
+    public int getBlockedPlatformThreads() {
+        return blockedPlatformThreads.get();
+    }
+
+    private void publishBlockedThreads(int blockedThreads) {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.LATENCY_ASSAULT_BLOCKED_THREADS, blockedThreads);
+        }
+    }
+
+    private static void sleep(long duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    @Nullable
+    private static MethodHandle findIsVirtual() {
+        try {
+            // Thread.isVirtual() exists since JDK 21, but the library is built for JDK 8
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
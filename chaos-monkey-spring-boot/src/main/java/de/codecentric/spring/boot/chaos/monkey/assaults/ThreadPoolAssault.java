@@ -0,0 +1,325 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Starves thread pools of the application. The assault discovers the
+ * {@link ThreadPoolTaskExecutor}, {@link ThreadPoolTaskScheduler} and
+ * {@link java.util.concurrent.ExecutorService} beans, including the chaos
+ * monkey's own scheduler, and the Tomcat request threads. It occupies a growing
+ * fraction of their threads with tasks that block until the pools are released,
+ * so the tasks of the application have to wait in the queues or are rejected.
+ */
+public class ThreadPoolAssault implements ChaosMonkeyRuntimeAssault {
+
+    private static final Logger Logger = LoggerFactory.getLogger(ThreadPoolAssault.class);
+
+    static final String TOMCAT = "tomcat";
+
+    private static final long REPORT_PERIOD_MILLIS = 1000;
+
+    // pools that are larger can't be starved, e.g. cached thread pools
+    private static final int MAX_POOL_SIZE = 10000;
+
+    private static final boolean TOMCAT_PRESENT = ClassUtils.isPresent("org.apache.catalina.startup.Tomcat", ThreadPoolAssault.class.getClassLoader());
+
+    private final ListableBeanFactory beanFactory;
+
+    private final ChaosMonkeySettings settings;
+
+    private final MetricEventPublisher metricEventPublisher;
+
+    private final AtomicBoolean inAttack = new AtomicBoolean(false);
+
+    public ThreadPoolAssault(ListableBeanFactory beanFactory, ChaosMonkeySettings settings, MetricEventPublisher metricEventPublisher) {
+        this.beanFactory = beanFactory;
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    @Override
+    public boolean isActive() {
+        return settings.getAssaultProperties().isThreadPoolActive();
+    }
+
+    @Override
+    public void attack() {
+        Logger.info("Chaos Monkey - thread pool assault");
+
+        // metrics
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.THREAD_POOL_ASSAULT);
+        }
+
+        if (inAttack.compareAndSet(false, true)) {
+            try {
+                occupyPools(settings.getAssaultProperties());
+            } finally {
+                inAttack.set(false);
+            }
+        }
+
+        Logger.info("Chaos Monkey - thread pool assault cleaned up");
+    }
+
+    private void occupyPools(AssaultProperties properties) {
+        List<OccupiedPool> pools = discoverPools(properties.getThreadPoolBeans());
+        if (pools.isEmpty()) {
+            Logger.warn("Chaos Monkey - no thread pools found, assault not executed");
+            return;
+        }
+        double target = properties.getThreadPoolFillTargetFraction();
+        try {
+            // fill up step by step
+            double fraction = 0;
+            while (isActive() && fraction < target) {
+                fraction = Math.min(target, fraction + properties.getThreadPoolFillIncrementFraction());
+                for (OccupiedPool pool : pools) {
+                    pool.occupy(fraction);
+                }
+                Thread.sleep(properties.getThreadPoolMillisecondsWaitNextIncrease());
+                publish(pools);
+            }
+            Logger.info("Thread pool fill reached, now holding the threads");
+            long holdUntil = System.currentTimeMillis() + properties.getThreadPoolMillisecondsHoldFilledPools();
+            long remaining;
+            while (isActive() && (remaining = holdUntil - System.currentTimeMillis()) > 0) {
+                Thread.sleep(Math.min(REPORT_PERIOD_MILLIS, remaining));
+                publish(pools);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (OccupiedPool pool : pools) {
+                Logger.info("Chaos Monkey - thread pool {}: occupied {} of {} threads", pool.name, pool.occupied.get(), pool.threads);
+                pool.release();
+            }
+            publish(pools);
+        }
+    }
+
+    private void publish(List<OccupiedPool> pools) {
+        if (metricEventPublisher != null) {
+            int occupied = 0;
+            long queueDepth = 0;
+            for (OccupiedPool pool : pools) {
+                occupied += pool.occupied.get();
+                queueDepth += pool.queueDepth();
+            }
+            metricEventPublisher.publishMetricEvent(MetricType.THREAD_POOL_ASSAULT_OCCUPIED_THREADS, occupied);
+            metricEventPublisher.publishMetricEvent(MetricType.THREAD_POOL_ASSAULT_QUEUE_DEPTH, queueDepth);
+        }
+    }
+
+    /**
+     * @param beanNames
+     *            the beans to attack, {@link #TOMCAT} for the request threads of
+     *            Tomcat, empty for all
+     */
+    List<OccupiedPool> discoverPools(List<String> beanNames) {
+        // lazy factory beans are not created just to find out their type, an
+        // executor that hasn't been created yet has no threads to occupy anyway
+        Map<String, Executor> executors = beanFactory.getBeansOfType(Executor.class, false, false);
+        // the same pool may be exposed by more than one bean
+        Map<Executor, Boolean> seen = new IdentityHashMap<>();
+        List<OccupiedPool> pools = new ArrayList<>();
+        for (Map.Entry<String, Executor> entry : executors.entrySet()) {
+            if (!CollectionUtils.isEmpty(beanNames) && !beanNames.contains(entry.getKey())) {
+                continue;
+            }
+            Executor pool = unwrap(entry.getValue());
+            int threads = poolSize(pool);
+            if (threads <= 0 || threads > MAX_POOL_SIZE) {
+                Logger.debug("Chaos Monkey - thread pool {} can't be starved, skipping it", entry.getKey());
+            } else if (seen.put(pool, Boolean.TRUE) == null) {
+                pools.add(new OccupiedPool(entry.getKey(), pool, threads));
+            }
+        }
+        if (TOMCAT_PRESENT && (CollectionUtils.isEmpty(beanNames) || beanNames.contains(TOMCAT))) {
+            ThreadPoolExecutor tomcat = TomcatExecutor.find(beanFactory);
+            if (tomcat != null && !tomcat.isShutdown() && seen.put(tomcat, Boolean.TRUE) == null) {
+                // the queue of Tomcat lets the pool grow to the maximum before it queues
+                pools.add(new OccupiedPool(TOMCAT, tomcat, tomcat.getMaximumPoolSize()));
+            }
+        }
+        return pools;
+    }
+
+    private static Executor unwrap(Executor executor) {
+        try {
+            if (executor instanceof ThreadPoolTaskExecutor) {
+                return ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor();
+            }
+            if (executor instanceof ThreadPoolTaskScheduler) {
+                return ((ThreadPoolTaskScheduler) executor).getScheduledThreadPoolExecutor();
+            }
+        } catch (IllegalStateException e) {
+            // not initialized yet
+            return null;
+        }
+        return executor;
+    }
+
+    /**
+     * @return the number of threads the pool runs at most, 0 if unknown
+     */
+    static int poolSize(Executor executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            if (pool.isShutdown()) {
+                return 0;
+            }
+            // the pool grows beyond the core size only when the queue is full, which
+            // an unbounded queue never is
+            BlockingQueue<Runnable> queue = pool.getQueue();
+            long capacity = (long) queue.size() + queue.remainingCapacity();
+            return capacity >= Integer.MAX_VALUE ? pool.getCorePoolSize() : pool.getMaximumPoolSize();
+        }
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return pool.isShutdown() ? 0 : pool.getParallelism();
+        }
+        return 0;
+    }
+
+    @Override
+    public String getCronExpression(AssaultProperties assaultProperties) {
+        return assaultProperties.getThreadPoolCronExpression() != null
+                ? assaultProperties.getThreadPoolCronExpression()
+                : assaultProperties.getRuntimeAssaultCronExpression();
+    }
+
+    /**
+     * The blocking tasks submitted to one pool.
+     */
+    static class OccupiedPool {
+        private final String name;
+        private final Executor executor;
+        private final int threads;
+        private final AtomicInteger occupied = new AtomicInteger();
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final List<Runnable> blockers = new ArrayList<>();
+        private boolean saturated;
+
+        OccupiedPool(String name, Executor executor, int threads) {
+            this.name = name;
+            this.executor = executor;
+            this.threads = threads;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getOccupiedThreads() {
+            return occupied.get();
+        }
+
+        void occupy(double fraction) {
+            int wanted = (int) Math.ceil(threads * fraction);
+            while (blockers.size() < wanted && !saturated) {
+                Runnable blocker = this::block;
+                try {
+                    executor.execute(blocker);
+                    blockers.add(blocker);
+                } catch (RejectedExecutionException e) {
+                    Logger.info("Chaos Monkey - thread pool {} is saturated", name);
+                    saturated = true;
+                }
+            }
+        }
+
+        /**
+         * @return the tasks waiting for a thread, the queued blockers included
+         */
+        long queueDepth() {
+            if (executor instanceof ThreadPoolExecutor) {
+                return ((ThreadPoolExecutor) executor).getQueue().size();
+            }
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+        }
+
+        void release() {
+            released.countDown();
+            if (executor instanceof ThreadPoolExecutor) {
+                // blockers that didn't get a thread don't need to run at all
+                for (Runnable blocker : blockers) {
+                    ((ThreadPoolExecutor) executor).remove(blocker);
+                }
+            }
+        }
+
+        private void block() {
+            if (released.getCount() == 0) {
+                return;
+            }
+            occupied.incrementAndGet();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                occupied.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Only loaded if Tomcat is on the classpath.
+     */
+    private static class TomcatExecutor {
+        private static ThreadPoolExecutor find(ListableBeanFactory beanFactory) {
+            if (beanFactory instanceof WebServerApplicationContext) {
+                WebServer webServer = ((WebServerApplicationContext) beanFactory).getWebServer();
+                if (webServer instanceof TomcatWebServer) {
+                    Executor executor = ((TomcatWebServer) webServer).getTomcat().getConnector().getProtocolHandler().getExecutor();
+                    if (executor instanceof ThreadPoolExecutor) {
+                        return (ThreadPoolExecutor) executor;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultRateLimit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable snapshot of the configured {@link AssaultRateLimit}s with their
+ * token buckets. The buckets are lock-free, so the limiter is safe to use from
+ * any number of request threads.
+ */
+final class AssaultRateLimiter {
+
+    static final AssaultRateLimiter NONE = new AssaultRateLimiter(null, System.nanoTime());
+
+    // a bucket per method is only created for the first methods, the methods after
+    // these share one, so URLs with ids don't fill up the heap
+    static final int MAX_BUCKETS_PER_LIMIT = 10000;
+
+    private final List<AssaultRateLimit> source;
+
+    private final Limit[] limits;
+
+    AssaultRateLimiter(List<AssaultRateLimit> rateLimits, long nanoTime) {
+        this.source = rateLimits;
+        this.limits = rateLimits == null ? new Limit[0] : rateLimits.stream().map(it -> new Limit(it, nanoTime)).toArray(Limit[]::new);
+    }
+
+    boolean isFor(List<AssaultRateLimit> rateLimits) {
+        return source == rateLimits;
+    }
+
+    /**
+     * @return whether the assault may run. If more than one limit applies, all of
+     *         them must allow it.
+     */
+    boolean tryAcquire(ChaosTarget target, String assault, String signature) {
+        return tryAcquire(target, assault, signature, System.nanoTime());
+    }
+
+    boolean tryAcquire(ChaosTarget target, String assault, String signature, long nanoTime) {
+        for (int i = 0; i < limits.length; i++) {
+            if (limits[i].appliesTo(target, assault) && !limits[i].tryAcquire(signature, nanoTime)) {
+                // the assault doesn't run, so the limits that allowed it must not
+                // be charged for it
+                for (int j = 0; j < i; j++) {
+                    if (limits[j].appliesTo(target, assault)) {
+                        limits[j].release(signature, nanoTime);
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Limit {
+
+        private final ChaosTarget target;
+
+        private final String assault;
+
+        private final double assaultsPerSecond;
+
+        private final int burst;
+
+        private final TokenBucket sharedBucket;
+
+        private final ConcurrentMap<String, TokenBucket> methodBuckets;
+
+        private Limit(AssaultRateLimit rateLimit, long nanoTime) {
+            this.target = rateLimit.getTarget();
+            this.assault = rateLimit.getAssault();
+            this.assaultsPerSecond = rateLimit.getAssaultsPerSecond();
+            this.burst = rateLimit.getBurst();
+            this.sharedBucket = new TokenBucket(assaultsPerSecond, burst, nanoTime);
+            this.methodBuckets = rateLimit.isPerMethod() ? new ConcurrentHashMap<>() : null;
+        }
+
+        private boolean appliesTo(ChaosTarget target, String assault) {
+            return (this.target == null || this.target == target) && (this.assault == null || this.assault.equalsIgnoreCase(assault));
+        }
+
+        private boolean tryAcquire(String signature, long nanoTime) {
+            return bucketFor(signature, nanoTime).tryAcquire(nanoTime);
+        }
+
+        private void release(String signature, long nanoTime) {
+            bucketFor(signature, nanoTime).release();
+        }
+
+        private TokenBucket bucketFor(String signature, long nanoTime) {
+            if (methodBuckets == null) {
+                return sharedBucket;
+            }
+            String key = signature == null ? "" : signature;
+            TokenBucket bucket = methodBuckets.get(key);
+            if (bucket == null) {
+                if (methodBuckets.size() >= MAX_BUCKETS_PER_LIMIT) {
+                    return sharedBucket;
+                }
+                bucket = methodBuckets.computeIfAbsent(key, it -> new TokenBucket(assaultsPerSecond, burst, nanoTime));
+            }
+            return bucket;
+        }
+    }
+
+    /**
+     * Token bucket implemented as generic cell rate algorithm: instead of the
+     * tokens it stores the time at which the bucket will be full again, which
+     * can be updated with a single compare-and-set.
+     */
+    static final class TokenBucket {
+
+        private final long nanosPerToken;
+
+        private final long capacityNanos;
+
+        private final AtomicLong fullAt;
+
+        TokenBucket(double tokensPerSecond, int burst, long nanoTime) {
+            if (tokensPerSecond > 0) {
+                this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+                int tokens = Math.max(1, burst);
+                this.capacityNanos = nanosPerToken > Long.MAX_VALUE / tokens ? Long.MAX_VALUE : nanosPerToken * tokens;
+            } else {
+                // no tokens at all
+                this.nanosPerToken = Long.MAX_VALUE;
+                this.capacityNanos = 0;
+            }
+            this.fullAt = new AtomicLong(nanoTime);
+        }
+
+        boolean tryAcquire(long nanoTime) {
+            if (capacityNanos == 0) {
+                return false;
+            }
+            for (;;) {
+                long current = fullAt.get();
+                // a full bucket doesn't keep filling while nothing is taken
+                long untilFull = Math.max(current - nanoTime, 0);
+                if (untilFull > capacityNanos - nanosPerToken) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, nanoTime + untilFull + nanosPerToken)) {
+                    return true;
+                }
+            }
+        }
+
+        /** Gives back a token taken by {@link #tryAcquire(long)}. */
+        void release() {
+            fullAt.addAndGet(-nanosPerToken);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a {@link ChaosMetricsRecorder} so that the request threads only put
+ * their observations into a bounded, lock-free ring buffer. A single daemon
+ * thread drains the buffer in batches and hands the observations to the
+ * delegate, which keeps the cost on the request thread at a few nanoseconds.
+ * Identical counts and watched calls of a batch are summed up and handed to the
+ * delegate at once.
+ *
+ * <p>
+ * If the buffer is full, observations are dropped instead of blocking the
+ * request. The number of dropped observations is published as
+ * {@link MetricType#METRICS_DROPPED}.
+ */
+public class AsyncChaosMetricsRecorder implements ChaosMetricsRecorder, AutoCloseable {
+
+    private static final Logger Logger = LoggerFactory.getLogger(AsyncChaosMetricsRecorder.class);
+
+    private static final int WATCHED_CALL = 0;
+
+    private static final int COUNT = 1;
+
+    private static final int VALUE = 2;
+
+    private static final int INJECTED_LATENCY = 3;
+
+    private final ChaosMetricsRecorder delegate;
+
+    private final long flushIntervalNanos;
+
+    // bounded multi producer queue after Dmitry Vyukov: every slot carries a
+    // sequence, which tells producers and the consumer whose turn it is
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final int[] kinds;
+
+    private final MetricType[] types;
+
+    private final long[] values;
+
+    private final String[] names;
+
+    private final String[][] tags;
+
+    private final ChaosTarget[] targets;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private long publishedDropped;
+
+    private final Map<MetricType, Long> lastValues = new EnumMap<>(MetricType.class);
+
+    private final Map<CountKey, long[]> counts = new LinkedHashMap<>();
+
+    private volatile boolean running = true;
+
+    private final Thread drainer;
+
+    public AsyncChaosMetricsRecorder(ChaosMetricsRecorder delegate, int bufferSize, long flushIntervalMillis) {
+        this(delegate, bufferSize, flushIntervalMillis, true);
+    }
+
+    AsyncChaosMetricsRecorder(ChaosMetricsRecorder delegate, int bufferSize, long flushIntervalMillis, boolean startDrainer) {
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("bufferSize must be at least 2, but was " + bufferSize);
+        }
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.delegate = delegate;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.kinds = new int[capacity];
+        this.types = new MetricType[capacity];
+        this.values = new long[capacity];
+        this.names = new String[capacity];
+        this.tags = new String[capacity][];
+        this.targets = new ChaosTarget[capacity];
+
+        if (startDrainer) {
+            this.drainer = new Thread(this::drainLoop, "chaos-monkey-metrics");
+            this.drainer.setDaemon(true);
+            this.drainer.start();
+        } else {
+            this.drainer = null;
+        }
+    }
+
+    @Override
+    public void recordWatchedCall(MetricType type, String pointcut) {
+        offer(WATCHED_CALL, type, 0, pointcut, null, null);
+    }
+
+    @Override
+    public void recordCount(MetricType type, String... tags) {
+        offer(COUNT, type, 0, null, tags, null);
+    }
+
+    @Override
+    public void recordValue(MetricType type, long value) {
+        offer(VALUE, type, value, null, null, null);
+    }
+
+    @Override
+    public void recordInjectedLatency(ChaosTarget target, long millis) {
+        offer(INJECTED_LATENCY, null, millis, null, null, target);
+    }
+
+    /** @return the number of observations dropped because the buffer was full */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void offer(int kind, MetricType type, long value, String name, String[] tags, ChaosTarget target) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    kinds[index] = kind;
+                    types[index] = type;
+                    values[index] = value;
+                    names[index] = name;
+                    this.tags[index] = tags;
+                    targets[index] = target;
+                    // publishes the slot to the drainer
+                    sequences.lazySet(index, position + 1);
+                    return;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // full, the request thread must never wait for the drainer
+                dropped.increment();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands all buffered observations to the delegate. Must only be called by the
+     * drainer, or once the drainer has stopped.
+     *
+     * @return the number of drained observations
+     */
+    int drain() {
+        int drained = 0;
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            MetricType type = types[index];
+            switch (kinds[index]) {
+                case WATCHED_CALL :
+                case COUNT :
+                    counts.computeIfAbsent(new CountKey(kinds[index], type, names[index], tags[index]), key -> new long[1])[0]++;
+                    break;
+                case INJECTED_LATENCY :
+                    // every latency is part of the distribution, unlike values
+                    delegate.recordInjectedLatency(targets[index], values[index]);
+                    break;
+                default :
+                    // only the last value of a batch is visible anyway
+                    lastValues.put(type, values[index]);
+            }
+            types[index] = null;
+            names[index] = null;
+            tags[index] = null;
+            targets[index] = null;
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+
+        counts.forEach((key, count) -> key.record(delegate, count[0]));
+        counts.clear();
+        lastValues.forEach(delegate::recordValue);
+        lastValues.clear();
+
+        long totalDropped = dropped.sum();
+        if (totalDropped != publishedDropped) {
+            publishedDropped = totalDropped;
+            delegate.recordValue(MetricType.METRICS_DROPPED, totalDropped);
+        }
+        return drained;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                Logger.warn("Chaos Monkey - could not record metrics", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (drainer != null) {
+            LockSupport.unpark(drainer);
+            try {
+                drainer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (drainer == null || !drainer.isAlive()) {
+            drain();
+        }
+    }
+
+    /** What identical observations of a batch have in common. */
+    private static final class CountKey {
+
+        private final int kind;
+
+        private final MetricType type;
+
+        private final String name;
+
+        private final String[] tags;
+
+        private final int hash;
+
+        private CountKey(int kind, MetricType type, String name, String[] tags) {
+            this.kind = kind;
+            this.type = type;
+            this.name = name;
+            this.tags = tags;
+            this.hash = 31 * (31 * type.hashCode() + (name == null ? 0 : name.hashCode())) + Arrays.hashCode(tags);
+        }
+
+        private void record(ChaosMetricsRecorder delegate, long count) {
+            if (kind == WATCHED_CALL) {
+                delegate.recordWatchedCalls(type, name, count);
+            } else {
+                delegate.recordCount(type, count, tags);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CountKey)) {
+                return false;
+            }
+            CountKey key = (CountKey) other;
+            return kind == key.kind && type == key.type && (name == null ? key.name == null : name.equals(key.name)) && Arrays.equals(tags, key.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
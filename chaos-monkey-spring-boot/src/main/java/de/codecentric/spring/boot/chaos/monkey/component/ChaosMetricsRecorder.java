@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+/**
+ * Sink for the metrics of Chaos Monkey. It is called on the thread of the
+ * watched or assaulted request, so implementations have to be cheap and must not
+ * block. The default implementation is {@link Metrics}, which records to
+ * Micrometer. Provide a bean of this type to record the metrics somewhere else.
+ */
+public interface ChaosMetricsRecorder {
+
+    /**
+     * A watched method has been called.
+     *
+     * @param type
+     *            the type of the watcher, see
+     *            {@link MetricType#isSignatureOnlyEvent()}
+     * @param pointcut
+     *            the name of the watched method, e.g.
+     *            {@code execution.DemoService.sayHello}
+     */
+    void recordWatchedCall(MetricType type, String pointcut);
+
+    /**
+     * Same as {@link #recordWatchedCall(MetricType, String)} for several calls of
+     * the same method, e.g. when buffered calls are recorded at once.
+     *
+     * @param calls
+     *            the number of calls
+     */
+    default void recordWatchedCalls(MetricType type, String pointcut, long calls) {
+        for (long i = 0; i < calls; i++) {
+            recordWatchedCall(type, pointcut);
+        }
+    }
+
+    /**
+     * Resolves what {@link #recordWatchedCall(MetricType, String)} needs for one
+     * watched method, so the advices can keep it per method and skip the lookup
+     * on every call.
+     *
+     * @return records a call of the watched method when run
+     */
+    default Runnable watchedCallRecorder(MetricType type, String pointcut) {
+        return () -> recordWatchedCall(type, pointcut);
+    }
+
+    /**
+     * Increments the counter of the given type.
+     *
+     * @param type
+     *            the metric to increment
+     * @param tags
+     *            key value pairs, only used for
+     *            {@link MetricType#isTagEvent()}
+     */
+    void recordCount(MetricType type, String... tags);
+
+    /**
+     * Same as {@link #recordCount(MetricType, String...)}, but increments the
+     * counter by the given amount.
+     */
+    default void recordCount(MetricType type, long amount, String... tags) {
+        for (long i = 0; i < amount; i++) {
+            recordCount(type, tags);
+        }
+    }
+
+    /**
+     * Sets the current value of the given type, e.g. the latency of the last
+     * latency assault.
+     */
+    void recordValue(MetricType type, long value);
+
+    /**
+     * The latency assault has added latency to a call. Recorders without a
+     * distribution summary can ignore it.
+     *
+     * @param target
+     *            the kind of the attacked call, null if unknown
+     * @param millis
+     *            the added latency
+     */
+    default void recordInjectedLatency(ChaosTarget target, long millis) {
+    }
+}
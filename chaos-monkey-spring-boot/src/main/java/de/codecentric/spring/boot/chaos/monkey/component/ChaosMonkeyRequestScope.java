@@ -15,18 +15,21 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.component;
 
-import static org.springframework.util.CollectionUtils.isEmpty;
-
 import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyAssault;
 import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyResponseBodyAssault;
 import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRuntimeAssault;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultRateLimit;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
 import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.ChaosToggleNameMapper;
 import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.ChaosToggles;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,15 +37,29 @@ import org.slf4j.LoggerFactory;
 /** @author Benjamin Wilms */
 public class ChaosMonkeyRequestScope {
 
+    private static final String[] TOTAL_REQUEST_TAGS = {"type", "total"};
+
+    private static final String[] ASSAULTED_REQUEST_TAGS = {"type", "assaulted"};
+
     private final ChaosMonkeySettings chaosMonkeySettings;
 
-    private final List<ChaosMonkeyRequestAssault> assaults;
+    private final ChaosMonkeyRequestAssault[] assaults;
+
+    private final String[] assaultNames;
+
+    private final boolean[] bodyAssaults;
+
+    private final boolean[] blockingOnlyAssaults;
     private final ChaosToggles chaosToggles;
     private final ChaosToggleNameMapper chaosToggleNameMapper;
 
     private MetricEventPublisher metricEventPublisher;
 
-    private final AtomicInteger assaultCounter;
+    private final DeterministicSampler deterministicSampler;
+
+    private volatile AttackPlan attackPlan = AttackPlan.EMPTY;
+
+    private volatile AssaultRateLimiter rateLimiter = AssaultRateLimiter.NONE;
 
     public ChaosMonkeyRequestScope(ChaosMonkeySettings chaosMonkeySettings, List<ChaosMonkeyRequestAssault> assaults,
             List<ChaosMonkeyAssault> legacyAssaults, MetricEventPublisher metricEventPublisher, ChaosToggles chaosToggles,
@@ -55,62 +72,282 @@ public class ChaosMonkeyRequestScope {
         requestAssaults.addAll(assaultAdapters);
 
         this.chaosMonkeySettings = chaosMonkeySettings;
-        this.assaults = requestAssaults;
+        this.assaults = requestAssaults.toArray(new ChaosMonkeyRequestAssault[0]);
+        this.assaultNames = requestAssaults.stream().map(ChaosMonkeyRequestScope::assaultName).toArray(String[]::new);
+        this.bodyAssaults = new boolean[this.assaults.length];
+        this.blockingOnlyAssaults = new boolean[this.assaults.length];
+        for (int i = 0; i < this.assaults.length; i++) {
+            this.bodyAssaults[i] = this.assaults[i] instanceof ChaosMonkeyResponseBodyAssault;
+            this.blockingOnlyAssaults[i] = this.assaults[i].isBlockingOnly();
+        }
         this.metricEventPublisher = metricEventPublisher;
         this.chaosToggles = chaosToggles;
         this.chaosToggleNameMapper = chaosToggleNameMapper;
-        this.assaultCounter = new AtomicInteger(0);
+        this.deterministicSampler = new DeterministicSampler();
     }
 
     public void callChaosMonkey(ChaosTarget type, String simpleName) {
-        if (isEnabled(type, simpleName) && isTrouble()) {
+        callChaosMonkey(type, simpleName, mapToggleName(type, simpleName));
+    }
 
+    /**
+     * Same as {@link #callChaosMonkey(ChaosTarget, String)} with the toggle name
+     * of a watched method that has been resolved before with
+     * {@link #mapToggleName(ChaosTarget, String)}.
+     */
+    public void callChaosMonkey(ChaosTarget type, String simpleName, String toggleName) {
+        int chosen = chooseAttack(type, simpleName, toggleName, true, false);
+        if (chosen < 0) {
+            return;
+        }
+        assaults[chosen].attack(type, simpleName);
+
+        publishAssaulted();
+    }
+
+    /**
+     * Same as {@link #callChaosMonkey(ChaosTarget, String)}, but for callers that
+     * must not block their thread, like WebClient filters or reactive handler
+     * methods. An assault that would block, e.g. the latency assault, does not
+     * wait but returns its delay, which the caller applies to the request in a
+     * non-blocking way (for example with {@code Mono.delay}), and reports with
+     * {@link ResponseAttack#delayApplied()} once it does.
+     *
+     * @return the delay to apply to the request
+     */
+    public ResponseAttack callChaosMonkeyNonBlocking(ChaosTarget type, String simpleName) {
+        return callChaosMonkeyNonBlocking(type, simpleName, mapToggleName(type, simpleName));
+    }
+
+    /**
+     * Same as {@link #callChaosMonkeyNonBlocking(ChaosTarget, String)} with a
+     * toggle name resolved before, see
+     * {@link #callChaosMonkey(ChaosTarget, String, String)}.
+     */
+    public ResponseAttack callChaosMonkeyNonBlocking(ChaosTarget type, String simpleName, String toggleName) {
+        return callChaosMonkeyNonBlocking(type, simpleName, toggleName, false);
+    }
+
+    /**
+     * Same as {@link #callChaosMonkeyNonBlocking(ChaosTarget, String)}, for callers
+     * that stream the response, like the WebClient watcher. These can also be
+     * attacked by a {@link ChaosMonkeyResponseBodyAssault}, which is not run but
+     * returned, so the caller applies it to the body of the response.
+     *
+     * @return the delay and the body assault to apply to the response
+     */
+    public ResponseAttack callChaosMonkeyStreaming(ChaosTarget type, String simpleName) {
+        return callChaosMonkeyNonBlocking(type, simpleName, mapToggleName(type, simpleName), true);
+    }
+
+    /**
+     * @return the name of the toggle that enables chaos for the given call. It
+     *         only depends on the call, so watchers can resolve it once per
+     *         watched method.
+     */
+    public String mapToggleName(ChaosTarget type, String simpleName) {
+        return chaosToggleNameMapper.mapName(type, simpleName);
+    }
+
+    private ResponseAttack callChaosMonkeyNonBlocking(ChaosTarget type, String simpleName, String toggleName, boolean streaming) {
+        int chosen = chooseAttack(type, simpleName, toggleName, false, streaming);
+        if (chosen < 0) {
+            return ResponseAttack.NONE;
+        }
+        ChaosMonkeyRequestAssault assault = assaults[chosen];
+        ResponseAttack attack;
+        if (bodyAssaults[chosen]) {
+            attack = ResponseAttack.body((ChaosMonkeyResponseBodyAssault) assault);
+        } else {
+            long delay = assault.attackNonBlocking(type, simpleName);
+            attack = delay > 0 ? ResponseAttack.delay(delay, assault, type, simpleName) : ResponseAttack.NONE;
+        }
+
+        publishAssaulted();
+        return attack;
+    }
+
+    /** @return the index of the assault to run, -1 if the call is not attacked */
+    private int chooseAttack(ChaosTarget type, String simpleName, String toggleName, boolean blocking, boolean streaming) {
+        // this is called for every watched method, so the path where no assault is
+        // fired must not allocate
+        if (!isEnabled(toggleName)) {
+            return -1;
+        }
+        AssaultProperties assaultProps = chaosMonkeySettings.getAssaultProperties();
+        if (!isTrouble(assaultProps)) {
+            return -1;
+        }
+
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.APPLICATION_REQ_COUNT, TOTAL_REQUEST_TAGS);
+        }
+
+        // Custom watched services can be defined at runtime, if there are any, only
+        // these will be attacked!
+        if (assaultProps.isWatchedCustomServicesActive() && !getAttackPlan(assaultProps).isWatched(simpleName)) {
+            return -1;
+        }
+
+        int chosen = chooseActiveAssault(assaultProps, blocking, streaming);
+        if (chosen < 0) {
+            return -1;
+        }
+        if (assaultProps.isRateLimitsActive() && !getRateLimiter(assaultProps).tryAcquire(type, assaultNames[chosen], simpleName)) {
             if (metricEventPublisher != null) {
-                metricEventPublisher.publishMetricEvent(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+                metricEventPublisher.publishMetricEvent(MetricType.ASSAULT_RATE_LIMITED);
+            }
+            return -1;
+        }
+        return chosen;
+    }
+
+    private void publishAssaulted() {
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.APPLICATION_REQ_COUNT, ASSAULTED_REQUEST_TAGS);
+        }
+    }
+
+    private int chooseActiveAssault(AssaultProperties assaultProps, boolean blocking, boolean streaming) {
+        int activeAssaults = 0;
+        for (int i = 0; i < assaults.length; i++) {
+            if (isCandidate(i, blocking, streaming)) {
+                activeAssaults++;
             }
+        }
+        if (activeAssaults == 0) {
+            return -1;
+        }
 
-            // Custom watched services can be defined at runtime, if there are any, only
-            // these will be attacked!
-            AssaultProperties assaultProps = chaosMonkeySettings.getAssaultProperties();
-            if (assaultProps.isWatchedCustomServicesActive()) {
-                if (assaultProps.getWatchedCustomServices().stream().anyMatch(simpleName::startsWith)) {
-                    // only all listed custom methods will be attacked
-                    chooseAndRunAttack();
-                }
-            } else {
-                // default attack if no custom watched service is defined
-                chooseAndRunAttack();
+        int chosen = assaultProps.chooseAssault(activeAssaults);
+        for (int i = 0; i < assaults.length; i++) {
+            if (isCandidate(i, blocking, streaming) && chosen-- == 0) {
+                return i;
             }
         }
+        // an assault has been deactivated in the meantime
+        return -1;
     }
 
-    private void chooseAndRunAttack() {
-        List<ChaosMonkeyAssault> activeAssaults = assaults.stream().filter(ChaosMonkeyAssault::isActive).collect(Collectors.toList());
-        if (isEmpty(activeAssaults)) {
-            return;
-        }
-        getRandomFrom(activeAssaults).attack();
+    private boolean isCandidate(int assault, boolean blocking, boolean streaming) {
+        // only streaming callers have a body to attack, and only blocking callers
+        // can wait for e.g. a lock
+        return (streaming || !bodyAssaults[assault]) && (blocking || !blockingOnlyAssaults[assault]) && assaults[assault].isActive();
+    }
 
-        if (metricEventPublisher != null) {
-            metricEventPublisher.publishMetricEvent(MetricType.APPLICATION_REQ_COUNT, "type", "assaulted");
+    private AssaultRateLimiter getRateLimiter(AssaultProperties assaultProps) {
+        AssaultRateLimiter limiter = rateLimiter;
+        List<AssaultRateLimit> rateLimits = assaultProps.getRateLimits();
+        // like the watched custom services, the list is replaced on every update.
+        // The buckets are kept as long as the limits don't change
+        if (!limiter.isFor(rateLimits)) {
+            limiter = new AssaultRateLimiter(rateLimits, System.nanoTime());
+            rateLimiter = limiter;
         }
+        return limiter;
     }
 
-    private ChaosMonkeyAssault getRandomFrom(List<ChaosMonkeyAssault> activeAssaults) {
-        int exceptionRand = chaosMonkeySettings.getAssaultProperties().chooseAssault(activeAssaults.size());
-        return activeAssaults.get(exceptionRand);
+    private AttackPlan getAttackPlan(AssaultProperties assaultProps) {
+        AttackPlan plan = attackPlan;
+        List<String> watchedCustomServices = assaultProps.getWatchedCustomServices();
+        // the endpoints replace the list on every update, so comparing the
+        // reference is enough to detect a changed configuration
+        if (plan.watchedCustomServicesSource != watchedCustomServices) {
+            plan = new AttackPlan(watchedCustomServices);
+            attackPlan = plan;
+        }
+        return plan;
     }
 
-    private boolean isTrouble() {
-        if (chaosMonkeySettings.getAssaultProperties().isDeterministic()) {
-            return assaultCounter.incrementAndGet() % chaosMonkeySettings.getAssaultProperties().getLevel() == 0;
+    private boolean isTrouble(AssaultProperties assaultProps) {
+        if (assaultProps.isDeterministic()) {
+            return deterministicSampler.sample(assaultProps.getLevel());
         } else {
-            return chaosMonkeySettings.getAssaultProperties().getTroubleRandom() >= chaosMonkeySettings.getAssaultProperties().getLevel();
+            return assaultProps.getTroubleRandom() >= assaultProps.getLevel();
+        }
+    }
+
+    private boolean isEnabled(String toggleName) {
+        return this.chaosMonkeySettings.getChaosMonkeyProperties().isEnabled() && chaosToggles.isEnabled(toggleName);
+    }
+
+    /**
+     * The name rate limits use for an assault: the simple class name without the
+     * {@code Assault} suffix, e.g. {@code Latency} for the {@code LatencyAssault}.
+     */
+    private static String assaultName(ChaosMonkeyRequestAssault assault) {
+        Object named = assault instanceof RequestAssaultAdapter ? ((RequestAssaultAdapter) assault).rawAssault : assault;
+        String name = named.getClass().getSimpleName();
+        // strip the suffixes of generated subclasses, like CGLIB proxies or mocks
+        int generated = name.indexOf('$');
+        if (generated > 0) {
+            name = name.substring(0, generated);
         }
+        return name.endsWith("Assault") && name.length() > "Assault".length() ? name.substring(0, name.length() - "Assault".length()) : name;
     }
 
-    private boolean isEnabled(ChaosTarget type, String name) {
-        return this.chaosMonkeySettings.getChaosMonkeyProperties().isEnabled() && chaosToggles.isEnabled(chaosToggleNameMapper.mapName(type, name));
+    /**
+     * Immutable snapshot of the parts of the assault configuration that need to be
+     * prepared before they can be evaluated on every call.
+     */
+    private static final class AttackPlan {
+
+        private static final AttackPlan EMPTY = new AttackPlan(null);
+
+        // the results are cached for the first signatures only, so URLs with ids
+        // don't fill up the heap
+        private static final int MAX_CACHED_SIGNATURES = 10000;
+
+        private final List<String> watchedCustomServicesSource;
+
+        /**
+         * The watched prefixes, sorted and without the ones starting with another
+         * prefix. No prefix can lie between a name and the prefix it starts with, so
+         * the only candidate is the greatest prefix not greater than the name.
+         */
+        private final String[] watchedCustomServices;
+
+        private final ConcurrentMap<String, Boolean> watchedSignatures = new ConcurrentHashMap<>();
+
+        private AttackPlan(List<String> watchedCustomServices) {
+            this.watchedCustomServicesSource = watchedCustomServices;
+            this.watchedCustomServices = watchedCustomServices == null ? new String[0] : withoutRedundantPrefixes(watchedCustomServices);
+        }
+
+        private static String[] withoutRedundantPrefixes(List<String> watchedCustomServices) {
+            String[] sorted = watchedCustomServices.stream().filter(Objects::nonNull).sorted().toArray(String[]::new);
+            List<String> prefixes = new ArrayList<>(sorted.length);
+            for (String prefix : sorted) {
+                // the prefixes a name starts with are sorted right before it
+                if (prefixes.isEmpty() || !prefix.startsWith(prefixes.get(prefixes.size() - 1))) {
+                    prefixes.add(prefix);
+                }
+            }
+            return prefixes.toArray(new String[0]);
+        }
+
+        private boolean isWatched(String simpleName) {
+            if (simpleName == null) {
+                return false;
+            }
+            Boolean watched = watchedSignatures.get(simpleName);
+            if (watched == null) {
+                watched = startsWithWatchedPrefix(simpleName);
+                if (watchedSignatures.size() < MAX_CACHED_SIGNATURES) {
+                    watchedSignatures.put(simpleName, watched);
+                }
+            }
+            return watched;
+        }
+
+        private boolean startsWithWatchedPrefix(String simpleName) {
+            int index = Arrays.binarySearch(watchedCustomServices, simpleName);
+            if (index >= 0) {
+                return true;
+            }
+            int floor = -index - 2;
+            return floor >= 0 && simpleName.startsWith(watchedCustomServices[floor]);
+        }
     }
 
     private static class RequestAssaultAdapter implements ChaosMonkeyRequestAssault {
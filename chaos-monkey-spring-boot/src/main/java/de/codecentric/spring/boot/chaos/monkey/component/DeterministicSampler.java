@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Picks exactly every n-th call for the deterministic mode without all threads
+ * contending on a single counter. The calls are counted on a number of stripes,
+ * each on its own cache line, and a thread always uses the same stripe. Every
+ * stripe picks exactly every n-th of its calls, so over all threads the number
+ * of picked calls differs from {@code calls / n} by less than the number of
+ * stripes. Calls of a thread which doesn't share its stripe with another
+ * thread are picked exactly every n-th time.
+ *
+ * <p>
+ * The counters are longs, so they don't overflow in practice.
+ */
+public final class DeterministicSampler {
+
+    // 16 longs are 128 bytes, which keeps the stripes apart even with adjacent
+    // cache line prefetching
+    private static final int PADDING = 16;
+
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicLongArray counters;
+
+    private final int mask;
+
+    public DeterministicSampler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public DeterministicSampler(int concurrency) {
+        int stripes = 1;
+        while (stripes < concurrency && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        this.mask = stripes - 1;
+        this.counters = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * @param level
+     *            pick every level-th call
+     * @return whether this call is picked
+     */
+    public boolean sample(int level) {
+        // thread ids are handed out sequentially, so pool threads spread evenly
+        int stripe = (int) Thread.currentThread().getId() & mask;
+        return counters.incrementAndGet(stripe * PADDING) % level == 0;
+    }
+
+    int getStripes() {
+        return mask + 1;
+    }
+}
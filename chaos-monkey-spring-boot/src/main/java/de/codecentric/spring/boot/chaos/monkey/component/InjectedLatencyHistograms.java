@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto;
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto.Percentiles;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.lang.Nullable;
+
+/**
+ * Records every latency added by the latency assault in HdrHistograms, in total,
+ * per {@link ChaosTarget} and optionally per watched method. Unlike the gauge of
+ * the last latency this shows what the assault added while the application was
+ * under load, so it can be held against the latency histograms of the
+ * application. Recording is wait-free and doesn't allocate once a histogram
+ * exists.
+ */
+public class InjectedLatencyHistograms {
+
+    /**
+     * Limits the histograms per method, e.g. the WebClient watcher reports the url
+     * of every request as signature.
+     */
+    static final int MAX_METHODS = 1000;
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final boolean perMethod;
+
+    private volatile Histograms histograms = new Histograms();
+
+    public InjectedLatencyHistograms(boolean perMethod) {
+        this.perMethod = perMethod;
+    }
+
+    /**
+     * @param target
+     *            the kind of the attacked call, not recorded per target if
+     *            unknown
+     * @param signature
+     *            the attacked method, not recorded per method if unknown
+     */
+    public void record(@Nullable ChaosTarget target, @Nullable String signature, long millis) {
+        Histograms current = histograms;
+        current.total.recordValue(millis);
+        if (target != null) {
+            current.byTarget.get(target).recordValue(millis);
+        }
+        if (perMethod && signature != null) {
+            ConcurrentHistogram histogram = current.byMethod.get(signature);
+            if (histogram == null) {
+                if (current.byMethod.size() >= MAX_METHODS) {
+                    return;
+                }
+                histogram = current.byMethod.computeIfAbsent(signature, it -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            }
+            histogram.recordValue(millis);
+        }
+    }
+
+    /** Starts new histograms, e.g. before the next experiment. */
+    public void reset() {
+        histograms = new Histograms();
+    }
+
+    public InjectedLatencyDto snapshot() {
+        Histograms current = histograms;
+        InjectedLatencyDto dto = new InjectedLatencyDto();
+        dto.setTotal(percentiles(current.total));
+        current.byTarget.forEach((target, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                dto.getTargets().put(target.getName(), percentiles(histogram));
+            }
+        });
+        if (perMethod) {
+            Map<String, Percentiles> methods = new TreeMap<>();
+            current.byMethod.forEach((signature, histogram) -> methods.put(signature, percentiles(histogram)));
+            dto.setMethods(methods);
+        }
+        return dto;
+    }
+
+    private static Percentiles percentiles(ConcurrentHistogram histogram) {
+        // a copy is consistent, the live histogram may change between the reads
+        Histogram copy = histogram.copy();
+        return new Percentiles(copy.getTotalCount(), copy.getValueAtPercentile(50), copy.getValueAtPercentile(99), copy.getValueAtPercentile(99.9),
+                copy.getMaxValue());
+    }
+
+    private static final class Histograms {
+
+        private final ConcurrentHistogram total = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        // filled up front, only read afterwards
+        private final Map<ChaosTarget, ConcurrentHistogram> byTarget = new EnumMap<>(ChaosTarget.class);
+
+        private final Map<String, ConcurrentHistogram> byMethod = new ConcurrentHashMap<>();
+
+        private Histograms() {
+            for (ChaosTarget target : ChaosTarget.values()) {
+                byTarget.put(target, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            }
+        }
+    }
+}
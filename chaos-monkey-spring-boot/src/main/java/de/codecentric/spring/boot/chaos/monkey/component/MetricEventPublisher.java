@@ -17,34 +17,108 @@ package de.codecentric.spring.boot.chaos.monkey.component;
 
 import de.codecentric.spring.boot.chaos.monkey.events.MetricEvent;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.lang.Nullable;
 
-/** @author Benjamin Wilms */
-public class MetricEventPublisher implements ApplicationEventPublisherAware {
+/**
+ * Entry point for all metrics of Chaos Monkey. Metrics are handed directly to
+ * the {@link ChaosMetricsRecorder}; publishing them as {@link MetricEvent} is
+ * optional, as multicasting an application event on every watched call is
+ * expensive.
+ *
+ * @author Benjamin Wilms
+ */
+public class MetricEventPublisher implements ApplicationEventPublisherAware, DisposableBean {
+
+    private static final String[] NO_TAGS = new String[0];
+
+    @Nullable
+    private final ChaosMetricsRecorder recorder;
+
+    private final boolean publishApplicationEvents;
 
     private ApplicationEventPublisher publisher;
 
+    /** Creates a publisher that only publishes {@link MetricEvent}s. */
+    public MetricEventPublisher() {
+        this(null, true);
+    }
+
+    public MetricEventPublisher(@Nullable ChaosMetricsRecorder recorder, boolean publishApplicationEvents) {
+        this.recorder = recorder;
+        this.publishApplicationEvents = publishApplicationEvents;
+    }
+
     public void publishMetricEvent(String signature, MetricType metricType, String... tags) {
-        MetricEvent metricEvent = new MetricEvent(this, metricType, signature, tags);
+        if (recorder != null) {
+            recorder.recordWatchedCall(metricType, signature);
+        }
+        if (publishApplicationEvents) {
+            publisher.publishEvent(new MetricEvent(this, metricType, signature, tags));
+        }
+    }
 
-        publisher.publishEvent(metricEvent);
+    /**
+     * Same as {@link #publishMetricEvent(String, MetricType, String...)} for the
+     * calls of one watched method, with the recorder resolved once.
+     *
+     * @return publishes a call of the watched method when run
+     */
+    public Runnable watchedCallPublisher(String signature, MetricType metricType) {
+        Runnable recordCall = recorder != null ? recorder.watchedCallRecorder(metricType, signature) : null;
+        return () -> {
+            if (recordCall != null) {
+                recordCall.run();
+            }
+            if (publishApplicationEvents) {
+                publisher.publishEvent(new MetricEvent(this, metricType, signature, NO_TAGS));
+            }
+        };
     }
 
     public void publishMetricEvent(MetricType metricType, String... tags) {
-        MetricEvent metricEvent = new MetricEvent(this, metricType, tags);
-
-        publisher.publishEvent(metricEvent);
+        if (recorder != null) {
+            recorder.recordCount(metricType, tags);
+        }
+        if (publishApplicationEvents) {
+            publisher.publishEvent(new MetricEvent(this, metricType, tags));
+        }
     }
 
     public void publishMetricEvent(MetricType metricType, AtomicInteger atomicTimeoutGauge) {
         final long gaugeValue = (atomicTimeoutGauge == null) ? -1 : atomicTimeoutGauge.longValue();
-        MetricEvent metricEvent = new MetricEvent(this, metricType, gaugeValue, null);
-        publisher.publishEvent(metricEvent);
+        publishMetricEvent(metricType, gaugeValue);
     }
 
     public void publishMetricEvent(MetricType type, long metricValue) {
-        publisher.publishEvent(new MetricEvent(this, type, metricValue, null));
+        if (recorder != null) {
+            recorder.recordValue(type, metricValue);
+        }
+        if (publishApplicationEvents) {
+            // value events are published without tags
+            publisher.publishEvent(new MetricEvent(this, type, metricValue, null, (String[]) null));
+        }
+    }
+
+    /**
+     * Records a latency added by the latency assault in the distribution of
+     * injected latencies. It is not published as {@link MetricEvent}, the latency
+     * is already part of the value event of the assault.
+     */
+    public void publishInjectedLatency(@Nullable ChaosTarget target, long millis) {
+        if (recorder != null) {
+            recorder.recordInjectedLatency(target, millis);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // the async recorder is created for this publisher, so it is stopped here
+        if (recorder instanceof AsyncChaosMetricsRecorder) {
+            ((AsyncChaosMetricsRecorder) recorder).close();
+        }
     }
 
     @Override
@@ -24,12 +24,43 @@ public enum MetricType {
     SERVICE("service", true, false),
     BEAN("bean", true, false),
     LATENCY_ASSAULT("assault.latency.count", false, false),
+    LATENCY_ASSAULT_BLOCKED_THREADS("assault.latency.blocked_threads", false, false),
+    LATENCY_ASSAULT_SKIPPED("assault.latency.skipped", false, true),
+    LOCK_CONTENTION_ASSAULT("assault.lock_contention.count", false, false),
+    LOCK_CONTENTION_ASSAULT_WAIT("assault.lock_contention.wait_micros", false, false),
+    RESPONSE_BODY_ASSAULT("assault.response_body.count", false, false),
+    BANDWIDTH_ASSAULT("assault.bandwidth.count", false, false),
+    BANDWIDTH_ASSAULT_DOWNLOAD_THROUGHPUT("assault.bandwidth.download_bytes_per_second", false, false),
+    BANDWIDTH_ASSAULT_UPLOAD_THROUGHPUT("assault.bandwidth.upload_bytes_per_second", false, false),
+    ASSAULT_RATE_LIMITED("assault.rate_limited", false, true),
     EXCEPTION_ASSAULT("assault.exception.count", false, false),
     KILLAPP_ASSAULT("assault.killapp.count", false, true),
     APPLICATION_REQ_COUNT("application.request.count", false, true),
     MEMORY_ASSAULT("assault.memory.count", false, false),
     MEMORY_ASSAULT_MEMORY_STOLEN("assault.memory.bytes_stolen", false, false),
-    CPU_ASSAULT("assault.cpu.count", false, false);
+    MEMORY_ASSAULT_DIRECT_MEMORY_STOLEN("assault.memory.direct_bytes_stolen", false, false),
+    MEMORY_ASSAULT_MAPPED_MEMORY_STOLEN("assault.memory.mapped_bytes_stolen", false, false),
+    MEMORY_ASSAULT_METASPACE_STOLEN("assault.memory.metaspace_bytes_stolen", false, false),
+    CPU_ASSAULT("assault.cpu.count", false, false),
+    CPU_ASSAULT_LOAD("assault.cpu.load_percent", false, false),
+    CPU_ASSAULT_TARGET_LOAD("assault.cpu.target_load_percent", false, false),
+    GC_PRESSURE_ASSAULT("assault.gc_pressure.count", false, false),
+    GC_PRESSURE_ASSAULT_ALLOCATION_RATE("assault.gc_pressure.allocation_rate_bytes_per_second", false, false),
+    GC_PRESSURE_ASSAULT_GC_COUNT("assault.gc_pressure.gc_count", false, false),
+    GC_PRESSURE_ASSAULT_GC_TIME("assault.gc_pressure.gc_time_millis", false, false),
+    THREAD_POOL_ASSAULT("assault.thread_pool.count", false, false),
+    THREAD_POOL_ASSAULT_OCCUPIED_THREADS("assault.thread_pool.occupied_threads", false, false),
+    THREAD_POOL_ASSAULT_QUEUE_DEPTH("assault.thread_pool.queue_depth", false, false),
+    DISK_IO_ASSAULT("assault.disk_io.count", false, false),
+    DISK_IO_ASSAULT_BYTES_WRITTEN("assault.disk_io.bytes_written", false, false),
+    DISK_IO_ASSAULT_THROUGHPUT("assault.disk_io.throughput_bytes_per_second", false, false),
+    DISK_IO_ASSAULT_MAX_FSYNC("assault.disk_io.max_fsync_micros", false, false),
+    FILE_DESCRIPTOR_ASSAULT("assault.file_descriptor.count", false, false),
+    FILE_DESCRIPTOR_ASSAULT_HELD("assault.file_descriptor.held", false, false),
+    SAFEPOINT_ASSAULT("assault.safepoint.count", false, false),
+    SAFEPOINT_ASSAULT_OPERATIONS("assault.safepoint.operations", false, false),
+    SAFEPOINT_ASSAULT_MAX_PAUSE("assault.safepoint.max_pause_micros", false, false),
+    METRICS_DROPPED("metrics.dropped", false, false);
 
     private final String metricName;
 
@@ -15,51 +15,142 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.component;
 
-import de.codecentric.spring.boot.chaos.monkey.events.MetricEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.springframework.context.ApplicationListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.DisposableBean;
 
-/** @author Benjamin Wilms */
-public class Metrics implements ApplicationListener<MetricEvent> {
+/** Records the metrics of Chaos Monkey to Micrometer. */
+public class Metrics implements ChaosMetricsRecorder, DisposableBean {
 
-    private MeterRegistry meterRegistry;
+    static final String INJECTED_LATENCY = "chaos.monkey.assault.latency.injected";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<MetricType, Counter> counters = new EnumMap<>(MetricType.class);
+
+    private final Map<MetricType, AtomicLong> gauges = new EnumMap<>(MetricType.class);
+
+    private final List<Meter> registeredGauges = new ArrayList<>();
+
+    private final Map<MetricType, Map<List<String>, Counter>> taggedCounters = new EnumMap<>(MetricType.class);
+
+    private final Map<MetricType, Map<String, Counter>> watcherCounters = new EnumMap<>(MetricType.class);
+
+    private final Map<String, DistributionSummary> injectedLatencies = new ConcurrentHashMap<>();
 
     public Metrics() {
-        this.meterRegistry = io.micrometer.core.instrument.Metrics.globalRegistry;
+        this(io.micrometer.core.instrument.Metrics.globalRegistry);
     }
 
-    private void counter(MetricType type, String... tags) {
-        if (meterRegistry != null && tags != null) {
-            meterRegistry.counter(type.getMetricName(), tags).increment();
+    public Metrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // all meters without variable tags are registered up front, the maps are
+        // only read afterwards
+        for (MetricType type : MetricType.values()) {
+            if (type.isSignatureOnlyEvent()) {
+                watcherCounters.put(type, new ConcurrentHashMap<>());
+            } else if (type.isTagEvent()) {
+                taggedCounters.put(type, new ConcurrentHashMap<>());
+            } else {
+                counters.put(type, meterRegistry.counter(type.getMetricName()));
+                AtomicLong gauge = new AtomicLong();
+                registeredGauges.add(
+                        Gauge.builder(type.getMetricName() + ".gauge.", gauge, AtomicLong::doubleValue).strongReference(true).register(meterRegistry));
+                gauges.put(type, gauge);
+            }
         }
     }
 
-    private void counterWatcher(MetricType type, String name) {
-        if (meterRegistry != null) {
-            meterRegistry.counter(type.getMetricName() + ".watcher", "component", extractComponent(name)).increment();
+    @Override
+    public void recordCount(MetricType type, String... tags) {
+        recordCount(type, 1, tags);
+    }
+
+    @Override
+    public void recordCount(MetricType type, long amount, String... tags) {
+        Counter counter = counters.get(type);
+        if (counter == null) {
+            Map<List<String>, Counter> countersByTags = taggedCounters.get(type);
+            if (countersByTags == null || tags == null) {
+                return;
+            }
+            List<String> key = Arrays.asList(tags);
+            counter = countersByTags.get(key);
+            if (counter == null) {
+                counter = countersByTags.computeIfAbsent(key, it -> meterRegistry.counter(type.getMetricName(), tags));
+            }
         }
+        counter.increment(amount);
     }
 
-    private void gauge(MetricType type, double number) {
-        if (meterRegistry != null) {
-            meterRegistry.gauge(type.getMetricName() + ".gauge.", number);
+    @Override
+    public void recordWatchedCall(MetricType type, String name) {
+        recordWatchedCalls(type, name, 1);
+    }
+
+    @Override
+    public void recordWatchedCalls(MetricType type, String name, long calls) {
+        // the counter of a watched method is resolved once, later calls only look
+        // it up by the method name
+        Map<String, Counter> counters = watcherCounters.get(type);
+        if (counters == null) {
+            return;
+        }
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, it -> meterRegistry.counter(type.getMetricName() + ".watcher", "component", extractComponent(it)));
+        }
+        counter.increment(calls);
+    }
+
+    @Override
+    public Runnable watchedCallRecorder(MetricType type, String name) {
+        Map<String, Counter> counters = watcherCounters.get(type);
+        if (counters == null) {
+            return () -> {
+            };
+        }
+        Counter counter = counters.computeIfAbsent(name, it -> meterRegistry.counter(type.getMetricName() + ".watcher", "component", extractComponent(it)));
+        return counter::increment;
+    }
+
+    @Override
+    public void recordValue(MetricType type, long value) {
+        AtomicLong gauge = gauges.get(type);
+        if (gauge != null) {
+            gauge.set(value);
         }
     }
 
+    @Override
+    public void recordInjectedLatency(ChaosTarget target, long millis) {
+        String name = target == null ? "unknown" : target.getName();
+        DistributionSummary summary = injectedLatencies.get(name);
+        if (summary == null) {
+            summary = injectedLatencies.computeIfAbsent(name, it -> DistributionSummary.builder(INJECTED_LATENCY).baseUnit("milliseconds")
+                    .publishPercentiles(0.5, 0.99, 0.999).tag("target", it).register(meterRegistry));
+        }
+        summary.record(millis);
+    }
+
     private String extractComponent(String name) {
         return name.replaceAll("execution.", "");
     }
 
     @Override
-    public void onApplicationEvent(MetricEvent event) {
-        if (event.getMetricType().isSignatureOnlyEvent()) {
-            counterWatcher(event.getMetricType(), event.getMethodSignature());
-        } else if (event.getMetricType().isTagEvent()) {
-            counter(event.getMetricType(), event.getTags());
-        } else { // untagged and without method signature -> metric value is the interesting
-            // part
-            gauge(event.getMetricType(), event.getMetricValue());
-            counter(event.getMetricType(), event.getTags());
-        }
+    public void destroy() {
+        // a gauge is bound to the state object of its first registration, so a new
+        // context would not be able to report its values to the global registry
+        registeredGauges.forEach(meterRegistry::remove);
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyResponseBodyAssault;
+import org.springframework.lang.Nullable;
+
+/** What a non-blocking caller has to apply to an attacked request. */
+public final class ResponseAttack {
+
+    public static final ResponseAttack NONE = new ResponseAttack(0, null, null, null, null);
+
+    private final long delay;
+
+    @Nullable
+    private final ChaosMonkeyResponseBodyAssault bodyAssault;
+
+    @Nullable
+    private final ChaosMonkeyRequestAssault delayingAssault;
+
+    @Nullable
+    private final ChaosTarget target;
+
+    @Nullable
+    private final String signature;
+
+    ResponseAttack(long delay, @Nullable ChaosMonkeyResponseBodyAssault bodyAssault, @Nullable ChaosMonkeyRequestAssault delayingAssault,
+            @Nullable ChaosTarget target, @Nullable String signature) {
+        this.delay = delay;
+        this.bodyAssault = bodyAssault;
+        this.delayingAssault = delayingAssault;
+        this.target = target;
+        this.signature = signature;
+    }
+
+    public static ResponseAttack delay(long delay, ChaosMonkeyRequestAssault assault, ChaosTarget target, String signature) {
+        return new ResponseAttack(delay, null, assault, target, signature);
+    }
+
+    public static ResponseAttack body(ChaosMonkeyResponseBodyAssault assault) {
+        return new ResponseAttack(0, assault, null, null, null);
+    }
+
+    /** @return the delay in milliseconds to apply to the response, 0 for none */
+    public long getDelay() {
+        return delay;
+    }
+
+    /** @return the assault to apply to the body of the response, if any */
+    @Nullable
+    public ChaosMonkeyResponseBodyAssault getBodyAssault() {
+        return bodyAssault;
+    }
+
+    /**
+     * Tells the assault that the {@link #getDelay() delay} is applied, e.g. when
+     * the delayed publisher is subscribed, so it is only recorded as injected
+     * latency if it really is.
+     */
+    public void delayApplied() {
+        if (delayingAssault != null) {
+            delayingAssault.delayApplied(target, signature, delay);
+        }
+    }
+}
@@ -18,6 +18,9 @@ package de.codecentric.spring.boot.chaos.monkey.configuration;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -55,28 +58,51 @@ public class AssaultException {
     private List<ExceptionArgument> arguments = Collections
             .singletonList(new ExceptionArgument(String.class.getName(), "Chaos Monkey - RuntimeException"));
 
+    /**
+     * Throw the same exception instance, without a stack trace, on every attack
+     * instead of creating a new one. This makes high exception rates almost free,
+     * but the exception is shared by all threads, so it is created with
+     * suppression and a writable stack trace disabled. Types that can't be created
+     * like this get a new instance on every attack.
+     */
+    private boolean reuseInstance = false;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @JsonIgnore
+    private volatile ExceptionFactory factory;
+
     @SneakyThrows
     @JsonIgnore
     public void throwExceptionInstance() {
-        throw getThrowable();
+        throw getFactory().create();
     }
 
-    @JsonIgnore
-    private Throwable getThrowable() {
-        Throwable instance;
-        try {
-            ThrowableCreator creator = getCreator();
-            instance = creator.create(getExceptionArgumentValues());
-        } catch (ReflectiveOperationException | ClassCastException | JsonProcessingException e) {
-            Logger.warn("Failed to create custom exception. Fallback: Throw RuntimeException");
-            instance = new RuntimeException("Chaos Monkey - RuntimeException (Fallback)", e);
+    /**
+     * Resolves the exception class, its constructor or creator method and the
+     * argument values, so that the first attack doesn't have to. This happens
+     * anyway on the first use after the configuration changed.
+     */
+    public void prepare() {
+        getFactory();
+    }
+
+    private ExceptionFactory getFactory() {
+        ExceptionFactory current = factory;
+        // the properties may be changed in place, e.g. by the configuration binder,
+        // so the factory is checked against the values it was created from
+        if (current == null || !current.isFor(this)) {
+            current = new ExceptionFactory(this);
+            factory = current;
         }
-        return instance;
+        return current;
     }
 
     @JsonIgnore
     public ThrowableCreator getCreator() throws ReflectiveOperationException {
-        Class<?> exceptionClass = getExceptionClass();
+        Class<?> exceptionClass = Class.forName(type);
         Class<?>[] argumentTypes = getExceptionArgumentTypes().toArray(new Class[0]);
         if (CONSTRUCTOR.equals(method)) {
             return new ThrowableConstructor(exceptionClass.asSubclass(Throwable.class).getConstructor(argumentTypes));
@@ -87,7 +113,11 @@ public class AssaultException {
 
     @JsonIgnore
     public Class<?> getExceptionClass() throws ClassNotFoundException {
-        return Class.forName(type);
+        ExceptionFactory current = getFactory();
+        if (current.exceptionClass == null) {
+            throw new ClassNotFoundException(type);
+        }
+        return current.exceptionClass;
     }
 
     private List<Class<?>> getExceptionArgumentTypes() throws ClassNotFoundException {
@@ -98,17 +128,18 @@ public class AssaultException {
         return exceptionArgumentTypes;
     }
 
-    private List<Object> getExceptionArgumentValues() throws ClassNotFoundException, JsonProcessingException {
-        List<Object> exceptionArgumentValues = new ArrayList<>();
-        for (ExceptionArgument argument : arguments) {
+    private Object[] getExceptionArgumentValues() throws ClassNotFoundException, JsonProcessingException {
+        Object[] exceptionArgumentValues = new Object[arguments.size()];
+        for (int i = 0; i < exceptionArgumentValues.length; i++) {
+            ExceptionArgument argument = arguments.get(i);
             Class<?> classType = argument.getClassType();
             String value = argument.getValue();
             try {
                 // this mostly works for primitive values and strings
-                exceptionArgumentValues.add(objectMapper.convertValue(value, classType));
+                exceptionArgumentValues[i] = objectMapper.convertValue(value, classType);
             } catch (IllegalArgumentException e) {
                 // treat value as json encoded otherwise
-                exceptionArgumentValues.add(objectMapper.readValue(value, classType));
+                exceptionArgumentValues[i] = objectMapper.readValue(value, classType);
             }
         }
         return exceptionArgumentValues;
@@ -131,7 +162,7 @@ public class AssaultException {
     }
 
     private interface ThrowableCreator {
-        Throwable create(List<?> arguments) throws ReflectiveOperationException;
+        MethodHandle toMethodHandle() throws IllegalAccessException;
     }
 
     @RequiredArgsConstructor
@@ -139,8 +170,9 @@ public class AssaultException {
         private final Constructor<? extends Throwable> constructor;
 
         @Override
-        public Throwable create(List<?> arguments) throws ReflectiveOperationException {
-            return constructor.newInstance(arguments.toArray());
+        public MethodHandle toMethodHandle() throws IllegalAccessException {
+            makeAccessible(constructor);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
         }
     }
 
@@ -149,8 +181,170 @@ public class AssaultException {
         private final Method initializer;
 
         @Override
-        public Throwable create(List<?> arguments) throws ReflectiveOperationException {
-            return (Throwable) initializer.invoke(null, arguments.toArray());
+        public MethodHandle toMethodHandle() throws IllegalAccessException {
+            makeAccessible(initializer);
+            return MethodHandles.lookup().unreflect(initializer);
+        }
+    }
+
+    private static void makeAccessible(AccessibleObject member) {
+        try {
+            // exceptions may be declared in classes which are not public
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            // not open to us, the lookup fails if it's not accessible anyway
+        }
+    }
+
+    /**
+     * The exception recipe compiled into a method handle with the converted
+     * arguments, created once per configuration.
+     */
+    private static final class ExceptionFactory {
+
+        private final String type;
+
+        private final String method;
+
+        private final List<ExceptionArgument> arguments;
+
+        private final String[] argumentTypes;
+
+        private final String[] argumentValues;
+
+        private final boolean reuseInstance;
+
+        private final Class<?> exceptionClass;
+
+        private final MethodHandle creator;
+
+        private final Object[] creatorArguments;
+
+        private final Throwable instance;
+
+        private final Exception failure;
+
+        private ExceptionFactory(AssaultException source) {
+            this.type = source.type;
+            this.method = source.method;
+            this.arguments = source.arguments;
+            this.argumentTypes = source.arguments.stream().map(ExceptionArgument::getType).toArray(String[]::new);
+            this.argumentValues = source.arguments.stream().map(ExceptionArgument::getValue).toArray(String[]::new);
+            this.reuseInstance = source.reuseInstance;
+
+            Class<?> exceptionClass = null;
+            MethodHandle creator = null;
+            Object[] creatorArguments = null;
+            Throwable instance = null;
+            Exception failure = null;
+            try {
+                exceptionClass = Class.forName(type);
+                MethodHandle handle = source.getCreator().toMethodHandle();
+                // (Object[]) -> Object, so it can be invoked exactly
+                creator = handle.asType(handle.type().generic()).asSpreader(Object[].class, handle.type().parameterCount());
+                creatorArguments = source.getExceptionArgumentValues();
+                if (reuseInstance) {
+                    instance = immutableCopy(invoke(creator, creatorArguments));
+                    if (instance == null) {
+                        Logger.warn("{} can't be created without suppression and stack trace, a new instance is thrown on every attack", type);
+                    } else {
+                        // the watchers recognize the thrown exception by its class
+                        exceptionClass = instance.getClass();
+                    }
+                }
+            } catch (Throwable e) {
+                failure = e instanceof Exception ? (Exception) e : new RuntimeException(e);
+            }
+            this.exceptionClass = exceptionClass;
+            this.creator = creator;
+            this.creatorArguments = creatorArguments;
+            this.instance = instance;
+            this.failure = failure;
+        }
+
+        private boolean isFor(AssaultException source) {
+            if (type != source.type || method != source.method || reuseInstance != source.reuseInstance || arguments != source.arguments
+                    || argumentTypes.length != arguments.size()) {
+                return false;
+            }
+            for (int i = 0; i < argumentTypes.length; i++) {
+                ExceptionArgument argument = arguments.get(i);
+                if (argumentTypes[i] != argument.getType() || argumentValues[i] != argument.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Throwable create() {
+            if (instance != null) {
+                return instance;
+            }
+            Throwable cause = failure;
+            if (cause == null) {
+                try {
+                    return invoke(creator, creatorArguments);
+                } catch (Throwable e) {
+                    cause = e;
+                }
+            }
+            Logger.warn("Failed to create custom exception. Fallback: Throw RuntimeException");
+            return new RuntimeException("Chaos Monkey - RuntimeException (Fallback)", cause);
+        }
+
+        /**
+         * @return a copy of the exception which can't record suppressed exceptions,
+         *         a stack trace or another cause, so it can be shared by all threads.
+         *         null if the type has no constructor for that.
+         */
+        private static Throwable immutableCopy(Throwable prototype) {
+            Class<? extends Throwable> type = prototype.getClass();
+            try {
+                Constructor<? extends Throwable> constructor = type.getDeclaredConstructor(String.class, Throwable.class, boolean.class,
+                        boolean.class);
+                makeAccessible(constructor);
+                return constructor.newInstance(prototype.getMessage(), prototype.getCause(), false, false);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not declared or not accessible, the types of the JDK are wrapped below
+            }
+            if (type == RuntimeException.class) {
+                return new ReusedRuntimeException(prototype.getMessage(), prototype.getCause());
+            } else if (type == Exception.class) {
+                return new ReusedException(prototype.getMessage(), prototype.getCause());
+            } else if (type == Error.class) {
+                return new ReusedError(prototype.getMessage(), prototype.getCause());
+            }
+            return null;
+        }
+
+        private static Throwable invoke(MethodHandle creator, Object[] arguments) throws Throwable {
+            // the arguments are shared by all instances, which is fine for the
+            // immutable strings, primitives and enums they usually are
+            return (Throwable) (Object) creator.invokeExact(arguments);
+        }
+    }
+
+    /** Shared {@link RuntimeException} of {@link #reuseInstance}. */
+    static final class ReusedRuntimeException extends RuntimeException {
+
+        private ReusedRuntimeException(String message, Throwable cause) {
+            super(message, cause, false, false);
+        }
+    }
+
+    /** Shared {@link Exception} of {@link #reuseInstance}. */
+    static final class ReusedException extends Exception {
+
+        private ReusedException(String message, Throwable cause) {
+            super(message, cause, false, false);
+        }
+    }
+
+    /** Shared {@link Error} of {@link #reuseInstance}. */
+    static final class ReusedError extends Error {
+
+        private ReusedError(String message, Throwable cause) {
+            super(message, cause, false, false);
         }
     }
 }
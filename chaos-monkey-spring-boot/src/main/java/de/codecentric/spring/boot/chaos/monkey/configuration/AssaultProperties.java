@@ -18,8 +18,10 @@ package de.codecentric.spring.boot.chaos.monkey.configuration;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.AssaultPropertiesUpdate;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -40,6 +42,38 @@ public class AssaultProperties {
 
     private boolean latencyActive = false;
 
+    private int latencyMaxBlockedThreads = 0;
+
+    private LatencyDistribution latencyDistribution = LatencyDistribution.UNIFORM;
+
+    private int latencyMean = 2000;
+
+    private int latencyStandardDeviation = 500;
+
+    private double latencyParetoShape = 1.5;
+
+    private String latencyHistogramFile;
+
+    private TimeUnit latencyHistogramUnit = TimeUnit.MILLISECONDS;
+
+    private boolean lockContentionActive = false;
+
+    private int lockContentionStripes = 1;
+
+    private int lockContentionMillisecondsHold = 20;
+
+    private boolean responseBodyActive = false;
+
+    private int responseBodyBytesPerSecond = 0;
+
+    private long responseBodyTruncateAfterBytes = -1;
+
+    private long responseBodyErrorAfterBytes = -1;
+
+    private boolean bandwidthActive = false;
+
+    private List<BandwidthLimit> bandwidthLimits;
+
     private boolean exceptionsActive = false;
 
     @NestedConfigurationProperty
@@ -63,6 +97,34 @@ public class AssaultProperties {
     // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
     private String memoryCronExpression = null;
 
+    private List<MemoryAssaultMode> memoryModes;
+
+    private int directMemoryMillisecondsHoldFilledMemory = 90000;
+
+    private int directMemoryMillisecondsWaitNextIncrease = 1000;
+
+    private double directMemoryFillIncrementFraction = 0.15;
+
+    private double directMemoryFillTargetFraction = 0.25;
+
+    private int mappedMemoryMillisecondsHoldFilledMemory = 90000;
+
+    private int mappedMemoryMillisecondsWaitNextIncrease = 1000;
+
+    private double mappedMemoryFillIncrementFraction = 0.05;
+
+    private double mappedMemoryFillTargetFraction = 0.25;
+
+    private String mappedMemoryDirectory;
+
+    private int metaspaceMillisecondsHoldFilledMemory = 90000;
+
+    private int metaspaceMillisecondsWaitNextIncrease = 1000;
+
+    private double metaspaceFillIncrementFraction = 0.15;
+
+    private double metaspaceFillTargetFraction = 0.5;
+
     private volatile boolean cpuActive = false;
 
     private int cpuMillisecondsHoldLoad = 90000;
@@ -72,22 +134,116 @@ public class AssaultProperties {
     // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
     private String cpuCronExpression = null;
 
+    private volatile boolean gcPressureActive = false;
+
+    private int gcPressureMillisecondsHoldLoad = 90000;
+
+    private int gcPressureAllocationRateMegabytesPerSecond = 256;
+
+    private int gcPressureThreads = 1;
+
+    private int gcPressureObjectSizeMinBytes = 16;
+
+    private int gcPressureObjectSizeMaxBytes = 16384;
+
+    private double gcPressureSurvivorFraction = 0.01;
+
+    private int gcPressureSurvivorMillisecondsRetain = 1000;
+
+    // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
+    private String gcPressureCronExpression = null;
+
+    private volatile boolean threadPoolActive = false;
+
+    private int threadPoolMillisecondsHoldFilledPools = 90000;
+
+    private int threadPoolMillisecondsWaitNextIncrease = 1000;
+
+    private double threadPoolFillIncrementFraction = 0.25;
+
+    private double threadPoolFillTargetFraction = 0.5;
+
+    private List<String> threadPoolBeans;
+
+    // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
+    private String threadPoolCronExpression = null;
+
+    private volatile boolean diskIoActive = false;
+
+    private int diskIoMillisecondsHoldLoad = 90000;
+
+    private int diskIoThroughputMegabytesPerSecond = 50;
+
+    private double diskIoReadFraction = 0.3;
+
+    private int diskIoWritesPerFsync = 16;
+
+    private int diskIoFileSizeMegabytes = 256;
+
+    private String diskIoDirectory;
+
+    // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
+    private String diskIoCronExpression = null;
+
+    private volatile boolean fileDescriptorActive = false;
+
+    private FileDescriptorAssaultMode fileDescriptorMode = FileDescriptorAssaultMode.FILE;
+
+    private int fileDescriptorMillisecondsHoldFilled = 90000;
+
+    private int fileDescriptorMillisecondsWaitNextIncrease = 1000;
+
+    private double fileDescriptorFillIncrementFraction = 0.15;
+
+    private double fileDescriptorFillTargetFraction = 0.8;
+
+    // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
+    private String fileDescriptorCronExpression = null;
+
+    private volatile boolean safepointActive = false;
+
+    private int safepointMillisecondsHoldLoad = 90000;
+
+    private int safepointMillisecondsInterval = 10;
+
+    private int safepointCountedLoopThreads = 0;
+
+    private int safepointCountedLoopIterations = 100000000;
+
+    // TODO change this to "OFF" when runtimeAssaultCronExpression is removed
+    private String safepointCronExpression = null;
+
     /**
      * @deprecated please use {@link #killApplicationCronExpression},
-     *             {@link #memoryCronExpression} or {@link #cpuCronExpression}
-     *             instead
+     *             {@link #memoryCronExpression}, {@link #cpuCronExpression},
+     *             {@link #gcPressureCronExpression},
+     *             {@link #threadPoolCronExpression},
+     *             {@link #diskIoCronExpression},
+     *             {@link #fileDescriptorCronExpression} or
+     *             {@link #safepointCronExpression} instead
      */
     @Deprecated
     private String runtimeAssaultCronExpression = "OFF";
 
     private List<String> watchedCustomServices;
 
+    private List<WatchedOutgoingRequest> watchedOutgoingRequests;
+
+    private List<AssaultRateLimit> rateLimits;
+
     public AssaultException getException() {
-        return exception == null ? new AssaultException() : exception;
+        // keep the default, it caches the resolved exception factory
+        if (exception == null) {
+            exception = new AssaultException();
+        }
+        return exception;
     }
 
     public void setException(AssaultException exception) {
         this.exception = exception;
+        if (exception != null) {
+            exception.prepare();
+        }
     }
 
     @JsonIgnore
@@ -105,6 +261,27 @@ public class AssaultProperties {
         return !CollectionUtils.isEmpty(watchedCustomServices);
     }
 
+    @JsonIgnore
+    public boolean isWatchedOutgoingRequestsActive() {
+        return !CollectionUtils.isEmpty(watchedOutgoingRequests);
+    }
+
+    /** @return the configured memory modes, only the heap if none are configured */
+    @JsonIgnore
+    public List<MemoryAssaultMode> getActiveMemoryModes() {
+        return CollectionUtils.isEmpty(memoryModes) ? Collections.singletonList(MemoryAssaultMode.HEAP) : memoryModes;
+    }
+
+    @JsonIgnore
+    public boolean isBandwidthLimitsActive() {
+        return bandwidthActive && !CollectionUtils.isEmpty(bandwidthLimits);
+    }
+
+    @JsonIgnore
+    public boolean isRateLimitsActive() {
+        return !CollectionUtils.isEmpty(rateLimits);
+    }
+
     public AssaultPropertiesUpdate toDto() {
         ObjectMapper mapper = new ObjectMapper();
         return mapper.convertValue(this, AssaultPropertiesUpdate.class);
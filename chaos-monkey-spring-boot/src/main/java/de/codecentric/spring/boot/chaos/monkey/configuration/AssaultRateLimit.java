@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Limits how many request assaults are run per second, independent of the
+ * traffic. E.g. at most 50 latency assaults per second on repositories, or at
+ * most 5 exceptions per second per method.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssaultRateLimit {
+
+    /** The watcher the limit applies to, {@code null} for all watchers. */
+    @Nullable
+    private ChaosTarget target;
+
+    /**
+     * The assault the limit applies to, e.g. {@code latency} or
+     * {@code exception}, {@code null} for all assaults. Custom assaults are named
+     * by their class name without the {@code Assault} suffix.
+     */
+    @Nullable
+    private String assault;
+
+    /**
+     * Whether every method (or URL for the outgoing watchers) has its own limit,
+     * instead of sharing it with all others.
+     */
+    private boolean perMethod = false;
+
+    @DecimalMin(value = "0.0")
+    private double assaultsPerSecond = 1;
+
+    /** How many assaults may run at once after a quiet period. */
+    @Min(value = 1)
+    private int burst = 1;
+}
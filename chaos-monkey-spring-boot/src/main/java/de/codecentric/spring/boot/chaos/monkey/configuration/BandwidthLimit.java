@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+import javax.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Caps the throughput of the RestTemplate requests to the hosts matching a
+ * pattern, like a saturated uplink or a slow downstream service. All requests
+ * to the matching hosts share the bandwidth.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BandwidthLimit {
+
+    /**
+     * The hosts the limit applies to, {@code *} matches any characters, e.g.
+     * {@code *.example.com}. {@code null} for all hosts.
+     */
+    @Nullable
+    private String host;
+
+    /** Bandwidth of the response bodies, 0 means not limited. */
+    @Min(value = 0)
+    private long downloadBytesPerSecond = 0;
+
+    /** Bandwidth of the request bodies, 0 means not limited. */
+    @Min(value = 0)
+    private long uploadBytesPerSecond = 0;
+
+    /**
+     * How many bytes may pass without waiting after a quiet period. The response
+     * body is read in chunks of this size.
+     */
+    @Min(value = 1)
+    private int burstBytes = 8192;
+}
@@ -26,11 +26,13 @@ import de.codecentric.spring.boot.chaos.monkey.endpoints.ChaosMonkeyJmxEndpoint;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.ChaosMonkeyRestEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
@@ -49,7 +51,7 @@ import java.util.List;
 
 @Configuration
 @Conditional(ChaosMonkeyCondition.class)
-@EnableConfigurationProperties({ChaosMonkeyProperties.class, AssaultProperties.class, WatcherProperties.class})
+@EnableConfigurationProperties({ChaosMonkeyProperties.class, AssaultProperties.class, WatcherProperties.class, ChaosMonkeyMetricsProperties.class})
 @Import({UnleashChaosConfiguration.class, ChaosMonkeyWebClientConfiguration.class, ChaosMonkeyRestTemplateConfiguration.class,
         ChaosMonkeyAdvisorConfiguration.class})
 @EnableScheduling
@@ -65,11 +67,17 @@ public class ChaosMonkeyConfiguration {
 
     private final AssaultProperties assaultProperties;
 
+    private final ChaosMonkeyMetricsProperties metricsProperties;
+
+    private final ObjectProvider<ChaosMetricsRecorder> metricsRecorder;
+
     public ChaosMonkeyConfiguration(ChaosMonkeyProperties chaosMonkeyProperties, WatcherProperties watcherProperties,
-            AssaultProperties assaultProperties) {
+            AssaultProperties assaultProperties, ChaosMonkeyMetricsProperties metricsProperties, ObjectProvider<ChaosMetricsRecorder> metricsRecorder) {
         this.chaosMonkeyProperties = chaosMonkeyProperties;
         this.watcherProperties = watcherProperties;
         this.assaultProperties = assaultProperties;
+        this.metricsProperties = metricsProperties;
+        this.metricsRecorder = metricsRecorder;
 
         try {
             String chaosLogo = StreamUtils.copyToString(new ClassPathResource("chaos-logo.txt").getInputStream(), Charset.defaultCharset());
@@ -81,13 +89,19 @@ public class ChaosMonkeyConfiguration {
 
     @Bean
     @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnMissingBean(ChaosMetricsRecorder.class)
     public Metrics metrics() {
         return new Metrics();
     }
 
     @Bean
     public MetricEventPublisher publisher() {
-        return new MetricEventPublisher();
+        ChaosMetricsRecorder recorder = metricsRecorder.getIfAvailable();
+        ChaosMonkeyMetricsProperties.Async async = metricsProperties.getAsync();
+        if (recorder != null && async.isEnabled()) {
+            recorder = new AsyncChaosMetricsRecorder(recorder, async.getBufferSize(), async.getFlushIntervalMillis());
+        }
+        return new MetricEventPublisher(recorder, metricsProperties.isApplicationEvents());
     }
 
     @Bean
@@ -96,8 +110,21 @@ public class ChaosMonkeyConfiguration {
     }
 
     @Bean
-    public LatencyAssault latencyAssault() {
-        return new LatencyAssault(settings(), publisher());
+    @ConditionalOnMissingBean(ChaosMonkeyLatencyAssaultExecutor.class)
+    public ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor() {
+        return new ThreadAwareLatencyAssaultExecutor(settings(), publisher());
+    }
+
+    @Bean
+    @ConditionalOnClass(name = "org.HdrHistogram.ConcurrentHistogram")
+    public InjectedLatencyHistograms injectedLatencyHistograms() {
+        return new InjectedLatencyHistograms(metricsProperties.isInjectedLatencyPerMethod());
+    }
+
+    @Bean
+    public LatencyAssault latencyAssault(ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor,
+            ObjectProvider<InjectedLatencyHistograms> injectedLatencyHistograms) {
+        return new LatencyAssault(settings(), publisher(), latencyAssaultExecutor, injectedLatencyHistograms.getIfAvailable());
     }
 
     @Bean
@@ -105,6 +132,11 @@ public class ChaosMonkeyConfiguration {
         return new ExceptionAssault(settings(), publisher());
     }
 
+    @Bean
+    public LockContentionAssault lockContentionAssault() {
+        return new LockContentionAssault(settings(), publisher());
+    }
+
     @Bean
     public KillAppAssault killAppAssault() {
         return new KillAppAssault(settings(), publisher());
@@ -120,6 +152,31 @@ public class ChaosMonkeyConfiguration {
         return new CpuAssault(ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class), settings(), publisher());
     }
 
+    @Bean
+    public GcPressureAssault gcPressureAssault() {
+        return new GcPressureAssault(ManagementFactory.getGarbageCollectorMXBeans(), settings(), publisher());
+    }
+
+    @Bean
+    public ThreadPoolAssault threadPoolAssault(ApplicationContext applicationContext) {
+        return new ThreadPoolAssault(applicationContext, settings(), publisher());
+    }
+
+    @Bean
+    public DiskIoAssault diskIoAssault() {
+        return new DiskIoAssault(settings(), publisher());
+    }
+
+    @Bean
+    public FileDescriptorAssault fileDescriptorAssault() {
+        return new FileDescriptorAssault(ManagementFactory.getOperatingSystemMXBean(), settings(), publisher());
+    }
+
+    @Bean
+    public SafepointAssault safepointAssault() {
+        return new SafepointAssault(ManagementFactory.getThreadMXBean(), settings(), publisher());
+    }
+
     @Bean
     public ChaosMonkeyRequestScope chaosMonkeyRequestScope(List<ChaosMonkeyRequestAssault> chaosMonkeyAssaults, List<ChaosMonkeyAssault> allAssaults,
             ChaosToggles chaosToggles, ChaosToggleNameMapper chaosToggleNameMapper) {
@@ -159,8 +216,9 @@ public class ChaosMonkeyConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnAvailableEndpoint
-    public ChaosMonkeyRestEndpoint chaosMonkeyRestEndpoint(ChaosMonkeyRuntimeScope runtimeScope, ChaosMonkeyScheduler scheduler) {
-        return new ChaosMonkeyRestEndpoint(settings(), runtimeScope, scheduler);
+    public ChaosMonkeyRestEndpoint chaosMonkeyRestEndpoint(ChaosMonkeyRuntimeScope runtimeScope, ChaosMonkeyScheduler scheduler,
+            ObjectProvider<InjectedLatencyHistograms> injectedLatencyHistograms) {
+        return new ChaosMonkeyRestEndpoint(settings(), runtimeScope, scheduler, injectedLatencyHistograms.getIfAvailable());
     }
 
     @Bean
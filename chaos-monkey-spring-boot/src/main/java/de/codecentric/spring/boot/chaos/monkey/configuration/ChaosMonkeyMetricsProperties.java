@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "chaos.monkey.metrics")
+public class ChaosMonkeyMetricsProperties {
+
+    /**
+     * Whether every metric is also published as a
+     * {@link de.codecentric.spring.boot.chaos.monkey.events.MetricEvent}. Only
+     * needed if you listen to these events yourself, the metrics are recorded
+     * without them.
+     */
+    private boolean applicationEvents = false;
+
+    /**
+     * Whether the latency added by the latency assault is also recorded per
+     * watched method, not only per kind of target.
+     */
+    private boolean injectedLatencyPerMethod = false;
+
+    private Async async = new Async();
+
+    @Data
+    @NoArgsConstructor
+    public static class Async {
+
+        /**
+         * Whether metrics are recorded by a background thread, so the request
+         * threads only put them into a buffer.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of buffered metrics, rounded up to the next power of two. Metrics
+         * are dropped if the buffer is full.
+         */
+        private int bufferSize = 8192;
+
+        /** How long the background thread waits if the buffer is empty. */
+        private long flushIntervalMillis = 100;
+    }
+}
@@ -15,7 +15,10 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.configuration;
 
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyLatencyAssaultExecutor;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.BandwidthThrottle;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyRestTemplateCustomizer;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyRestTemplatePostProcessor;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyRestTemplateWatcher;
@@ -41,10 +44,17 @@ class ChaosMonkeyRestTemplateConfiguration {
         return new ChaosMonkeyRestTemplateCustomizer(chaosMonkeyRestTemplateWatcher);
     }
 
+    @Bean
+    public BandwidthThrottle bandwidthThrottle(final ChaosMonkeySettings settings, final MetricEventPublisher publisher) {
+        return new BandwidthThrottle(settings, publisher);
+    }
+
     @Bean
     @DependsOn("chaosMonkeyRequestScope")
     public ChaosMonkeyRestTemplateWatcher chaosMonkeyRestTemplateInterceptor(final ChaosMonkeyRequestScope chaosMonkeyRequestScope,
-            final WatcherProperties watcherProperties, final AssaultProperties assaultProperties) {
-        return new ChaosMonkeyRestTemplateWatcher(chaosMonkeyRequestScope, watcherProperties, assaultProperties);
+            final WatcherProperties watcherProperties, final AssaultProperties assaultProperties,
+            final ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor, final BandwidthThrottle bandwidthThrottle) {
+        return new ChaosMonkeyRestTemplateWatcher(chaosMonkeyRequestScope, watcherProperties, assaultProperties, latencyAssaultExecutor,
+                bandwidthThrottle);
     }
 }
@@ -15,7 +15,9 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.configuration;
 
+import de.codecentric.spring.boot.chaos.monkey.assaults.ResponseBodyAssault;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyWebClientCustomizer;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyWebClientPostProcessor;
 import de.codecentric.spring.boot.chaos.monkey.watcher.outgoing.ChaosMonkeyWebClientWatcher;
@@ -41,6 +43,11 @@ class ChaosMonkeyWebClientConfiguration {
         return new ChaosMonkeyWebClientCustomizer(chaosMonkeyWebClientWatcher);
     }
 
+    @Bean
+    public ResponseBodyAssault responseBodyAssault(final ChaosMonkeySettings settings, final MetricEventPublisher publisher) {
+        return new ResponseBodyAssault(settings, publisher);
+    }
+
     @Bean
     @DependsOn("chaosMonkeyRequestScope")
     public ChaosMonkeyWebClientWatcher chaosMonkeyWebClientWatcher(final ChaosMonkeyRequestScope chaosMonkeyRequestScope,
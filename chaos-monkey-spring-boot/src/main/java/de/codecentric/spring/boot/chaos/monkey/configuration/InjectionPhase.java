@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+/** When an outgoing request watcher runs the assaults. */
+public enum InjectionPhase {
+    /**
+     * Before the request is sent. Latency delays the request before it takes a
+     * connection, an exception is answered with an error response and the
+     * request is not sent.
+     */
+    BEFORE_SEND,
+    /**
+     * After the response has been received, so the downstream service has already
+     * handled the request.
+     */
+    AFTER_RESPONSE,
+    /**
+     * An attacked request is never sent. An exception is answered with an error
+     * response, latency is waited for and answered with a gateway timeout, like
+     * a downstream service that doesn't respond.
+     */
+    SHORT_CIRCUIT
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+/**
+ * The distributions the latency assault draws the latency from. All of them are
+ * limited to the range between latencyRangeStart and latencyRangeEnd.
+ */
+public enum LatencyDistribution {
+    /** Always latencyRangeStart. */
+    FIXED,
+    /** Evenly distributed between latencyRangeStart and latencyRangeEnd. */
+    UNIFORM,
+    /** Normally distributed with latencyMean and latencyStandardDeviation. */
+    NORMAL,
+    /**
+     * Log-normally distributed with latencyMean and latencyStandardDeviation, a
+     * long tail to the right.
+     */
+    LOG_NORMAL,
+    /**
+     * Pareto distributed with latencyRangeStart as minimum and
+     * latencyParetoShape, the smaller the shape, the heavier the tail.
+     */
+    PARETO,
+    /**
+     * Replays the distribution recorded in the HdrHistogram log
+     * latencyHistogramFile.
+     */
+    EMPIRICAL
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+/** The kinds of memory the memory assault fills up. */
+public enum MemoryAssaultMode {
+    /** The Java heap, up to a fraction of the maximum heap size. */
+    HEAP,
+    /**
+     * Direct byte buffers, like the ones used by Netty, up to a fraction of
+     * MaxDirectMemorySize.
+     */
+    DIRECT,
+    /**
+     * Memory mapped temporary files with every page touched, which raises the
+     * resident set size of the process up to a fraction of the physical (or
+     * container) memory.
+     */
+    MAPPED,
+    /**
+     * Generated classes, up to a fraction of MaxMetaspaceSize. Only available if
+     * MaxMetaspaceSize is set.
+     */
+    METASPACE
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.configuration;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * Selects the outgoing requests of the RestTemplate and WebClient watchers that
+ * are attacked. A request is selected if it matches all of the set criteria.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchedOutgoingRequest {
+
+    /**
+     * The host, e.g. {@code api.example.com}. A {@code *} label matches one label,
+     * a {@code **} label any number of labels, e.g. {@code **.example.com}.
+     * {@code null} for all hosts.
+     */
+    @Nullable
+    private String host;
+
+    /**
+     * The path template, e.g. {@code /orders/{id}/items}. A {@code *} or
+     * {@code {name}} segment matches one segment, a {@code **} segment any number
+     * of segments. {@code null} for all paths.
+     */
+    @Nullable
+    private String path;
+
+    /** The HTTP methods, {@code null} or empty for all methods. */
+    @Nullable
+    private List<HttpMethod> methods;
+
+    /**
+     * The headers the request must have, by name. A header value of {@code *}
+     * only requires the header to be present.
+     */
+    @Nullable
+    private Map<String, String> headers;
+}
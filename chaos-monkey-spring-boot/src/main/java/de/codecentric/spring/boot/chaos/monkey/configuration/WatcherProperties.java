@@ -39,6 +39,8 @@ public class WatcherProperties {
 
     private boolean restTemplate = false;
 
+    private InjectionPhase restTemplateInjectionPhase = InjectionPhase.AFTER_RESPONSE;
+
     private boolean webClient = false;
 
     private boolean actuatorHealth = false;
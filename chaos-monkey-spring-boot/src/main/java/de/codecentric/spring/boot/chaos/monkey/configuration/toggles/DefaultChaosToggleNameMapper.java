@@ -16,20 +16,32 @@
 package de.codecentric.spring.boot.chaos.monkey.configuration.toggles;
 
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import java.util.EnumMap;
+import java.util.Map;
 
 public class DefaultChaosToggleNameMapper implements ChaosToggleNameMapper {
     protected final String togglePrefix;
 
+    // toggle names only depend on the type, so they are built once instead of on
+    // every watched call
+    private final Map<ChaosTarget, String> toggleNames = new EnumMap<>(ChaosTarget.class);
+
+    private final String unknownToggleName;
+
     public DefaultChaosToggleNameMapper(String togglePrefix) {
         this.togglePrefix = togglePrefix;
+        this.unknownToggleName = togglePrefix + ".unknown";
+        for (ChaosTarget target : ChaosTarget.values()) {
+            toggleNames.put(target, togglePrefix + "." + target.getName());
+        }
     }
 
     @Override
     public String mapName(ChaosTarget type, String name) {
         if (type == null) {
-            return togglePrefix + ".unknown";
+            return unknownToggleName;
         }
 
-        return togglePrefix + "." + type.getName();
+        return toggleNames.get(type);
     }
 }
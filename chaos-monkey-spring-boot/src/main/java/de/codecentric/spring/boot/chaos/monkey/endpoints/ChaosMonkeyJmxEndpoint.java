@@ -61,6 +61,54 @@ public class ChaosMonkeyJmxEndpoint extends BaseChaosMonkeyEndpoint {
         return String.valueOf(this.getAssaultProperties().getCpuActive());
     }
 
+    @WriteOperation
+    public String toggleGcPressureAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setGcPressureActive(!this.getAssaultProperties().getGcPressureActive());
+        return String.valueOf(this.getAssaultProperties().getGcPressureActive());
+    }
+
+    @WriteOperation
+    public String toggleLockContentionAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setLockContentionActive(!this.getAssaultProperties().getLockContentionActive());
+        return String.valueOf(this.getAssaultProperties().getLockContentionActive());
+    }
+
+    @WriteOperation
+    public String toggleBandwidthAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setBandwidthActive(!this.getAssaultProperties().getBandwidthActive());
+        return String.valueOf(this.getAssaultProperties().getBandwidthActive());
+    }
+
+    @WriteOperation
+    public String toggleResponseBodyAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setResponseBodyActive(!this.getAssaultProperties().getResponseBodyActive());
+        return String.valueOf(this.getAssaultProperties().getResponseBodyActive());
+    }
+
+    @WriteOperation
+    public String toggleThreadPoolAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setThreadPoolActive(!this.getAssaultProperties().getThreadPoolActive());
+        return String.valueOf(this.getAssaultProperties().getThreadPoolActive());
+    }
+
+    @WriteOperation
+    public String toggleDiskIoAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setDiskIoActive(!this.getAssaultProperties().getDiskIoActive());
+        return String.valueOf(this.getAssaultProperties().getDiskIoActive());
+    }
+
+    @WriteOperation
+    public String toggleFileDescriptorAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setFileDescriptorActive(!this.getAssaultProperties().getFileDescriptorActive());
+        return String.valueOf(this.getAssaultProperties().getFileDescriptorActive());
+    }
+
+    @WriteOperation
+    public String toggleSafepointAssault() {
+        this.chaosMonkeySettings.getAssaultProperties().setSafepointActive(!this.getAssaultProperties().getSafepointActive());
+        return String.valueOf(this.getAssaultProperties().getSafepointActive());
+    }
+
     @ReadOperation()
     public String isChaosMonkeyActive() {
         return String.valueOf(this.chaosMonkeySettings.getChaosMonkeyProperties().isEnabled());
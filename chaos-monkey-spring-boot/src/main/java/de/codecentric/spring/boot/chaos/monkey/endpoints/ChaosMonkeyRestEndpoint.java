@@ -17,13 +17,16 @@ package de.codecentric.spring.boot.chaos.monkey.endpoints;
 
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRuntimeScope;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyScheduler;
+import de.codecentric.spring.boot.chaos.monkey.component.InjectedLatencyHistograms;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.AssaultPropertiesUpdate;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.ChaosMonkeySettingsDto;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.ChaosMonkeyStatusResponseDto;
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.WatcherPropertiesUpdate;
 import org.springframework.boot.actuate.endpoint.web.annotation.RestControllerEndpoint;
+import org.springframework.lang.Nullable;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -37,10 +40,19 @@ public class ChaosMonkeyRestEndpoint extends BaseChaosMonkeyEndpoint {
 
     private final ChaosMonkeyScheduler scheduler;
 
-    public ChaosMonkeyRestEndpoint(ChaosMonkeySettings chaosMonkeySettings, ChaosMonkeyRuntimeScope runtimeScope, ChaosMonkeyScheduler scheduler) {
+    @Nullable
+    private final InjectedLatencyHistograms injectedLatencyHistograms;
+
+    public ChaosMonkeyRestEndpoint(ChaosMonkeySettings chaosMonkeySettings, ChaosMonkeyRuntimeScope runtimeScope, ChaosMonkeyScheduler scheduler,
+            @Nullable InjectedLatencyHistograms injectedLatencyHistograms) {
         super(chaosMonkeySettings);
         this.runtimeScope = runtimeScope;
         this.scheduler = scheduler;
+        this.injectedLatencyHistograms = injectedLatencyHistograms;
+    }
+
+    public ChaosMonkeyRestEndpoint(ChaosMonkeySettings chaosMonkeySettings, ChaosMonkeyRuntimeScope runtimeScope, ChaosMonkeyScheduler scheduler) {
+        this(chaosMonkeySettings, runtimeScope, scheduler, null);
     }
 
     @PostMapping("/assaults")
@@ -58,6 +70,21 @@ public class ChaosMonkeyRestEndpoint extends BaseChaosMonkeyEndpoint {
         return "Started runtime assaults";
     }
 
+    @GetMapping("/assaults/latency/histogram")
+    public InjectedLatencyDto getInjectedLatency() {
+        // without HdrHistogram nothing is recorded
+        return injectedLatencyHistograms != null ? injectedLatencyHistograms.snapshot() : new InjectedLatencyDto();
+    }
+
+    @PostMapping("/assaults/latency/histogram/reset")
+    @ResponseBody
+    public String resetInjectedLatency() {
+        if (injectedLatencyHistograms != null) {
+            injectedLatencyHistograms.reset();
+        }
+        return "Injected latency histograms have been reset";
+    }
+
     @GetMapping("/assaults")
     @Override
     public AssaultPropertiesUpdate getAssaultProperties() {
@@ -18,10 +18,18 @@ package de.codecentric.spring.boot.chaos.monkey.endpoints.dto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultException;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultRateLimit;
+import de.codecentric.spring.boot.chaos.monkey.configuration.BandwidthLimit;
+import de.codecentric.spring.boot.chaos.monkey.configuration.FileDescriptorAssaultMode;
+import de.codecentric.spring.boot.chaos.monkey.configuration.LatencyDistribution;
+import de.codecentric.spring.boot.chaos.monkey.configuration.MemoryAssaultMode;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatchedOutgoingRequest;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.validation.AssaultExceptionConstraint;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.validation.AssaultPropertiesUpdateLatencyRangeConstraint;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import javax.validation.Valid;
 import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Max;
@@ -63,6 +71,73 @@ public class AssaultPropertiesUpdate {
     @Nullable
     private Boolean latencyActive;
 
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer latencyMaxBlockedThreads;
+
+    @Nullable
+    private LatencyDistribution latencyDistribution;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer latencyMean;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer latencyStandardDeviation;
+
+    @Nullable
+    @DecimalMin("0.1")
+    @DecimalMax("100.0")
+    private Double latencyParetoShape;
+
+    @Nullable
+    private String latencyHistogramFile;
+
+    @Nullable
+    private TimeUnit latencyHistogramUnit;
+
+    @Nullable
+    private Boolean lockContentionActive;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = 65536)
+    private Integer lockContentionStripes;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer lockContentionMillisecondsHold;
+
+    @Nullable
+    private Boolean responseBodyActive;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer responseBodyBytesPerSecond;
+
+    @Nullable
+    @Min(value = -1)
+    @Max(value = Long.MAX_VALUE)
+    private Long responseBodyTruncateAfterBytes;
+
+    @Nullable
+    @Min(value = -1)
+    @Max(value = Long.MAX_VALUE)
+    private Long responseBodyErrorAfterBytes;
+
+    @Nullable
+    private Boolean bandwidthActive;
+
+    @Nullable
+    @Valid
+    private List<BandwidthLimit> bandwidthLimits;
+
     @Nullable
     private Boolean exceptionsActive;
 
@@ -101,6 +176,72 @@ public class AssaultPropertiesUpdate {
     @Nullable
     private String memoryCronExpression;
 
+    @Nullable
+    private List<MemoryAssaultMode> memoryModes;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer directMemoryMillisecondsHoldFilledMemory;
+
+    @Nullable
+    @Min(value = 100)
+    @Max(value = 30000)
+    private Integer directMemoryMillisecondsWaitNextIncrease;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    private Double directMemoryFillIncrementFraction;
+
+    @Nullable
+    @DecimalMax("0.95")
+    @DecimalMin("0.05")
+    private Double directMemoryFillTargetFraction;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer mappedMemoryMillisecondsHoldFilledMemory;
+
+    @Nullable
+    @Min(value = 100)
+    @Max(value = 30000)
+    private Integer mappedMemoryMillisecondsWaitNextIncrease;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    private Double mappedMemoryFillIncrementFraction;
+
+    @Nullable
+    @DecimalMax("0.95")
+    @DecimalMin("0.05")
+    private Double mappedMemoryFillTargetFraction;
+
+    @Nullable
+    private String mappedMemoryDirectory;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer metaspaceMillisecondsHoldFilledMemory;
+
+    @Nullable
+    @Min(value = 100)
+    @Max(value = 30000)
+    private Integer metaspaceMillisecondsWaitNextIncrease;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    private Double metaspaceFillIncrementFraction;
+
+    @Nullable
+    @DecimalMax("0.95")
+    @DecimalMin("0.05")
+    private Double metaspaceFillTargetFraction;
+
     @Nullable
     private Boolean cpuActive;
 
@@ -117,10 +258,173 @@ public class AssaultPropertiesUpdate {
     @Nullable
     private String cpuCronExpression;
 
+    @Nullable
+    private Boolean gcPressureActive;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer gcPressureMillisecondsHoldLoad;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = 65536)
+    private Integer gcPressureAllocationRateMegabytesPerSecond;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = 256)
+    private Integer gcPressureThreads;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer gcPressureObjectSizeMinBytes;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer gcPressureObjectSizeMaxBytes;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    private Double gcPressureSurvivorFraction;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer gcPressureSurvivorMillisecondsRetain;
+
+    @Nullable
+    private String gcPressureCronExpression;
+
+    @Nullable
+    private Boolean threadPoolActive;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer threadPoolMillisecondsHoldFilledPools;
+
+    @Nullable
+    @Min(value = 100)
+    @Max(value = 30000)
+    private Integer threadPoolMillisecondsWaitNextIncrease;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.01")
+    private Double threadPoolFillIncrementFraction;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.01")
+    private Double threadPoolFillTargetFraction;
+
+    @Nullable
+    private List<String> threadPoolBeans;
+
+    @Nullable
+    private String threadPoolCronExpression;
+
+    @Nullable
+    private Boolean diskIoActive;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer diskIoMillisecondsHoldLoad;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = 65536)
+    private Integer diskIoThroughputMegabytesPerSecond;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.0")
+    private Double diskIoReadFraction;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer diskIoWritesPerFsync;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = 1048576)
+    private Integer diskIoFileSizeMegabytes;
+
+    @Nullable
+    private String diskIoDirectory;
+
+    @Nullable
+    private String diskIoCronExpression;
+
+    @Nullable
+    private Boolean fileDescriptorActive;
+
+    @Nullable
+    private FileDescriptorAssaultMode fileDescriptorMode;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer fileDescriptorMillisecondsHoldFilled;
+
+    @Nullable
+    @Min(value = 100)
+    @Max(value = 30000)
+    private Integer fileDescriptorMillisecondsWaitNextIncrease;
+
+    @Nullable
+    @DecimalMax("1.0")
+    @DecimalMin("0.01")
+    private Double fileDescriptorFillIncrementFraction;
+
+    @Nullable
+    @DecimalMax("0.95")
+    @DecimalMin("0.01")
+    private Double fileDescriptorFillTargetFraction;
+
+    @Nullable
+    private String fileDescriptorCronExpression;
+
+    @Nullable
+    private Boolean safepointActive;
+
+    @Nullable
+    @Min(value = 1500)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer safepointMillisecondsHoldLoad;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = 60000)
+    private Integer safepointMillisecondsInterval;
+
+    @Nullable
+    @Min(value = 0)
+    @Max(value = 256)
+    private Integer safepointCountedLoopThreads;
+
+    @Nullable
+    @Min(value = 1)
+    @Max(value = Integer.MAX_VALUE)
+    private Integer safepointCountedLoopIterations;
+
+    @Nullable
+    private String safepointCronExpression;
+
     /**
      * @deprecated please use {@link #killApplicationCronExpression},
-     *             {@link #memoryCronExpression} or {@link #cpuCronExpression}
-     *             instead
+     *             {@link #memoryCronExpression}, {@link #cpuCronExpression},
+     *             {@link #gcPressureCronExpression},
+     *             {@link #threadPoolCronExpression},
+     *             {@link #diskIoCronExpression},
+     *             {@link #fileDescriptorCronExpression} or
+     *             {@link #safepointCronExpression} instead
      */
     @Deprecated
     @Nullable
@@ -129,6 +433,13 @@ public class AssaultPropertiesUpdate {
     @Nullable
     private List<String> watchedCustomServices;
 
+    @Nullable
+    private List<WatchedOutgoingRequest> watchedOutgoingRequests;
+
+    @Nullable
+    @Valid
+    private List<AssaultRateLimit> rateLimits;
+
     private <T> void applyTo(T value, Consumer<T> setter) {
         if (value != null) {
             setter.accept(value);
@@ -141,6 +452,25 @@ public class AssaultPropertiesUpdate {
         applyTo(latencyActive, t::setLatencyActive);
         applyTo(latencyRangeStart, t::setLatencyRangeStart);
         applyTo(latencyRangeEnd, t::setLatencyRangeEnd);
+        applyTo(latencyMaxBlockedThreads, t::setLatencyMaxBlockedThreads);
+        applyTo(latencyDistribution, t::setLatencyDistribution);
+        applyTo(latencyMean, t::setLatencyMean);
+        applyTo(latencyStandardDeviation, t::setLatencyStandardDeviation);
+        applyTo(latencyParetoShape, t::setLatencyParetoShape);
+        applyTo(latencyHistogramFile, t::setLatencyHistogramFile);
+        applyTo(latencyHistogramUnit, t::setLatencyHistogramUnit);
+
+        applyTo(lockContentionActive, t::setLockContentionActive);
+        applyTo(lockContentionStripes, t::setLockContentionStripes);
+        applyTo(lockContentionMillisecondsHold, t::setLockContentionMillisecondsHold);
+
+        applyTo(responseBodyActive, t::setResponseBodyActive);
+        applyTo(responseBodyBytesPerSecond, t::setResponseBodyBytesPerSecond);
+        applyTo(responseBodyTruncateAfterBytes, t::setResponseBodyTruncateAfterBytes);
+        applyTo(responseBodyErrorAfterBytes, t::setResponseBodyErrorAfterBytes);
+
+        applyTo(bandwidthActive, t::setBandwidthActive);
+        applyTo(bandwidthLimits, t::setBandwidthLimits);
 
         applyTo(exceptionsActive, t::setExceptionsActive);
         applyTo(exception, t::setException);
@@ -154,13 +484,71 @@ public class AssaultPropertiesUpdate {
         applyTo(memoryFillIncrementFraction, t::setMemoryFillIncrementFraction);
         applyTo(memoryFillTargetFraction, t::setMemoryFillTargetFraction);
         applyTo(memoryCronExpression, t::setMemoryCronExpression);
+        applyTo(memoryModes, t::setMemoryModes);
+        applyTo(directMemoryMillisecondsHoldFilledMemory, t::setDirectMemoryMillisecondsHoldFilledMemory);
+        applyTo(directMemoryMillisecondsWaitNextIncrease, t::setDirectMemoryMillisecondsWaitNextIncrease);
+        applyTo(directMemoryFillIncrementFraction, t::setDirectMemoryFillIncrementFraction);
+        applyTo(directMemoryFillTargetFraction, t::setDirectMemoryFillTargetFraction);
+        applyTo(mappedMemoryMillisecondsHoldFilledMemory, t::setMappedMemoryMillisecondsHoldFilledMemory);
+        applyTo(mappedMemoryMillisecondsWaitNextIncrease, t::setMappedMemoryMillisecondsWaitNextIncrease);
+        applyTo(mappedMemoryFillIncrementFraction, t::setMappedMemoryFillIncrementFraction);
+        applyTo(mappedMemoryFillTargetFraction, t::setMappedMemoryFillTargetFraction);
+        applyTo(mappedMemoryDirectory, t::setMappedMemoryDirectory);
+        applyTo(metaspaceMillisecondsHoldFilledMemory, t::setMetaspaceMillisecondsHoldFilledMemory);
+        applyTo(metaspaceMillisecondsWaitNextIncrease, t::setMetaspaceMillisecondsWaitNextIncrease);
+        applyTo(metaspaceFillIncrementFraction, t::setMetaspaceFillIncrementFraction);
+        applyTo(metaspaceFillTargetFraction, t::setMetaspaceFillTargetFraction);
 
         applyTo(cpuActive, t::setCpuActive);
         applyTo(cpuMillisecondsHoldLoad, t::setCpuMillisecondsHoldLoad);
         applyTo(cpuLoadTargetFraction, t::setCpuLoadTargetFraction);
         applyTo(cpuCronExpression, t::setCpuCronExpression);
 
+        applyTo(gcPressureActive, t::setGcPressureActive);
+        applyTo(gcPressureMillisecondsHoldLoad, t::setGcPressureMillisecondsHoldLoad);
+        applyTo(gcPressureAllocationRateMegabytesPerSecond, t::setGcPressureAllocationRateMegabytesPerSecond);
+        applyTo(gcPressureThreads, t::setGcPressureThreads);
+        applyTo(gcPressureObjectSizeMinBytes, t::setGcPressureObjectSizeMinBytes);
+        applyTo(gcPressureObjectSizeMaxBytes, t::setGcPressureObjectSizeMaxBytes);
+        applyTo(gcPressureSurvivorFraction, t::setGcPressureSurvivorFraction);
+        applyTo(gcPressureSurvivorMillisecondsRetain, t::setGcPressureSurvivorMillisecondsRetain);
+        applyTo(gcPressureCronExpression, t::setGcPressureCronExpression);
+
+        applyTo(threadPoolActive, t::setThreadPoolActive);
+        applyTo(threadPoolMillisecondsHoldFilledPools, t::setThreadPoolMillisecondsHoldFilledPools);
+        applyTo(threadPoolMillisecondsWaitNextIncrease, t::setThreadPoolMillisecondsWaitNextIncrease);
+        applyTo(threadPoolFillIncrementFraction, t::setThreadPoolFillIncrementFraction);
+        applyTo(threadPoolFillTargetFraction, t::setThreadPoolFillTargetFraction);
+        applyTo(threadPoolBeans, t::setThreadPoolBeans);
+        applyTo(threadPoolCronExpression, t::setThreadPoolCronExpression);
+
+        applyTo(diskIoActive, t::setDiskIoActive);
+        applyTo(diskIoMillisecondsHoldLoad, t::setDiskIoMillisecondsHoldLoad);
+        applyTo(diskIoThroughputMegabytesPerSecond, t::setDiskIoThroughputMegabytesPerSecond);
+        applyTo(diskIoReadFraction, t::setDiskIoReadFraction);
+        applyTo(diskIoWritesPerFsync, t::setDiskIoWritesPerFsync);
+        applyTo(diskIoFileSizeMegabytes, t::setDiskIoFileSizeMegabytes);
+        applyTo(diskIoDirectory, t::setDiskIoDirectory);
+        applyTo(diskIoCronExpression, t::setDiskIoCronExpression);
+
+        applyTo(fileDescriptorActive, t::setFileDescriptorActive);
+        applyTo(fileDescriptorMode, t::setFileDescriptorMode);
+        applyTo(fileDescriptorMillisecondsHoldFilled, t::setFileDescriptorMillisecondsHoldFilled);
+        applyTo(fileDescriptorMillisecondsWaitNextIncrease, t::setFileDescriptorMillisecondsWaitNextIncrease);
+        applyTo(fileDescriptorFillIncrementFraction, t::setFileDescriptorFillIncrementFraction);
+        applyTo(fileDescriptorFillTargetFraction, t::setFileDescriptorFillTargetFraction);
+        applyTo(fileDescriptorCronExpression, t::setFileDescriptorCronExpression);
+
+        applyTo(safepointActive, t::setSafepointActive);
+        applyTo(safepointMillisecondsHoldLoad, t::setSafepointMillisecondsHoldLoad);
+        applyTo(safepointMillisecondsInterval, t::setSafepointMillisecondsInterval);
+        applyTo(safepointCountedLoopThreads, t::setSafepointCountedLoopThreads);
+        applyTo(safepointCountedLoopIterations, t::setSafepointCountedLoopIterations);
+        applyTo(safepointCronExpression, t::setSafepointCronExpression);
+
         applyTo(runtimeAssaultCronExpression, t::setRuntimeAssaultCronExpression);
         applyTo(watchedCustomServices, t::setWatchedCustomServices);
+        applyTo(watchedOutgoingRequests, t::setWatchedOutgoingRequests);
+        applyTo(rateLimits, t::setRateLimits);
     }
 }
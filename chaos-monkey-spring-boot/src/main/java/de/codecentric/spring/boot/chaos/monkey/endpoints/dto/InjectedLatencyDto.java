@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.endpoints.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Percentiles of the latency added by the latency assault in milliseconds. */
+@Data
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class InjectedLatencyDto {
+
+    private Percentiles total;
+
+    /** by the name of the {@link de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget} */
+    private Map<String, Percentiles> targets = new LinkedHashMap<>();
+
+    /** by signature, only if recorded per method */
+    private Map<String, Percentiles> methods;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Percentiles {
+
+        private long count;
+        private long p50;
+        private long p99;
+        private long p999;
+        private long max;
+    }
+}
@@ -16,6 +16,7 @@
 package de.codecentric.spring.boot.chaos.monkey.endpoints.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import de.codecentric.spring.boot.chaos.monkey.configuration.InjectionPhase;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import java.util.List;
 import java.util.function.Consumer;
@@ -46,6 +47,9 @@ public class WatcherPropertiesUpdate {
     @Nullable
     private Boolean restTemplate;
 
+    @Nullable
+    private InjectionPhase restTemplateInjectionPhase;
+
     @Nullable
     private Boolean webClient;
 
@@ -68,6 +72,7 @@ public class WatcherPropertiesUpdate {
         applyTo(repository, t::setRepository);
         applyTo(component, t::setComponent);
         applyTo(restTemplate, t::setRestTemplate);
+        applyTo(restTemplateInjectionPhase, t::setRestTemplateInjectionPhase);
         applyTo(webClient, t::setWebClient);
         applyTo(actuatorHealth, t::setActuatorHealth);
         applyTo(beans, t::setBeans);
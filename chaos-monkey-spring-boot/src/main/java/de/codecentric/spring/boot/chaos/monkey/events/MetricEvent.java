@@ -48,7 +48,7 @@ public class MetricEvent extends ApplicationEvent {
     }
 
     public MetricEvent(Object source, MetricType metricType, String... tags) {
-        this(source, metricType, -1, null);
+        this(source, metricType, -1, null, tags);
     }
 
     public MetricEvent(Object source, MetricType metricType, long metricValue, String methodSignature, String... tags) {
@@ -15,30 +15,68 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
 
-import lombok.val;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 
 public abstract class AbstractChaosMonkeyAdvice implements MethodInterceptor {
 
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono", AbstractChaosMonkeyAdvice.class.getClassLoader());
+
+    private final Map<Method, WatchedMethod> watchedMethods = new ConcurrentHashMap<>();
+
     @Override
     public final Object invoke(MethodInvocation invocation) throws Throwable {
-        // this cast should always succeed within spring
-        val pjp = new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation);
-        return invoke(pjp);
+        // everything derived from the method is computed once, so a watched call
+        // costs a single map lookup
+        WatchedMethod watchedMethod = watchedMethods.get(invocation.getMethod());
+        if (watchedMethod == null) {
+            watchedMethod = watchedMethods.computeIfAbsent(invocation.getMethod(), method -> createWatchedMethod(invocation));
+        }
+        return invoke(invocation, watchedMethod);
     }
 
-    protected abstract Object invoke(ProceedingJoinPoint pjp) throws Throwable;
+    protected abstract Object invoke(MethodInvocation invocation, WatchedMethod watchedMethod) throws Throwable;
 
     protected String calculatePointcut(String target) {
         return target.replaceAll("\\(\\)", "").replaceAll("\\)", "").replaceAll("\\(", ".");
     }
 
-    protected String createSignature(MethodSignature signature) {
-        return signature.getDeclaringTypeName() + "." + signature.getMethod().getName();
+    protected String createSignature(Method method) {
+        return method.getDeclaringClass().getName() + "." + method.getName();
+    }
+
+    /**
+     * @return the toggle name of a watched method, null if none is checked.
+     *         Called on the first enabled call of the method.
+     */
+    @Nullable
+    protected String mapToggleName(String signature) {
+        return null;
+    }
+
+    /**
+     * @return what records a call of a watched method, null if nothing does.
+     *         Called on the first enabled call of the method.
+     */
+    @Nullable
+    protected Runnable createCallRecorder(String pointcut) {
+        return null;
+    }
+
+    private WatchedMethod createWatchedMethod(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        // this cast should always succeed within spring
+        String shortString = new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation).toShortString();
+        boolean reactive = REACTOR_PRESENT && ReactiveDelay.isReactive(method.getReturnType());
+        String signature = createSignature(method);
+        String pointcut = calculatePointcut(shortString);
+        return new WatchedMethod(signature, pointcut, reactive, this::mapToggleName, this::createCallRecorder);
     }
 }
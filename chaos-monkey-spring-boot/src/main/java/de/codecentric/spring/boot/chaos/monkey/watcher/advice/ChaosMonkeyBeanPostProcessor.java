@@ -22,6 +22,7 @@ import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import de.codecentric.spring.boot.chaos.monkey.watcher.advice.filter.SpringHookMethodsFilter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
 import org.springframework.aop.support.ComposablePointcut;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
@@ -39,7 +40,7 @@ public class ChaosMonkeyBeanPostProcessor extends AbstractAdvisingBeanPostProces
             MetricEventPublisher eventPublisher) {
         this.watcherProperties = watcherProperties;
         val advice = new ChaosMonkeyDefaultAdvice(requestScope, eventPublisher, ChaosTarget.BEAN,
-                (pjp) -> watcherProperties.getBeans().contains(activeBeanNameCache.get(pjp.getThis())));
+                (invocation) -> watcherProperties.getBeans().contains(activeBeanNameCache.get(((ProxyMethodInvocation) invocation).getProxy())));
         this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(SpringHookMethodsFilter.INSTANCE), advice);
     }
 
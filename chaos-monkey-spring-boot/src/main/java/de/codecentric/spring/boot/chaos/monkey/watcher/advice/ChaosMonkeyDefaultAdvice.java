@@ -18,10 +18,10 @@ package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.reflect.MethodSignature;
+import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.lang.Nullable;
 
 import java.util.Locale;
@@ -38,26 +38,43 @@ public class ChaosMonkeyDefaultAdvice extends AbstractChaosMonkeyAdvice {
 
     private final ChaosTarget target;
 
-    private final Predicate<ProceedingJoinPoint> isEnabled;
+    private final Predicate<MethodInvocation> isEnabled;
 
     public ChaosMonkeyDefaultAdvice(ChaosMonkeyRequestScope chaosMonkeyRequestScope, @Nullable MetricEventPublisher metricEventPublisher,
             ChaosTarget target, BooleanSupplier isEnabled) {
-        this(chaosMonkeyRequestScope, metricEventPublisher, target, (pjp) -> isEnabled.getAsBoolean());
+        this(chaosMonkeyRequestScope, metricEventPublisher, target, (invocation) -> isEnabled.getAsBoolean());
     }
 
     @Override
-    public Object invoke(ProceedingJoinPoint pjp) throws Throwable {
-        if (isEnabled.test(pjp)) {
-            log.debug("Watching public method on {} class: {}", target.getName().toLowerCase(Locale.ROOT), pjp.getSignature());
+    protected String mapToggleName(String signature) {
+        return chaosMonkeyRequestScope.mapToggleName(target, signature);
+    }
+
+    @Override
+    @Nullable
+    protected Runnable createCallRecorder(String pointcut) {
+        return metricEventPublisher != null ? metricEventPublisher.watchedCallPublisher(pointcut, target.getMetricType()) : null;
+    }
 
-            if (metricEventPublisher != null) {
-                metricEventPublisher.publishMetricEvent(calculatePointcut(pjp.toShortString()), target.getMetricType());
+    @Override
+    protected Object invoke(MethodInvocation invocation, WatchedMethod watchedMethod) throws Throwable {
+        if (isEnabled.test(invocation)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Watching public method on {} class: {}", target.getName().toLowerCase(Locale.ROOT), invocation.getMethod());
             }
 
-            MethodSignature signature = (MethodSignature) pjp.getSignature();
+            watchedMethod.recordCall();
+
+            if (watchedMethod.isReactive()) {
+                // reactive handlers run on the event loop, so a latency assault must
+                // delay the returned publisher instead of blocking the thread
+                ResponseAttack attack = chaosMonkeyRequestScope.callChaosMonkeyNonBlocking(target, watchedMethod.getSignature(), watchedMethod.getToggleName());
+                Object result = invocation.proceed();
+                return attack.getDelay() > 0 ? ReactiveDelay.delay(result, attack) : result;
+            }
 
-            chaosMonkeyRequestScope.callChaosMonkey(target, createSignature(signature));
+            chaosMonkeyRequestScope.callChaosMonkey(target, watchedMethod.getSignature(), watchedMethod.getToggleName());
         }
-        return pjp.proceed();
+        return invocation.proceed();
     }
 }
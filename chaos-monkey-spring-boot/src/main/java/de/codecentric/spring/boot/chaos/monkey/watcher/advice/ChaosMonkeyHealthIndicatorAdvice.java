@@ -20,8 +20,7 @@ import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.reflect.MethodSignature;
+import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.boot.actuate.health.Health;
 
 @RequiredArgsConstructor
@@ -32,12 +31,16 @@ public class ChaosMonkeyHealthIndicatorAdvice extends AbstractChaosMonkeyAdvice
     private final WatcherProperties watcherProperties;
 
     @Override
-    public Object invoke(ProceedingJoinPoint pjp) throws Throwable {
-        Health health = (Health) pjp.proceed();
+    protected String mapToggleName(String signature) {
+        return chaosMonkeyRequestScope.mapToggleName(ChaosTarget.ACTUATOR_HEALTH, signature);
+    }
+
+    @Override
+    protected Object invoke(MethodInvocation invocation, WatchedMethod watchedMethod) throws Throwable {
+        Health health = (Health) invocation.proceed();
         if (watcherProperties.isActuatorHealth()) {
-            MethodSignature signature = (MethodSignature) pjp.getSignature();
             try {
-                this.chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.ACTUATOR_HEALTH, createSignature(signature));
+                this.chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.ACTUATOR_HEALTH, watchedMethod.getSignature(), watchedMethod.getToggleName());
             } catch (final Exception e) {
                 log.error("Exception occurred", e);
                 health = Health.down(e).build();
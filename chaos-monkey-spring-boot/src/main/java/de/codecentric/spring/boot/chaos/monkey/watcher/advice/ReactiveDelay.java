@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
+
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
+import java.time.Duration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Delays the {@link Mono} or {@link Flux} returned by a watched method instead
+ * of blocking the calling thread. The delay is reported as applied when the
+ * returned publisher is subscribed. Must only be loaded when reactor is on the
+ * classpath.
+ */
+final class ReactiveDelay {
+
+    private ReactiveDelay() {
+    }
+
+    static boolean isReactive(Class<?> returnType) {
+        return returnType == Mono.class || returnType == Flux.class;
+    }
+
+    static Object delay(Object result, ResponseAttack attack) {
+        if (result instanceof Mono) {
+            return delay(attack).then((Mono<?>) result);
+        } else if (result instanceof Flux) {
+            return delay(attack).thenMany((Flux<?>) result);
+        }
+        return result;
+    }
+
+    private static Mono<Long> delay(ResponseAttack attack) {
+        return Mono.delay(Duration.ofMillis(attack.getDelay())).doOnSubscribe(subscription -> attack.delayApplied());
+    }
+}
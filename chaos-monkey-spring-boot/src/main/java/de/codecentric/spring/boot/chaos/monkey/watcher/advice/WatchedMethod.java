@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import org.springframework.lang.Nullable;
+
+/**
+ * Everything the advices need to know about a watched method. It only depends
+ * on the {@link Method}, so it is computed once per method and cached by
+ * {@link AbstractChaosMonkeyAdvice}.
+ */
+public final class WatchedMethod {
+
+    private final String signature;
+
+    private final String pointcut;
+
+    private final boolean reactive;
+
+    private static final Runnable NO_RECORDER = () -> {
+    };
+
+    private final Function<String, String> toggleNameMapper;
+
+    private final Function<String, Runnable> callRecorderFactory;
+
+    // resolved on the first enabled call, so disabled watchers neither map
+    // toggle names nor register meters. Racing threads resolve the same values.
+    @Nullable
+    private volatile String toggleName;
+
+    @Nullable
+    private volatile Runnable callRecorder;
+
+    WatchedMethod(String signature, String pointcut, boolean reactive, Function<String, String> toggleNameMapper,
+            Function<String, Runnable> callRecorderFactory) {
+        this.signature = signature;
+        this.pointcut = pointcut;
+        this.reactive = reactive;
+        this.toggleNameMapper = toggleNameMapper;
+        this.callRecorderFactory = callRecorderFactory;
+    }
+
+    /**
+     * @return the fully qualified name of the method, e.g.
+     *         {@code com.example.DemoService.sayHello}
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * @return the name used for the watcher metrics, e.g.
+     *         {@code execution.DemoService.sayHello}
+     */
+    public String getPointcut() {
+        return pointcut;
+    }
+
+    /** @return whether the method returns a {@code Mono} or {@code Flux} */
+    public boolean isReactive() {
+        return reactive;
+    }
+
+    /**
+     * @return the name of the toggle enabling chaos for the method, null if the
+     *         advice doesn't check a toggle
+     */
+    @Nullable
+    public String getToggleName() {
+        String name = toggleName;
+        if (name == null) {
+            name = toggleNameMapper.apply(signature);
+            toggleName = name;
+        }
+        return name;
+    }
+
+    /** Records a call of the method in the watcher metrics, if any. */
+    public void recordCall() {
+        Runnable recorder = callRecorder;
+        if (recorder == null) {
+            recorder = callRecorderFactory.apply(pointcut);
+            if (recorder == null) {
+                recorder = NO_RECORDER;
+            }
+            callRecorder = recorder;
+        }
+        recorder.run();
+    }
+}
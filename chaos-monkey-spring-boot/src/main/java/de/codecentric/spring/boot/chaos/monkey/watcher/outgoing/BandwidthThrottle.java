@@ -0,0 +1,343 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.BandwidthLimit;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * Throttles the bodies of RestTemplate requests and responses to the
+ * {@link BandwidthLimit} of their host. Each limit has a token bucket of bytes
+ * for each direction, which is shared by all requests to the matching hosts.
+ */
+public class BandwidthThrottle {
+
+    private final ChaosMonkeySettings settings;
+
+    @Nullable
+    private final MetricEventPublisher metricEventPublisher;
+
+    private volatile Limits limits = Limits.NONE;
+
+    public BandwidthThrottle(ChaosMonkeySettings settings, @Nullable MetricEventPublisher metricEventPublisher) {
+        this.settings = settings;
+        this.metricEventPublisher = metricEventPublisher;
+    }
+
+    /**
+     * @return the execution throttled to the bandwidth of the request's host, the
+     *         given execution if the host isn't limited
+     */
+    public ClientHttpRequestExecution throttle(HttpRequest request, ClientHttpRequestExecution execution) {
+        if (!settings.getChaosMonkeyProperties().isEnabled()) {
+            return execution;
+        }
+        AssaultProperties assaultProperties = settings.getAssaultProperties();
+        if (!assaultProperties.isBandwidthLimitsActive()) {
+            return execution;
+        }
+        Limit limit = getLimits(assaultProperties.getBandwidthLimits()).forHost(request.getURI().getHost());
+        if (limit == null) {
+            return execution;
+        }
+
+        if (metricEventPublisher != null) {
+            metricEventPublisher.publishMetricEvent(MetricType.BANDWIDTH_ASSAULT);
+        }
+        return (throttledRequest, body) -> {
+            if (limit.upload != null && body.length > 0) {
+                long wait = limit.upload.reserve(body.length, System.nanoTime());
+                // the body has been buffered by the RestTemplate already, so the
+                // request is held back as long as sending it would take
+                pause(wait);
+                if (wait > 0) {
+                    publishThroughput(MetricType.BANDWIDTH_ASSAULT_UPLOAD_THROUGHPUT, body.length, wait);
+                }
+            }
+            ClientHttpResponse response = execution.execute(throttledRequest, body);
+            return limit.download != null ? new ThrottledResponse(response, limit) : response;
+        };
+    }
+
+    private Limits getLimits(List<BandwidthLimit> bandwidthLimits) {
+        Limits current = limits;
+        if (!current.isFor(bandwidthLimits)) {
+            // the limits have been changed at runtime, the buckets start over
+            current = new Limits(bandwidthLimits, System.nanoTime());
+            limits = current;
+        }
+        return current;
+    }
+
+    private void publishThroughput(MetricType type, long bytes, long nanos) {
+        if (metricEventPublisher != null && nanos > 0) {
+            metricEventPublisher.publishMetricEvent(type, (long) (bytes * (double) TimeUnit.SECONDS.toNanos(1) / nanos));
+        }
+    }
+
+    private static void pause(long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Chaos Monkey - interrupted while throttling the bandwidth");
+        }
+    }
+
+    /** Immutable snapshot of the configured limits with their buckets. */
+    private static final class Limits {
+
+        private static final Limits NONE = new Limits(null, 0);
+
+        private final List<BandwidthLimit> source;
+
+        private final Limit[] limits;
+
+        private Limits(List<BandwidthLimit> bandwidthLimits, long nanoTime) {
+            this.source = bandwidthLimits;
+            this.limits = bandwidthLimits == null ? new Limit[0] : bandwidthLimits.stream().map(it -> new Limit(it, nanoTime)).toArray(Limit[]::new);
+        }
+
+        private boolean isFor(List<BandwidthLimit> bandwidthLimits) {
+            return source == bandwidthLimits;
+        }
+
+        /** @return the first limit matching the host, null if there is none */
+        @Nullable
+        private Limit forHost(@Nullable String host) {
+            String lowerCaseHost = host == null ? null : host.toLowerCase(Locale.ROOT);
+            for (Limit limit : limits) {
+                if (limit.appliesTo(lowerCaseHost)) {
+                    return limit;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Limit {
+
+        @Nullable
+        private final String hostPattern;
+
+        private final int burstBytes;
+
+        @Nullable
+        private final ByteBucket download;
+
+        @Nullable
+        private final ByteBucket upload;
+
+        private Limit(BandwidthLimit bandwidthLimit, long nanoTime) {
+            this.hostPattern = bandwidthLimit.getHost() == null ? null : bandwidthLimit.getHost().toLowerCase(Locale.ROOT);
+            this.burstBytes = Math.max(1, bandwidthLimit.getBurstBytes());
+            this.download = bandwidthLimit.getDownloadBytesPerSecond() > 0
+                    ? new ByteBucket(bandwidthLimit.getDownloadBytesPerSecond(), burstBytes, nanoTime)
+                    : null;
+            this.upload = bandwidthLimit.getUploadBytesPerSecond() > 0
+                    ? new ByteBucket(bandwidthLimit.getUploadBytesPerSecond(), burstBytes, nanoTime)
+                    : null;
+        }
+
+        private boolean appliesTo(@Nullable String host) {
+            return hostPattern == null || (host != null && PatternMatchUtils.simpleMatch(hostPattern, host));
+        }
+    }
+
+    /**
+     * Token bucket of bytes, implemented as generic cell rate algorithm like the
+     * buckets of the assault rate limits. Instead of rejecting, it reserves the
+     * bytes and tells how long to wait until they have passed, so concurrent
+     * requests queue up on the bandwidth.
+     */
+    static final class ByteBucket {
+
+        private final double nanosPerByte;
+
+        private final long burstNanos;
+
+        private final AtomicLong freeAt;
+
+        ByteBucket(long bytesPerSecond, int burstBytes, long nanoTime) {
+            this.nanosPerByte = TimeUnit.SECONDS.toNanos(1) / (double) bytesPerSecond;
+            this.burstNanos = (long) (burstBytes * nanosPerByte);
+            this.freeAt = new AtomicLong(nanoTime);
+        }
+
+        /** @return the nanoseconds to wait until the bytes have passed */
+        long reserve(long bytes, long nanoTime) {
+            long nanos = (long) (bytes * nanosPerByte);
+            for (;;) {
+                long current = freeAt.get();
+                // unused bandwidth isn't saved up beyond the burst
+                long next = Math.max(current, nanoTime) + nanos;
+                if (freeAt.compareAndSet(current, next)) {
+                    return Math.max(next - nanoTime - burstNanos, 0);
+                }
+            }
+        }
+    }
+
+    private final class ThrottledResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+
+        private final Limit limit;
+
+        @Nullable
+        private ThrottledInputStream body;
+
+        private ThrottledResponse(ClientHttpResponse response, Limit limit) {
+            this.response = response;
+            this.limit = limit;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new ThrottledInputStream(response.getBody(), limit);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (body != null) {
+                body.publishThroughput();
+            }
+            response.close();
+        }
+    }
+
+    private final class ThrottledInputStream extends FilterInputStream {
+
+        private final ByteBucket bucket;
+
+        private final int chunkSize;
+
+        private long startNanos;
+
+        private long bytes;
+
+        private boolean published;
+
+        private ThrottledInputStream(InputStream in, Limit limit) {
+            super(in);
+            this.bucket = limit.download;
+            this.chunkSize = limit.burstBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            start();
+            int read = super.read();
+            if (read < 0) {
+                publishThroughput();
+            } else {
+                throttle(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            start();
+            // reading in chunks spreads the body over the time it may take
+            int read = super.read(b, off, Math.min(len, chunkSize));
+            if (read < 0) {
+                publishThroughput();
+            } else {
+                throttle(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            start();
+            long skipped = super.skip(Math.min(n, chunkSize));
+            throttle(skipped);
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            publishThroughput();
+            super.close();
+        }
+
+        private void start() {
+            if (startNanos == 0) {
+                startNanos = System.nanoTime();
+            }
+        }
+
+        private void throttle(long read) throws InterruptedIOException {
+            if (read > 0) {
+                bytes += read;
+                pause(bucket.reserve(read, System.nanoTime()));
+            }
+        }
+
+        private void publishThroughput() {
+            if (!published && bytes > 0) {
+                published = true;
+                BandwidthThrottle.this.publishThroughput(MetricType.BANDWIDTH_ASSAULT_DOWNLOAD_THROUGHPUT, bytes, System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
@@ -15,9 +15,13 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
 
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyLatencyAssaultExecutor;
+import de.codecentric.spring.boot.chaos.monkey.assaults.LatencyAssaultExecutor;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.InjectionPhase;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -41,34 +45,119 @@ public class ChaosMonkeyRestTemplateWatcher implements ClientHttpRequestIntercep
     private final WatcherProperties watcherProperties;
     private final ChaosMonkeyRequestScope chaosMonkeyRequestScope;
     private final AssaultProperties assaultProperties;
+    private final ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor;
+
+    @Nullable
+    private final BandwidthThrottle bandwidthThrottle;
+    private final OutgoingRequestTargeting outgoingRequestTargeting;
 
     public ChaosMonkeyRestTemplateWatcher(final ChaosMonkeyRequestScope chaosMonkeyRequestScope, final WatcherProperties watcherProperties,
-            AssaultProperties assaultProperties) {
+            AssaultProperties assaultProperties, ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor,
+            @Nullable BandwidthThrottle bandwidthThrottle) {
         this.chaosMonkeyRequestScope = chaosMonkeyRequestScope;
         this.watcherProperties = watcherProperties;
         this.assaultProperties = assaultProperties;
+        this.latencyAssaultExecutor = latencyAssaultExecutor;
+        this.bandwidthThrottle = bandwidthThrottle;
+        this.outgoingRequestTargeting = new OutgoingRequestTargeting(assaultProperties);
+    }
+
+    public ChaosMonkeyRestTemplateWatcher(final ChaosMonkeyRequestScope chaosMonkeyRequestScope, final WatcherProperties watcherProperties,
+            AssaultProperties assaultProperties, ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor) {
+        this(chaosMonkeyRequestScope, watcherProperties, assaultProperties, latencyAssaultExecutor, null);
+    }
+
+    public ChaosMonkeyRestTemplateWatcher(final ChaosMonkeyRequestScope chaosMonkeyRequestScope, final WatcherProperties watcherProperties,
+            AssaultProperties assaultProperties) {
+        this(chaosMonkeyRequestScope, watcherProperties, assaultProperties, new LatencyAssaultExecutor());
     }
 
     @Override
-    public ClientHttpResponse intercept(final HttpRequest httpRequest, byte[] bytes, ClientHttpRequestExecution clientHttpRequestExecution)
-            throws IOException {
-        ClientHttpResponse response = clientHttpRequestExecution.execute(httpRequest, bytes);
-        if (watcherProperties.isRestTemplate()) {
-            try {
-                chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.REST_TEMPLATE, httpRequest.getURI().toString());
-            } catch (final Exception exception) {
-                try {
-                    if (exception.getClass().equals(assaultProperties.getException().getExceptionClass())) {
-                        response = new ErrorResponse();
-                    } else {
-                        throw exception;
-                    }
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+    public ClientHttpResponse intercept(final HttpRequest httpRequest, byte[] bytes, ClientHttpRequestExecution execution) throws IOException {
+        if (!watcherProperties.isRestTemplate()) {
+            return execution.execute(httpRequest, bytes);
+        }
+        // the bandwidth limits apply to every request sent, not only attacked ones
+        ClientHttpRequestExecution clientHttpRequestExecution = bandwidthThrottle != null
+                ? bandwidthThrottle.throttle(httpRequest, execution)
+                : execution;
+        if (!outgoingRequestTargeting.isWatched(httpRequest.getMethod(), httpRequest.getURI(), httpRequest.getHeaders())) {
+            return clientHttpRequestExecution.execute(httpRequest, bytes);
+        }
+        InjectionPhase phase = watcherProperties.getRestTemplateInjectionPhase();
+        if (phase == InjectionPhase.BEFORE_SEND) {
+            ClientHttpResponse errorResponse = attack(httpRequest);
+            return errorResponse != null ? errorResponse : clientHttpRequestExecution.execute(httpRequest, bytes);
+        } else if (phase == InjectionPhase.SHORT_CIRCUIT) {
+            ClientHttpResponse shortCircuitResponse = attackShortCircuit(httpRequest);
+            return shortCircuitResponse != null ? shortCircuitResponse : clientHttpRequestExecution.execute(httpRequest, bytes);
+        } else {
+            ClientHttpResponse response = clientHttpRequestExecution.execute(httpRequest, bytes);
+            ClientHttpResponse errorResponse = attack(httpRequest);
+            if (errorResponse != null) {
+                // the real response is discarded
+                response.close();
+                return errorResponse;
+            }
+            return response;
+        }
+    }
+
+    /** @return the error response for the request, null if it wasn't attacked */
+    @Nullable
+    private ClientHttpResponse attack(HttpRequest httpRequest) {
+        try {
+            chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.REST_TEMPLATE, httpRequest.getURI().toString());
+            return null;
+        } catch (final Exception exception) {
+            ClientHttpResponse errorResponse = errorResponseFor(exception);
+            if (errorResponse == null) {
+                throw exception;
+            }
+            return errorResponse;
+        }
+    }
+
+    /**
+     * @return the response replacing the request, null if it wasn't attacked by
+     *         the exception or the latency assault
+     */
+    @Nullable
+    private ClientHttpResponse attackShortCircuit(HttpRequest httpRequest) {
+        ResponseAttack attack;
+        try {
+            // the delay is needed to know whether the latency assault has attacked
+            attack = chaosMonkeyRequestScope.callChaosMonkeyNonBlocking(ChaosTarget.REST_TEMPLATE, httpRequest.getURI().toString());
+        } catch (final Exception exception) {
+            ClientHttpResponse errorResponse = errorResponseFor(exception);
+            if (errorResponse == null) {
+                throw exception;
             }
+            return errorResponse;
+        }
+        if (attack.getDelay() <= 0) {
+            return null;
+        }
+        if (latencyAssaultExecutor.tryExecute(attack.getDelay())) {
+            attack.delayApplied();
+        }
+        return new ErrorResponse(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * @return the error response if the exception has been thrown by the exception
+     *         assault, null otherwise
+     */
+    @Nullable
+    private ClientHttpResponse errorResponseFor(Exception exception) {
+        try {
+            if (exception.getClass().equals(assaultProperties.getException().getExceptionClass())) {
+                return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            return null;
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
         }
-        return response;
     }
 
     static class ErrorResponse extends AbstractClientHttpResponse {
@@ -78,12 +167,18 @@ public class ChaosMonkeyRestTemplateWatcher implements ClientHttpRequestIntercep
 
         private static final Logger Logger = LoggerFactory.getLogger(ErrorResponse.class);
 
+        private final HttpStatus status;
+
         @Nullable
         private InputStream responseStream;
 
+        ErrorResponse(HttpStatus status) {
+            this.status = status;
+        }
+
         @Override
         public int getRawStatusCode() {
-            return HttpStatus.INTERNAL_SERVER_ERROR.value();
+            return status.value();
         }
 
         @Override
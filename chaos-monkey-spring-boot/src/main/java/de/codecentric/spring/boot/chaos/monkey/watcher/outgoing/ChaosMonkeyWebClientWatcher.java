@@ -15,10 +15,13 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
 
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyResponseBodyAssault;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
+import java.time.Duration;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,7 @@ public class ChaosMonkeyWebClientWatcher implements ExchangeFilterFunction {
     private final ChaosMonkeyRequestScope chaosMonkeyRequestScope;
     private final WatcherProperties watcherProperties;
     private final AssaultProperties assaultProperties;
+    private final OutgoingRequestTargeting outgoingRequestTargeting;
 
     private static final String ALREADY_FILTERED_SUFFIX = ".FILTERED";
 
@@ -42,6 +46,7 @@ public class ChaosMonkeyWebClientWatcher implements ExchangeFilterFunction {
         this.chaosMonkeyRequestScope = chaosMonkeyRequestScope;
         this.watcherProperties = watcherProperties;
         this.assaultProperties = assaultProperties;
+        this.outgoingRequestTargeting = new OutgoingRequestTargeting(assaultProperties);
     }
 
     @Override
@@ -49,9 +54,19 @@ public class ChaosMonkeyWebClientWatcher implements ExchangeFilterFunction {
         final RequestFilterWrapper requestFilterWrapper = handleOncePerRequest(clientRequest);
         Mono<ClientResponse> response = exchangeFunction.exchange(requestFilterWrapper.clientRequest);
         if (requestFilterWrapper.filter) {
-            if (watcherProperties.isWebClient()) {
+            if (watcherProperties.isWebClient()
+                    && outgoingRequestTargeting.isWatched(clientRequest.method(), clientRequest.url(), clientRequest.headers())) {
                 try {
-                    chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.WEB_CLIENT, clientRequest.url().toString());
+                    // this runs on the event loop, which is shared by many connections,
+                    // so a latency assault must only delay this exchange
+                    ResponseAttack attack = chaosMonkeyRequestScope.callChaosMonkeyStreaming(ChaosTarget.WEB_CLIENT, clientRequest.url().toString());
+                    if (attack.getDelay() > 0) {
+                        response = Mono.delay(Duration.ofMillis(attack.getDelay())).doOnSubscribe(subscription -> attack.delayApplied()).then(response);
+                    }
+                    ChaosMonkeyResponseBodyAssault bodyAssault = attack.getBodyAssault();
+                    if (bodyAssault != null) {
+                        response = response.map(clientResponse -> clientResponse.mutate().body(bodyAssault::attackBody).build());
+                    }
                 } catch (final Exception exception) {
                     try {
                         if (exception.getClass().equals(assaultProperties.getException().getExceptionClass())) {
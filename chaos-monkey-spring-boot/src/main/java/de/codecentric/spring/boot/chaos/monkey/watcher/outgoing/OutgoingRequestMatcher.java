@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatchedOutgoingRequest;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Immutable matcher compiled from the {@link WatchedOutgoingRequest}s. The
+ * hosts are stored in a trie of their labels, from the top level domain on,
+ * and every host node has a trie of the path segments. A request walks down
+ * both tries, so the cost of a lookup depends on the length of its URL and not
+ * on the number of watched requests. Only the method and header criteria of
+ * the requests sharing the matched host and path are checked one by one.
+ */
+final class OutgoingRequestMatcher {
+
+    static final OutgoingRequestMatcher NONE = new OutgoingRequestMatcher(null);
+
+    private static final String ONE = "*";
+
+    private static final String ANY = "**";
+
+    private final List<WatchedOutgoingRequest> source;
+
+    private final HostNode hosts = new HostNode();
+
+    OutgoingRequestMatcher(@Nullable List<WatchedOutgoingRequest> watchedOutgoingRequests) {
+        this.source = watchedOutgoingRequests;
+        if (watchedOutgoingRequests != null) {
+            for (WatchedOutgoingRequest watchedOutgoingRequest : watchedOutgoingRequests) {
+                add(watchedOutgoingRequest);
+            }
+        }
+    }
+
+    boolean isFor(List<WatchedOutgoingRequest> watchedOutgoingRequests) {
+        return source == watchedOutgoingRequests;
+    }
+
+    boolean matches(@Nullable HttpMethod method, URI uri, HttpHeaders headers) {
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        return matchHost(hosts, host, host.length(), path, method, headers);
+    }
+
+    private void add(WatchedOutgoingRequest watchedOutgoingRequest) {
+        HostNode hostNode = hosts;
+        String[] labels = split(watchedOutgoingRequest.getHost(), '.', true);
+        // the labels are stored from the right, the top level domain first
+        for (int i = labels.length - 1; i >= 0; i--) {
+            hostNode = hostNode.child(labels[i]);
+        }
+        if (hostNode.paths == null) {
+            hostNode.paths = new PathNode();
+        }
+        PathNode pathNode = hostNode.paths;
+        for (String segment : split(watchedOutgoingRequest.getPath(), '/', false)) {
+            pathNode = pathNode.child(segment);
+        }
+        if (pathNode.requests == null) {
+            pathNode.requests = new ArrayList<>(1);
+        }
+        pathNode.requests.add(new RequestCriteria(watchedOutgoingRequest));
+    }
+
+    /** @return the parts of the pattern, {@code **} if it isn't set */
+    private static String[] split(@Nullable String pattern, char separator, boolean lowerCase) {
+        if (pattern == null || pattern.isEmpty()) {
+            return new String[]{ANY};
+        }
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start <= pattern.length()) {
+            int end = pattern.indexOf(separator, start);
+            if (end < 0) {
+                end = pattern.length();
+            }
+            if (end > start) {
+                String part = pattern.substring(start, end);
+                parts.add(lowerCase ? part.toLowerCase(Locale.ROOT) : part);
+            }
+            start = end + 1;
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    /** Matches the labels of the host before {@code end}, from the right. */
+    private static boolean matchHost(HostNode node, String host, int end, String path, @Nullable HttpMethod method, HttpHeaders headers) {
+        if (node.anyLabels != null) {
+            // ** matches no label, or the labels up to any of the dots
+            for (int rest = end;; rest = host.lastIndexOf('.', rest - 1)) {
+                if (matchHost(node.anyLabels, host, rest, path, method, headers)) {
+                    return true;
+                }
+                if (rest <= 0) {
+                    break;
+                }
+            }
+        }
+        if (end <= 0) {
+            return node.paths != null && matchPath(node.paths, path, 0, method, headers);
+        }
+        int dot = host.lastIndexOf('.', end - 1);
+        HostNode child = node.children.get(host.substring(dot + 1, end));
+        if (child != null && matchHost(child, host, Math.max(dot, 0), path, method, headers)) {
+            return true;
+        }
+        return node.oneLabel != null && matchHost(node.oneLabel, host, Math.max(dot, 0), path, method, headers);
+    }
+
+    /** Matches the segments of the path from {@code start} on. */
+    private static boolean matchPath(PathNode node, String path, int start, @Nullable HttpMethod method, HttpHeaders headers) {
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (node.anySegments != null) {
+            // ** matches no segment, or the segments up to any of the slashes
+            int rest = start;
+            while (true) {
+                if (matchPath(node.anySegments, path, rest, method, headers)) {
+                    return true;
+                }
+                if (rest >= path.length()) {
+                    break;
+                }
+                int slash = path.indexOf('/', rest);
+                rest = slash < 0 ? path.length() : slash + 1;
+            }
+        }
+        if (start >= path.length()) {
+            return node.requests != null && matchCriteria(node.requests, method, headers);
+        }
+        int slash = path.indexOf('/', start);
+        int end = slash < 0 ? path.length() : slash;
+        PathNode child = node.children.get(path.substring(start, end));
+        if (child != null && matchPath(child, path, end, method, headers)) {
+            return true;
+        }
+        return node.oneSegment != null && matchPath(node.oneSegment, path, end, method, headers);
+    }
+
+    private static boolean matchCriteria(List<RequestCriteria> requests, @Nullable HttpMethod method, HttpHeaders headers) {
+        for (RequestCriteria request : requests) {
+            if (request.matches(method, headers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class HostNode {
+
+        private final Map<String, HostNode> children = new HashMap<>();
+
+        @Nullable
+        private HostNode oneLabel;
+
+        @Nullable
+        private HostNode anyLabels;
+
+        @Nullable
+        private PathNode paths;
+
+        private HostNode child(String label) {
+            if (ONE.equals(label)) {
+                return oneLabel == null ? oneLabel = new HostNode() : oneLabel;
+            } else if (ANY.equals(label)) {
+                return anyLabels == null ? anyLabels = new HostNode() : anyLabels;
+            }
+            return children.computeIfAbsent(label, it -> new HostNode());
+        }
+    }
+
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        @Nullable
+        private PathNode oneSegment;
+
+        @Nullable
+        private PathNode anySegments;
+
+        @Nullable
+        private List<RequestCriteria> requests;
+
+        private PathNode child(String segment) {
+            if (ONE.equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                return oneSegment == null ? oneSegment = new PathNode() : oneSegment;
+            } else if (ANY.equals(segment)) {
+                return anySegments == null ? anySegments = new PathNode() : anySegments;
+            }
+            return children.computeIfAbsent(segment, it -> new PathNode());
+        }
+    }
+
+    /** The criteria of a watched request besides its host and path. */
+    private static final class RequestCriteria {
+
+        @Nullable
+        private final Set<HttpMethod> methods;
+
+        private final String[] headerNames;
+
+        private final String[] headerValues;
+
+        private RequestCriteria(WatchedOutgoingRequest watchedOutgoingRequest) {
+            this.methods = CollectionUtils.isEmpty(watchedOutgoingRequest.getMethods()) ? null : EnumSet.copyOf(watchedOutgoingRequest.getMethods());
+            Map<String, String> headers = watchedOutgoingRequest.getHeaders() == null ? new HashMap<>() : watchedOutgoingRequest.getHeaders();
+            this.headerNames = new String[headers.size()];
+            this.headerValues = new String[headers.size()];
+            int i = 0;
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                headerNames[i] = header.getKey();
+                headerValues[i] = ONE.equals(header.getValue()) ? null : header.getValue();
+                i++;
+            }
+        }
+
+        private boolean matches(@Nullable HttpMethod method, HttpHeaders headers) {
+            if (methods != null && (method == null || !methods.contains(method))) {
+                return false;
+            }
+            for (int i = 0; i < headerNames.length; i++) {
+                List<String> values = headers.get(headerNames[i]);
+                if (values == null || values.isEmpty() || (headerValues[i] != null && !values.contains(headerValues[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatchedOutgoingRequest;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * Decides which outgoing requests the watchers pass on to the Chaos Monkey. If
+ * {@link WatchedOutgoingRequest}s are configured, only the matching requests
+ * are.
+ */
+final class OutgoingRequestTargeting {
+
+    private final AssaultProperties assaultProperties;
+
+    private volatile OutgoingRequestMatcher matcher = OutgoingRequestMatcher.NONE;
+
+    OutgoingRequestTargeting(AssaultProperties assaultProperties) {
+        this.assaultProperties = assaultProperties;
+    }
+
+    boolean isWatched(@Nullable HttpMethod method, URI uri, HttpHeaders headers) {
+        if (!assaultProperties.isWatchedOutgoingRequestsActive()) {
+            return true;
+        }
+        return getMatcher(assaultProperties.getWatchedOutgoingRequests()).matches(method, uri, headers);
+    }
+
+    private OutgoingRequestMatcher getMatcher(List<WatchedOutgoingRequest> watchedOutgoingRequests) {
+        OutgoingRequestMatcher current = matcher;
+        // the endpoints replace the list on every update, so comparing the
+        // reference is enough to detect a changed configuration
+        if (!current.isFor(watchedOutgoingRequests)) {
+            current = new OutgoingRequestMatcher(watchedOutgoingRequests);
+            matcher = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import de.codecentric.spring.boot.chaos.monkey.assaults.CpuAssault.DutyCycleController;
+import de.codecentric.spring.boot.chaos.monkey.assaults.CpuAssault.ProcessCpuLoad;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CpuAssaultTest {
+
+    private static final double PERIOD = 0.1;
+
+    @Test
+    void controllerReachesTargetOnIdleProcess() {
+        assertThat(simulate(0.8, 1.0, 0.0, 1)).isCloseTo(0.8, within(0.02));
+    }
+
+    @Test
+    void controllerAccountsForApplicationLoad() {
+        double dutyCycle = simulate(0.5, 1.0, 0.3, 1);
+
+        assertThat(0.3 + dutyCycle).isCloseTo(0.5, within(0.02));
+    }
+
+    @Test
+    void controllerCompensatesSlowWorkersWithDelayedMeasurement() {
+        double dutyCycle = simulate(0.5, 0.8, 0.0, 2);
+
+        assertThat(0.8 * dutyCycle).isCloseTo(0.5, within(0.02));
+    }
+
+    @Test
+    void controllerRecoversFromSaturation() {
+        DutyCycleController controller = new DutyCycleController(0.5);
+        // the application alone is above the target for a while
+        double dutyCycle = 1;
+        for (int i = 0; i < 100; i++) {
+            dutyCycle = controller.update(0.9, PERIOD);
+        }
+        assertThat(dutyCycle).isZero();
+        // the integral is not wound up, so the workers restart right away
+        assertThat(controller.update(0.0, PERIOD)).isGreaterThan(0.1);
+    }
+
+    @Test
+    void parsesCpuTimeOfProcSelfStat() {
+        String stat = "4242 (java (main) x) S 1 4242 4242 0 -1 4194560 25147 0 3 0 150 50 0 0 20 0 42 0 1024 0 0";
+
+        assertThat(ProcessCpuLoad.parseCpuTime(stat)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    /**
+     * Runs the controller for one second against a process whose load is
+     * {@code workerEfficiency * dutyCycle + applicationLoad}, measured with the
+     * given delay in periods.
+     *
+     * @return the final duty cycle
+     */
+    private static double simulate(double target, double workerEfficiency, double applicationLoad, int delay) {
+        DutyCycleController controller = new DutyCycleController(target);
+        double[] dutyCycles = new double[10 + delay];
+        for (int i = 0; i < delay; i++) {
+            dutyCycles[i] = target;
+        }
+        for (int i = delay; i < dutyCycles.length; i++) {
+            double measured = Math.min(1, workerEfficiency * dutyCycles[i - delay] + applicationLoad);
+            dutyCycles[i] = controller.update(measured, PERIOD);
+        }
+        return dutyCycles[dutyCycles.length - 1];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.File;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DiskIoAssaultTest {
+
+    private static final long MB = DiskIoAssault.BLOCK_SIZE;
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    @TempDir
+    File directory;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @BeforeEach
+    void setUp() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setDiskIoActive(true);
+        assaultProperties.setDiskIoDirectory(directory.getAbsolutePath());
+        assaultProperties.setDiskIoFileSizeMegabytes(4);
+        assaultProperties.setDiskIoWritesPerFsync(2);
+    }
+
+    @Test
+    void writesAndReadsAtConfiguredThroughputAndDeletesTheFile() {
+        assaultProperties.setDiskIoMillisecondsHoldLoad(1200);
+        assaultProperties.setDiskIoThroughputMegabytesPerSecond(20);
+        assaultProperties.setDiskIoReadFraction(0.5);
+
+        new DiskIoAssault(settings, metricEventPublisher).attack();
+
+        ArgumentCaptor<Long> written = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> throughput = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.DISK_IO_ASSAULT);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.DISK_IO_ASSAULT_BYTES_WRITTEN), written.capture());
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.DISK_IO_ASSAULT_THROUGHPUT), throughput.capture());
+        // half of the at most 24 MB transferred in 1.2 s are written
+        assertThat(written.getValue()).isBetween(4 * MB, 12 * MB);
+        assertThat(throughput.getAllValues()).anySatisfy(rate -> assertThat(rate).isBetween(10 * MB, 25 * MB));
+        assertThat(throughput.getValue()).isZero();
+        assertThat(directory.list()).isEmpty();
+    }
+
+    @Test
+    void destroyStopsTheAssaultAndDeletesTheFile() {
+        assaultProperties.setDiskIoMillisecondsHoldLoad(60000);
+        assaultProperties.setDiskIoThroughputMegabytesPerSecond(5);
+        DiskIoAssault assault = new DiskIoAssault(settings, metricEventPublisher);
+
+        Thread destroyer = new Thread(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assault.destroy();
+        });
+        destroyer.start();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), assault::attack);
+        assertThat(directory.list()).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import de.codecentric.spring.boot.chaos.monkey.configuration.FileDescriptorAssaultMode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FileDescriptorAssaultTest {
+
+    private static final int DESCRIPTORS_TO_OPEN = 40;
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @Test
+    void holdsAndClosesFiles() {
+        assertHoldsAndClosesDescriptors(FileDescriptorAssaultMode.FILE);
+    }
+
+    @Test
+    void holdsAndClosesSockets() {
+        assertHoldsAndClosesDescriptors(FileDescriptorAssaultMode.SOCKET);
+    }
+
+    @Test
+    void needsTheFileDescriptorLimit() {
+        new FileDescriptorAssault(mock(OperatingSystemMXBean.class), settings, metricEventPublisher).attack();
+
+        verify(metricEventPublisher).publishMetricEvent(MetricType.FILE_DESCRIPTOR_ASSAULT);
+        verifyNoMoreInteractions(metricEventPublisher);
+    }
+
+    private void assertHoldsAndClosesDescriptors(FileDescriptorAssaultMode mode) {
+        OperatingSystemMXBean realOs = ManagementFactory.getOperatingSystemMXBean();
+        assumeThat(realOs).isInstanceOf(UnixOperatingSystemMXBean.class);
+        UnixOperatingSystemMXBean real = (UnixOperatingSystemMXBean) realOs;
+        long openBefore = real.getOpenFileDescriptorCount();
+        // the target is the current count plus a few more descriptors
+        UnixOperatingSystemMXBean os = mock(UnixOperatingSystemMXBean.class);
+        when(os.getMaxFileDescriptorCount()).thenReturn(2 * (openBefore + DESCRIPTORS_TO_OPEN));
+        when(os.getOpenFileDescriptorCount()).thenAnswer(invocation -> real.getOpenFileDescriptorCount());
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setFileDescriptorActive(true);
+        assaultProperties.setFileDescriptorMode(mode);
+        assaultProperties.setFileDescriptorFillTargetFraction(0.5);
+        assaultProperties.setFileDescriptorFillIncrementFraction(0.1);
+        assaultProperties.setFileDescriptorMillisecondsWaitNextIncrease(10);
+        assaultProperties.setFileDescriptorMillisecondsHoldFilled(100);
+
+        new FileDescriptorAssault(os, settings, metricEventPublisher).attack();
+
+        ArgumentCaptor<Long> held = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.FILE_DESCRIPTOR_ASSAULT_HELD), held.capture());
+        assertThat(held.getAllValues()).anySatisfy(count -> assertThat(count).isBetween(DESCRIPTORS_TO_OPEN - 5L, DESCRIPTORS_TO_OPEN + 5L));
+        assertThat(held.getValue()).isZero();
+        assertThat(real.getOpenFileDescriptorCount()).isLessThanOrEqualTo(openBefore + 5);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.GarbageCollectorMXBean;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GcPressureAssaultTest {
+
+    private static final long MB = SizeConverter.toBytes(1);
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    @Mock
+    private GarbageCollectorMXBean garbageCollector;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @Test
+    void objectSizesAreLogUniformlyDistributed() {
+        assertThat(GcPressureAssault.objectSize(16, 16384, 0.0)).isEqualTo(16);
+        assertThat(GcPressureAssault.objectSize(16, 16384, 0.5)).isEqualTo(512);
+        assertThat(GcPressureAssault.objectSize(16, 16384, 1.0)).isEqualTo(16384);
+        assertThat(GcPressureAssault.objectSize(100, 100, 0.5)).isEqualTo(100);
+    }
+
+    @Test
+    void allocatesAtConfiguredRateAndPublishesCollections() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        when(garbageCollector.getCollectionCount()).thenReturn(10L, 13L);
+        when(garbageCollector.getCollectionTime()).thenReturn(100L, 142L);
+        assaultProperties.setGcPressureActive(true);
+        assaultProperties.setGcPressureMillisecondsHoldLoad(1200);
+        assaultProperties.setGcPressureAllocationRateMegabytesPerSecond(64);
+        assaultProperties.setGcPressureSurvivorFraction(0.1);
+        assaultProperties.setGcPressureSurvivorMillisecondsRetain(100);
+
+        new GcPressureAssault(Collections.singletonList(garbageCollector), settings, metricEventPublisher).attack();
+
+        ArgumentCaptor<Long> allocationRates = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.GC_PRESSURE_ASSAULT);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.GC_PRESSURE_ASSAULT_ALLOCATION_RATE), allocationRates.capture());
+        assertThat(allocationRates.getAllValues()).anySatisfy(rate -> assertThat(rate).isBetween(32 * MB, 96 * MB));
+        assertThat(allocationRates.getAllValues()).last().isEqualTo(0L);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(MetricType.GC_PRESSURE_ASSAULT_GC_COUNT, 3L);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(MetricType.GC_PRESSURE_ASSAULT_GC_TIME, 42L);
+    }
+
+    @Test
+    void stopsWhenDeactivated() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setGcPressureActive(true);
+        assaultProperties.setGcPressureMillisecondsHoldLoad(60000);
+        assaultProperties.setGcPressureAllocationRateMegabytesPerSecond(16);
+        GcPressureAssault assault = new GcPressureAssault(Collections.emptyList(), settings, metricEventPublisher);
+
+        Thread deactivator = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assaultProperties.setGcPressureActive(false);
+        });
+        deactivator.start();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), assault::attack);
+    }
+}
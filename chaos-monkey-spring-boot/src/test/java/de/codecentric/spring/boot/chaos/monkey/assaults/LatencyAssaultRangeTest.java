@@ -28,7 +28,6 @@ import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.api.AbstractIntegerAssert;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,7 +41,7 @@ import org.springframework.context.ApplicationEventPublisher;
 class LatencyAssaultRangeTest {
 
     @Captor
-    private ArgumentCaptor<AtomicInteger> captorTimeoutValue;
+    private ArgumentCaptor<Long> captorTimeoutValue;
 
     @Test
     void fixedLatencyIsPossible() {
@@ -77,6 +76,6 @@ class LatencyAssaultRangeTest {
         latencyAssault.attack();
 
         verify(metricEventPublisher).publishMetricEvent(eq(MetricType.LATENCY_ASSAULT), captorTimeoutValue.capture());
-        return assertThat(captorTimeoutValue.getValue().get());
+        return assertThat(captorTimeoutValue.getValue().intValue());
     }
 }
@@ -15,11 +15,20 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.assaults;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.component.InjectedLatencyHistograms;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -35,6 +44,9 @@ class LatencyAssaultTest {
     @Mock
     private AssaultProperties assaultProperties;
 
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
     @Test
     void threadSleepHasBeenCalled() {
         int latencyRangeStart = 100;
@@ -54,6 +66,83 @@ class LatencyAssaultTest {
         assertTrue(executor.duration <= latencyRangeEnd, assertionMessage);
     }
 
+    @Test
+    void attackNonBlockingReturnsLatencyWithoutSleeping() {
+        TestLatencyAssaultExecutor executor = new TestLatencyAssaultExecutor();
+
+        when(assaultProperties.getLatencyRangeStart()).thenReturn(300);
+        when(assaultProperties.getLatencyRangeEnd()).thenReturn(300);
+        when(chaosMonkeySettings.getAssaultProperties()).thenReturn(assaultProperties);
+
+        LatencyAssault latencyAssault = new LatencyAssault(chaosMonkeySettings, null, executor);
+
+        assertEquals(300, latencyAssault.attackNonBlocking());
+        assertFalse(executor.executed);
+    }
+
+    @Test
+    void injectedLatencyIsRecordedForTheAttackedCall() {
+        TestLatencyAssaultExecutor executor = new TestLatencyAssaultExecutor();
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(true);
+
+        when(assaultProperties.getLatencyRangeStart()).thenReturn(300);
+        when(assaultProperties.getLatencyRangeEnd()).thenReturn(300);
+        when(chaosMonkeySettings.getAssaultProperties()).thenReturn(assaultProperties);
+
+        LatencyAssault latencyAssault = new LatencyAssault(chaosMonkeySettings, null, executor, histograms);
+        latencyAssault.attack(ChaosTarget.SERVICE, "com.example.DemoService.sayHello");
+
+        InjectedLatencyDto injectedLatency = histograms.snapshot();
+        assertEquals(1, injectedLatency.getTotal().getCount());
+        assertEquals(300, injectedLatency.getTargets().get("service").getP50());
+        assertEquals(300, injectedLatency.getMethods().get("com.example.DemoService.sayHello").getMax());
+    }
+
+    @Test
+    void nonBlockingLatencyIsRecordedWhenItIsApplied() {
+        TestLatencyAssaultExecutor executor = new TestLatencyAssaultExecutor();
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(true);
+
+        when(assaultProperties.getLatencyRangeStart()).thenReturn(300);
+        when(assaultProperties.getLatencyRangeEnd()).thenReturn(300);
+        when(chaosMonkeySettings.getAssaultProperties()).thenReturn(assaultProperties);
+
+        LatencyAssault latencyAssault = new LatencyAssault(chaosMonkeySettings, null, executor, histograms);
+        long latency = latencyAssault.attackNonBlocking(ChaosTarget.WEB_CLIENT, "http://localhost/foo");
+
+        assertEquals(0, histograms.snapshot().getTotal().getCount());
+
+        latencyAssault.delayApplied(ChaosTarget.WEB_CLIENT, "http://localhost/foo", latency);
+
+        assertEquals(1, histograms.snapshot().getTotal().getCount());
+    }
+
+    @Test
+    void skippedLatencyIsNotRecorded() throws InterruptedException {
+        AssaultProperties properties = new AssaultProperties();
+        properties.setLatencyRangeStart(2000);
+        properties.setLatencyRangeEnd(2000);
+        properties.setLatencyMaxBlockedThreads(1);
+        when(chaosMonkeySettings.getAssaultProperties()).thenReturn(properties);
+        ThreadAwareLatencyAssaultExecutor executor = new ThreadAwareLatencyAssaultExecutor(chaosMonkeySettings, metricEventPublisher);
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(true);
+        LatencyAssault latencyAssault = new LatencyAssault(chaosMonkeySettings, metricEventPublisher, executor, histograms);
+
+        Thread blocked = new Thread(() -> latencyAssault.attack(ChaosTarget.SERVICE, "com.example.DemoService.sayHello"));
+        blocked.start();
+        while (executor.getBlockedPlatformThreads() == 0) {
+            Thread.sleep(1);
+        }
+        latencyAssault.attack(ChaosTarget.SERVICE, "com.example.DemoService.sayHello");
+        blocked.interrupt();
+        blocked.join();
+
+        assertEquals(1, histograms.snapshot().getTotal().getCount());
+        verify(metricEventPublisher).publishMetricEvent(MetricType.LATENCY_ASSAULT_SKIPPED);
+        verify(metricEventPublisher, times(1)).publishMetricEvent(MetricType.LATENCY_ASSAULT);
+        verify(metricEventPublisher, times(1)).publishInjectedLatency(ChaosTarget.SERVICE, 2000);
+    }
+
     class TestLatencyAssaultExecutor implements ChaosMonkeyLatencyAssaultExecutor {
 
         private long duration;
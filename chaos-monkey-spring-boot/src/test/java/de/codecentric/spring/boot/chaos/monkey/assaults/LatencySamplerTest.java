@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.LatencyDistribution;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class LatencySamplerTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private final AssaultProperties properties = new AssaultProperties();
+
+    @Test
+    void fixedAlwaysReturnsRangeStart() {
+        properties.setLatencyDistribution(LatencyDistribution.FIXED);
+        properties.setLatencyRangeStart(300);
+        properties.setLatencyRangeEnd(900);
+
+        assertThat(samples()).containsOnly(300);
+    }
+
+    @Test
+    void uniformStaysInRange() {
+        properties.setLatencyRangeStart(100);
+        properties.setLatencyRangeEnd(200);
+
+        int[] samples = samples();
+
+        assertThat(Arrays.stream(samples).min().getAsInt()).isEqualTo(100);
+        assertThat(Arrays.stream(samples).max().getAsInt()).isLessThan(200);
+        assertThat(mean(samples)).isBetween(145.0, 155.0);
+    }
+
+    @Test
+    void normalHasConfiguredMeanAndIsClamped() {
+        properties.setLatencyDistribution(LatencyDistribution.NORMAL);
+        properties.setLatencyRangeStart(0);
+        properties.setLatencyRangeEnd(10_000);
+        properties.setLatencyMean(1000);
+        properties.setLatencyStandardDeviation(100);
+
+        assertThat(mean(samples())).isBetween(990.0, 1010.0);
+
+        properties.setLatencyRangeStart(950);
+        properties.setLatencyRangeEnd(1050);
+        int[] clamped = samples();
+        assertThat(Arrays.stream(clamped).min().getAsInt()).isEqualTo(950);
+        assertThat(Arrays.stream(clamped).max().getAsInt()).isEqualTo(1050);
+    }
+
+    @Test
+    void logNormalHasConfiguredMeanAndLongTail() {
+        properties.setLatencyDistribution(LatencyDistribution.LOG_NORMAL);
+        properties.setLatencyRangeStart(0);
+        properties.setLatencyRangeEnd(Integer.MAX_VALUE);
+        properties.setLatencyMean(1000);
+        properties.setLatencyStandardDeviation(500);
+
+        int[] samples = samples();
+        Arrays.sort(samples);
+
+        assertThat(mean(samples)).isBetween(975.0, 1025.0);
+        // skewed to the right, the median is below the mean
+        assertThat(samples[SAMPLES / 2]).isLessThan(950);
+        assertThat(samples[0]).isPositive();
+    }
+
+    @Test
+    void paretoStartsAtRangeStartAndHasHeavyTail() {
+        properties.setLatencyDistribution(LatencyDistribution.PARETO);
+        properties.setLatencyRangeStart(100);
+        properties.setLatencyRangeEnd(Integer.MAX_VALUE);
+        properties.setLatencyParetoShape(2);
+
+        int[] samples = samples();
+        Arrays.sort(samples);
+
+        assertThat(samples[0]).isEqualTo(100);
+        // median of pareto is scale * 2^(1/shape)
+        assertThat(samples[SAMPLES / 2]).isBetween(137, 146);
+        // p99 is scale * 100^(1/shape)
+        assertThat(samples[SAMPLES / 100 * 99]).isBetween(900, 1100);
+    }
+
+    @Test
+    void empiricalReplaysRecordedHistogram(@TempDir Path directory) throws Exception {
+        Histogram histogram = new Histogram(3);
+        histogram.recordValueWithCount(10_000, 900);
+        histogram.recordValueWithCount(500_000, 100);
+        Path file = directory.resolve("latency.hlog");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputIntervalHistogram(histogram);
+            writer.outputIntervalHistogram(histogram);
+        }
+        properties.setLatencyDistribution(LatencyDistribution.EMPIRICAL);
+        properties.setLatencyRangeStart(0);
+        properties.setLatencyRangeEnd(10_000);
+        properties.setLatencyHistogramFile(file.toUri().toString());
+        properties.setLatencyHistogramUnit(TimeUnit.MICROSECONDS);
+
+        int[] samples = samples();
+
+        assertThat(samples).containsOnly(10, 500);
+        long slow = Arrays.stream(samples).filter(latency -> latency == 500).count();
+        assertThat(slow).isBetween(SAMPLES / 10 - 1000L, SAMPLES / 10 + 1000L);
+    }
+
+    @Test
+    void empiricalWithoutHistogramIsRejected() {
+        properties.setLatencyDistribution(LatencyDistribution.EMPIRICAL);
+        properties.setLatencyHistogramFile("file:does-not-exist.hlog");
+
+        assertThatThrownBy(() -> LatencySampler.create(properties, new DefaultResourceLoader())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void samplerIsOnlyForItsConfiguration() {
+        LatencySampler sampler = LatencySampler.create(properties, new DefaultResourceLoader());
+        assertThat(sampler.isFor(properties)).isTrue();
+
+        properties.setLatencyDistribution(LatencyDistribution.NORMAL);
+        assertThat(sampler.isFor(properties)).isFalse();
+    }
+
+    private int[] samples() {
+        LatencySampler sampler = LatencySampler.create(properties, new DefaultResourceLoader());
+        int[] samples = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = sampler.sample();
+        }
+        return samples;
+    }
+
+    private static double mean(int[] samples) {
+        return Arrays.stream(samples).average().getAsDouble();
+    }
+}
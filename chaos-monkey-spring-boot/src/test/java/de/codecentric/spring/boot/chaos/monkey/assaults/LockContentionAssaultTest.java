@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LockContentionAssaultTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @Test
+    void holdsTheStripeForTheConfiguredTime() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setLockContentionMillisecondsHold(100);
+        LockContentionAssault assault = new LockContentionAssault(settings, metricEventPublisher);
+
+        long start = System.nanoTime();
+        assault.attack();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        verify(metricEventPublisher).publishMetricEvent(MetricType.LOCK_CONTENTION_ASSAULT);
+    }
+
+    @Test
+    void concurrentAttacksOnOneStripeWaitForEachOther() throws InterruptedException {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setLockContentionStripes(1);
+        assaultProperties.setLockContentionMillisecondsHold(300);
+        LockContentionAssault assault = new LockContentionAssault(settings, metricEventPublisher);
+
+        CountDownLatch started = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            started.countDown();
+            assault.attack();
+        });
+        holder.start();
+        started.await();
+        Thread.sleep(100);
+        assault.attack();
+        holder.join();
+
+        ArgumentCaptor<Long> waits = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher, times(2)).publishMetricEvent(eq(MetricType.LOCK_CONTENTION_ASSAULT_WAIT), waits.capture());
+        assertThat(waits.getAllValues()).anySatisfy(wait -> assertThat(wait).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toMicros(100)));
+    }
+
+    @Test
+    void doesNotBlockNonBlockingCallers() {
+        LockContentionAssault assault = new LockContentionAssault(settings, metricEventPublisher);
+
+        // the request scope doesn't choose it for these callers, if called anyway
+        // it does nothing
+        assertThat(assault.isBlockingOnly()).isTrue();
+        assertThat(assault.attackNonBlocking()).isZero();
+        verifyNoInteractions(metricEventPublisher);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MemoryFillerTest {
+
+    private static final long MB = SizeConverter.toBytes(1);
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @BeforeEach
+    void setUp() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+    }
+
+    @Test
+    void fillsDirectMemoryUpToTarget() {
+        assaultProperties.setDirectMemoryFillTargetFraction(0.5);
+        assaultProperties.setDirectMemoryFillIncrementFraction(0.25);
+        MemoryFiller filler = new DirectMemoryFiller(settings, metricEventPublisher, 64 * MB);
+
+        fillCompletely(filler);
+
+        assertThat(filler.getStolenMemoryTotal()).isPositive().isLessThanOrEqualTo(32 * MB);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_DIRECT_MEMORY_STOLEN, filler.getStolenMemoryTotal());
+
+        filler.release(Runtime.getRuntime());
+
+        assertThat(filler.getStolenMemoryTotal()).isZero();
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_DIRECT_MEMORY_STOLEN, 0L);
+    }
+
+    @Test
+    void fillsMappedMemoryUpToTarget() {
+        assaultProperties.setMappedMemoryFillTargetFraction(0.25);
+        assaultProperties.setMappedMemoryFillIncrementFraction(0.125);
+        MemoryFiller filler = new MappedMemoryFiller(settings, metricEventPublisher, 64 * MB);
+
+        assertThat(fillCompletely(filler)).isEqualTo(2);
+
+        assertThat(filler.getStolenMemoryTotal()).isEqualTo(16 * MB);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_MAPPED_MEMORY_STOLEN, 8 * MB);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_MAPPED_MEMORY_STOLEN, 16 * MB);
+
+        filler.release(Runtime.getRuntime());
+
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_MAPPED_MEMORY_STOLEN, 0L);
+    }
+
+    @Test
+    void mapsMemoryInConfiguredDirectory(@TempDir File directory) {
+        assaultProperties.setMappedMemoryDirectory(directory.getAbsolutePath());
+        assaultProperties.setMappedMemoryFillTargetFraction(0.25);
+        assaultProperties.setMappedMemoryFillIncrementFraction(0.25);
+        MappedMemoryFiller filler = new MappedMemoryFiller(settings, metricEventPublisher, 16 * MB);
+
+        assertThat(filler.getDirectory()).isEqualTo(directory.toPath());
+        assertThat(fillCompletely(filler)).isEqualTo(1);
+
+        assertThat(filler.getStolenMemoryTotal()).isEqualTo(4 * MB);
+        // the mapped file is deleted right away
+        assertThat(directory.list()).isEmpty();
+
+        filler.release(Runtime.getRuntime());
+    }
+
+    @Test
+    void fillsMetaspaceWithGeneratedClasses() {
+        MemoryPoolMXBean metaspace = ManagementFactory.getMemoryPoolMXBeans().stream().filter(it -> "Metaspace".equals(it.getName())).findFirst()
+                .orElseThrow(IllegalStateException::new);
+        // pretend the limit is a few MB above the current usage
+        long maxMetaspace = (long) ((metaspace.getUsage().getUsed() + 4 * MB) / 0.95);
+        assaultProperties.setMetaspaceFillTargetFraction(0.95);
+        assaultProperties.setMetaspaceFillIncrementFraction(2.0 * MB / maxMetaspace);
+        MemoryFiller filler = new MetaspaceFiller(settings, metricEventPublisher, maxMetaspace);
+
+        assertThat(filler.isAvailable()).isTrue();
+        fillCompletely(filler);
+
+        assertThat(filler.isFilled()).isTrue();
+        assertThat(filler.getStolenMemoryTotal()).isPositive();
+
+        filler.release(Runtime.getRuntime());
+
+        verify(metricEventPublisher).publishMetricEvent(MetricType.MEMORY_ASSAULT_METASPACE_STOLEN, 0L);
+    }
+
+    private static int fillCompletely(MemoryFiller filler) {
+        int steps = 0;
+        while (steps < 100 && !filler.isFilled() && filler.fill()) {
+            steps++;
+        }
+        return steps;
+    }
+}
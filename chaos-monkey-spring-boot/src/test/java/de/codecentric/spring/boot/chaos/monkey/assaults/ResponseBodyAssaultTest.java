@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseBodyAssaultTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+
+    @Test
+    void passesTheBodyOnWithoutConfiguration() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        NettyDataBuffer buffer = buffer(10);
+
+        List<DataBuffer> received = attack(Flux.just(buffer)).collectList().block();
+
+        assertThat(received).containsExactly(buffer);
+        release(received);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.RESPONSE_BODY_ASSAULT);
+    }
+
+    @Test
+    void truncatesTheBodyAfterTheConfiguredBytes() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setResponseBodyTruncateAfterBytes(15);
+        NettyDataBuffer first = buffer(10);
+        NettyDataBuffer second = buffer(10);
+        NettyDataBuffer third = buffer(10);
+
+        // like a connection, the source discards what it did not emit on cancel
+        List<DataBuffer> received = attack(Flux.fromIterable(Arrays.asList(first, second, third))).collectList().block();
+
+        assertThat(received.stream().mapToInt(DataBuffer::readableByteCount).sum()).isEqualTo(15);
+        release(received);
+        assertReleased(first, second, third);
+    }
+
+    @Test
+    void failsTheBodyAfterTheConfiguredBytes() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setResponseBodyErrorAfterBytes(5);
+        assaultProperties.setResponseBodyTruncateAfterBytes(15);
+        NettyDataBuffer first = buffer(10);
+        NettyDataBuffer second = buffer(10);
+        List<DataBuffer> received = new ArrayList<>();
+
+        assertThatThrownBy(() -> attack(Flux.fromIterable(Arrays.asList(first, second))).doOnNext(received::add).blockLast()).hasRootCauseInstanceOf(IOException.class);
+
+        assertThat(received.stream().mapToInt(DataBuffer::readableByteCount).sum()).isEqualTo(5);
+        release(received);
+        assertReleased(first, second);
+    }
+
+    @Test
+    void throttlesTheBodyToTheConfiguredBandwidth() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setResponseBodyBytesPerSecond(1000);
+        NettyDataBuffer buffer = buffer(300);
+
+        long start = System.nanoTime();
+        List<DataBuffer> received = attack(Flux.just(buffer)).collectList().block();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(received).hasSize(3).allSatisfy(slice -> assertThat(slice.readableByteCount()).isEqualTo(100));
+        release(received);
+        assertReleased(buffer);
+    }
+
+    @Test
+    void delaysSlicesByTheExactTimeForTheirBytes() {
+        // 1 second divided by 3 bytes per second isn't a whole number of nanos
+        assertThat(ResponseBodyAssault.delayNanos(1, 3)).isEqualTo(333_333_333L);
+        assertThat(ResponseBodyAssault.delayNanos(3, 3)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(ResponseBodyAssault.delayNanos(1000, 3_000_000)).isEqualTo(333_333L);
+        // more than Long.MAX_VALUE / 1e9 bytes must not overflow
+        assertThat(ResponseBodyAssault.delayNanos(10_000_000_000L, 1000)).isEqualTo(TimeUnit.SECONDS.toNanos(10_000_000L));
+    }
+
+    @Test
+    void releasesTheSlicesThatAreNotConsumed() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setResponseBodyBytesPerSecond(100);
+        NettyDataBuffer buffer = buffer(100);
+
+        List<DataBuffer> received = attack(Flux.just(buffer)).take(1).collectList().block();
+
+        assertThat(received).hasSize(1);
+        release(received);
+        assertReleased(buffer);
+    }
+
+    @Test
+    void slicesShareTheMemoryOfTheBuffer() {
+        NettyDataBuffer buffer = buffer(25);
+
+        List<DataBuffer> slices = ResponseBodyAssault.slice(buffer, 10);
+
+        assertThat(slices).extracting(DataBuffer::readableByteCount).containsExactly(10, 10, 5);
+        assertThat(((NettyDataBuffer) slices.get(0)).getNativeBuffer().unwrap()).isSameAs(buffer.getNativeBuffer());
+        release(slices);
+        assertReleased(buffer);
+    }
+
+    private Flux<DataBuffer> attack(Flux<DataBuffer> body) {
+        return new ResponseBodyAssault(settings, metricEventPublisher).attackBody(body);
+    }
+
+    private NettyDataBuffer buffer(int length) {
+        NettyDataBuffer buffer = bufferFactory.allocateBuffer(length);
+        buffer.write(new byte[length]);
+        return buffer;
+    }
+
+    private static void release(List<DataBuffer> buffers) {
+        buffers.forEach(DataBufferUtils::release);
+    }
+
+    private static void assertReleased(NettyDataBuffer... buffers) {
+        for (NettyDataBuffer buffer : buffers) {
+            assertThat(buffer.getNativeBuffer().refCnt()).isZero();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SafepointAssaultTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    @Test
+    void requestsSafepointsAndPublishesPauses() {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setSafepointActive(true);
+        assaultProperties.setSafepointMillisecondsHoldLoad(1200);
+        assaultProperties.setSafepointMillisecondsInterval(10);
+        assaultProperties.setSafepointCountedLoopThreads(1);
+        assaultProperties.setSafepointCountedLoopIterations(1000000);
+
+        new SafepointAssault(ManagementFactory.getThreadMXBean(), settings, metricEventPublisher).attack();
+
+        ArgumentCaptor<Long> operations = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.SAFEPOINT_ASSAULT);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.SAFEPOINT_ASSAULT_OPERATIONS), operations.capture());
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.SAFEPOINT_ASSAULT_MAX_PAUSE), anyLong());
+        assertThat(operations.getValue()).isGreaterThan(10);
+        assertThat(Arrays.stream(Thread.getAllStackTraces().keySet().toArray(new Thread[0])).map(Thread::getName))
+                .noneMatch(name -> name.startsWith("Safepoint Assault thread"));
+    }
+
+    @Test
+    void usesOwnCronExpression() {
+        SafepointAssault assault = new SafepointAssault(ManagementFactory.getThreadMXBean(), settings, metricEventPublisher);
+
+        assertThat(assault.getCronExpression(assaultProperties)).isEqualTo("OFF");
+        assaultProperties.setSafepointCronExpression("*/5 * * * * ?");
+        assertThat(assault.getCronExpression(assaultProperties)).isEqualTo("*/5 * * * * ?");
+    }
+}
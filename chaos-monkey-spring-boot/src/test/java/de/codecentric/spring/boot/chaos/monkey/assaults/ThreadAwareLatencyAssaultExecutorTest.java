@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadAwareLatencyAssaultExecutorTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    @Test
+    void platformThreadIsNotVirtual() {
+        assertThat(ThreadAwareLatencyAssaultExecutor.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    void blocksPlatformThreadAndPublishesBlockedThreads() {
+        AssaultProperties assaultProperties = new AssaultProperties();
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        ThreadAwareLatencyAssaultExecutor executor = new ThreadAwareLatencyAssaultExecutor(settings, metricEventPublisher);
+
+        long start = System.nanoTime();
+        executor.execute(50);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        assertThat(executor.getBlockedPlatformThreads()).isZero();
+        verify(metricEventPublisher).publishMetricEvent(MetricType.LATENCY_ASSAULT_BLOCKED_THREADS, 1L);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.LATENCY_ASSAULT_BLOCKED_THREADS, 0L);
+    }
+
+    @Test
+    void skipsLatencyWhenTooManyPlatformThreadsAreBlocked() throws InterruptedException {
+        AssaultProperties assaultProperties = new AssaultProperties();
+        assaultProperties.setLatencyMaxBlockedThreads(1);
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        ThreadAwareLatencyAssaultExecutor executor = new ThreadAwareLatencyAssaultExecutor(settings, metricEventPublisher);
+
+        Thread blocked = new Thread(() -> executor.execute(2000));
+        blocked.start();
+        while (executor.getBlockedPlatformThreads() == 0) {
+            Thread.sleep(1);
+        }
+
+        long start = System.nanoTime();
+        boolean applied = executor.tryExecute(2000);
+
+        assertThat(applied).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.LATENCY_ASSAULT_SKIPPED);
+        blocked.interrupt();
+        blocked.join();
+        assertThat(executor.getBlockedPlatformThreads()).isZero();
+    }
+}
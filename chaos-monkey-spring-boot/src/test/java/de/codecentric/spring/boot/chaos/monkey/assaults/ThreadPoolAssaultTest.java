@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.assaults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.codecentric.spring.boot.chaos.monkey.assaults.ThreadPoolAssault.OccupiedPool;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadPoolAssaultTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    private final StaticApplicationContext context = new StaticApplicationContext();
+
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.initialize();
+        context.getBeanFactory().registerSingleton("taskExecutor", taskExecutor);
+        context.getBeanFactory().registerSingleton("scheduler", createScheduler());
+        context.getBeanFactory().registerSingleton("cachedPool", Executors.newCachedThreadPool());
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+        context.getBean("scheduler", ThreadPoolTaskScheduler.class).shutdown();
+        context.getBean("cachedPool", ExecutorService.class).shutdown();
+    }
+
+    @Test
+    void discoversBoundedPools() {
+        ThreadPoolAssault assault = new ThreadPoolAssault(context, settings, metricEventPublisher);
+
+        List<String> names = assault.discoverPools(null).stream().map(OccupiedPool::getName).collect(Collectors.toList());
+
+        assertThat(names).containsExactlyInAnyOrder("taskExecutor", "scheduler");
+        assertThat(assault.discoverPools(Collections.singletonList("scheduler"))).hasSize(1);
+    }
+
+    @Test
+    void doesNotInitializeLazyFactoryBeansToFindPools() {
+        GenericBeanDefinition lazyPool = new GenericBeanDefinition();
+        lazyPool.setBeanClass(LazyPoolFactoryBean.class);
+        lazyPool.setLazyInit(true);
+        context.registerBeanDefinition("lazyPool", lazyPool);
+        ThreadPoolAssault assault = new ThreadPoolAssault(context, settings, metricEventPublisher);
+
+        assault.discoverPools(null);
+
+        assertThat(LazyPoolFactoryBean.created).isFalse();
+    }
+
+    @Test
+    void poolSizeDependsOnTheQueue() {
+        ThreadPoolExecutor unboundedQueue = new ThreadPoolExecutor(2, 8, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        ThreadPoolExecutor boundedQueue = new ThreadPoolExecutor(2, 8, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+        assertThat(ThreadPoolAssault.poolSize(unboundedQueue)).isEqualTo(2);
+        assertThat(ThreadPoolAssault.poolSize(boundedQueue)).isEqualTo(8);
+        assertThat(ThreadPoolAssault.poolSize(Executors.newScheduledThreadPool(3))).isEqualTo(3);
+        assertThat(ThreadPoolAssault.poolSize(Runnable::run)).isZero();
+    }
+
+    @Test
+    void occupiesTheConfiguredFractionAndReleasesTheThreads() throws InterruptedException {
+        when(settings.getAssaultProperties()).thenReturn(assaultProperties);
+        assaultProperties.setThreadPoolActive(true);
+        assaultProperties.setThreadPoolBeans(Collections.singletonList("taskExecutor"));
+        assaultProperties.setThreadPoolFillTargetFraction(0.5);
+        assaultProperties.setThreadPoolFillIncrementFraction(0.25);
+        assaultProperties.setThreadPoolMillisecondsWaitNextIncrease(100);
+        assaultProperties.setThreadPoolMillisecondsHoldFilledPools(1200);
+
+        new ThreadPoolAssault(context, settings, metricEventPublisher).attack();
+
+        ArgumentCaptor<Long> occupied = ArgumentCaptor.forClass(Long.class);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.THREAD_POOL_ASSAULT);
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(eq(MetricType.THREAD_POOL_ASSAULT_OCCUPIED_THREADS), occupied.capture());
+        verify(metricEventPublisher, atLeastOnce()).publishMetricEvent(MetricType.THREAD_POOL_ASSAULT_QUEUE_DEPTH, 0L);
+        assertThat(occupied.getAllValues()).contains(1L, 2L).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(2L));
+
+        // the blockers return once they are released
+        long deadline = System.currentTimeMillis() + 5000;
+        while (taskExecutor.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(taskExecutor.getActiveCount()).isZero();
+    }
+
+    @Test
+    void queuesBlockersOfSaturatedPools() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.execute(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        OccupiedPool busyPool = new OccupiedPool("busy", executor, 1);
+
+        busyPool.occupy(1.0);
+
+        assertThat(busyPool.getOccupiedThreads()).isZero();
+        assertThat(busyPool.queueDepth()).isEqualTo(1);
+        busyPool.release();
+        assertThat(busyPool.queueDepth()).isZero();
+        executor.shutdown();
+    }
+
+    static class LazyPoolFactoryBean implements FactoryBean<Object> {
+
+        private static volatile boolean created;
+
+        LazyPoolFactoryBean() {
+            created = true;
+        }
+
+        @Override
+        public Object getObject() {
+            return Executors.newSingleThreadExecutor();
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return ExecutorService.class;
+        }
+    }
+
+    private static ThreadPoolTaskScheduler createScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
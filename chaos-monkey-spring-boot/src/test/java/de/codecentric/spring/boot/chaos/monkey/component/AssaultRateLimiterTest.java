@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultRateLimit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AssaultRateLimiterTest {
+
+    private static final long START = 42;
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldAllowBurstAndThenRefillAtRate() {
+        AssaultRateLimiter limiter = limiter(new AssaultRateLimit(null, null, false, 2, 3));
+
+        assertThat(acquire(limiter, "a", START)).isEqualTo(3);
+        assertThat(acquire(limiter, "a", START + ONE_SECOND / 2)).isEqualTo(1);
+        assertThat(acquire(limiter, "a", START + ONE_SECOND)).isEqualTo(1);
+        // a quiet period refills the bucket, but not above the burst
+        assertThat(acquire(limiter, "a", START + 60 * ONE_SECOND)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldShareLimitBetweenMethods() {
+        AssaultRateLimiter limiter = limiter(new AssaultRateLimit(null, null, false, 1, 1));
+
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "b", START)).isFalse();
+    }
+
+    @Test
+    void shouldLimitEveryMethodOnItsOwn() {
+        AssaultRateLimiter limiter = limiter(new AssaultRateLimit(null, null, true, 1, 1));
+
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "b", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isFalse();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", null, START)).isTrue();
+    }
+
+    @Test
+    void shouldOnlyApplyToMatchingTargetAndAssault() {
+        AssaultRateLimiter limiter = limiter(new AssaultRateLimit(ChaosTarget.REPOSITORY, "latency", false, 0, 1));
+
+        assertThat(limiter.tryAcquire(ChaosTarget.REPOSITORY, "Latency", "a", START)).isFalse();
+        assertThat(limiter.tryAcquire(ChaosTarget.REPOSITORY, "Exception", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(null, "Latency", "a", START)).isTrue();
+    }
+
+    @Test
+    void shouldRequireAllMatchingLimits() {
+        AssaultRateLimiter limiter = new AssaultRateLimiter(
+                Arrays.asList(new AssaultRateLimit(null, null, false, 100, 100), new AssaultRateLimit(null, "exception", true, 1, 1)), START);
+
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Exception", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Exception", "a", START)).isFalse();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+    }
+
+    @Test
+    void shouldNotChargeLimitsThatAllowedAnAssaultDeniedByAnotherLimit() {
+        // the global limit comes first and allows 2 assaults, the tight per method
+        // limit denies the second assault of "a"
+        AssaultRateLimiter limiter = new AssaultRateLimiter(
+                Arrays.asList(new AssaultRateLimit(null, null, false, 2, 2), new AssaultRateLimit(null, null, true, 1, 1)), START);
+
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isFalse();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isFalse();
+        // the denied assaults haven't used up the global limit
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "b", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "c", START)).isFalse();
+    }
+
+    @Test
+    void shouldNotOverflowWithTinyRates() {
+        AssaultRateLimiter limiter = limiter(new AssaultRateLimit(null, null, false, 1e-12, 1000));
+
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isTrue();
+        assertThat(limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", "a", START)).isFalse();
+    }
+
+    @Test
+    void shouldAllowEverythingWithoutLimits() {
+        assertThat(AssaultRateLimiter.NONE.isFor(null)).isTrue();
+        assertThat(AssaultRateLimiter.NONE.tryAcquire(ChaosTarget.SERVICE, "Latency", "a")).isTrue();
+    }
+
+    private static AssaultRateLimiter limiter(AssaultRateLimit rateLimit) {
+        return new AssaultRateLimiter(Collections.singletonList(rateLimit), START);
+    }
+
+    private static int acquire(AssaultRateLimiter limiter, String signature, long nanoTime) {
+        int acquired = 0;
+        while (acquired < 100 && limiter.tryAcquire(ChaosTarget.SERVICE, "Latency", signature, nanoTime)) {
+            acquired++;
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncChaosMetricsRecorderTest {
+
+    @Mock
+    private ChaosMetricsRecorder delegate;
+
+    @Test
+    void shouldForwardBufferedObservationsInOrder() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 16, 10, false);
+
+        recorder.recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+        recorder.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        verify(delegate, never()).recordWatchedCalls(MetricType.SERVICE, "execution.DemoService.sayHello", 1);
+
+        assertThat(recorder.drain()).isEqualTo(2);
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).recordWatchedCalls(MetricType.SERVICE, "execution.DemoService.sayHello", 1);
+        inOrder.verify(delegate).recordCount(MetricType.APPLICATION_REQ_COUNT, 1, "type", "total");
+    }
+
+    @Test
+    void shouldSumIdenticalObservationsOfABatch() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 16, 10, false);
+
+        for (int i = 0; i < 5; i++) {
+            recorder.recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+            recorder.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        }
+        recorder.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "assaulted");
+
+        assertThat(recorder.drain()).isEqualTo(11);
+
+        verify(delegate).recordWatchedCalls(MetricType.SERVICE, "execution.DemoService.sayHello", 5);
+        verify(delegate).recordCount(MetricType.APPLICATION_REQ_COUNT, 5, "type", "total");
+        verify(delegate).recordCount(MetricType.APPLICATION_REQ_COUNT, 1, "type", "assaulted");
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void shouldOnlyForwardLastValueOfABatch() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 16, 10, false);
+
+        recorder.recordValue(MetricType.LATENCY_ASSAULT, 1000);
+        recorder.recordValue(MetricType.LATENCY_ASSAULT, 2000);
+        recorder.drain();
+
+        verify(delegate, never()).recordValue(MetricType.LATENCY_ASSAULT, 1000);
+        verify(delegate).recordValue(MetricType.LATENCY_ASSAULT, 2000);
+    }
+
+    @Test
+    void shouldForwardEveryInjectedLatency() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 16, 10, false);
+
+        recorder.recordInjectedLatency(ChaosTarget.SERVICE, 1000);
+        recorder.recordInjectedLatency(ChaosTarget.SERVICE, 2000);
+        recorder.drain();
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).recordInjectedLatency(ChaosTarget.SERVICE, 1000);
+        inOrder.verify(delegate).recordInjectedLatency(ChaosTarget.SERVICE, 2000);
+    }
+
+    @Test
+    void shouldCountDropsIfBufferIsFull() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 4, 10, false);
+
+        for (int i = 0; i < 6; i++) {
+            recorder.recordCount(MetricType.EXCEPTION_ASSAULT);
+        }
+
+        assertThat(recorder.getDroppedCount()).isEqualTo(2);
+        assertThat(recorder.drain()).isEqualTo(4);
+        verify(delegate).recordValue(MetricType.METRICS_DROPPED, 2);
+
+        // the slots are free again
+        recorder.recordCount(MetricType.EXCEPTION_ASSAULT);
+        assertThat(recorder.drain()).isEqualTo(1);
+        assertThat(recorder.getDroppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDrainInBackground() {
+        AsyncChaosMetricsRecorder recorder = new AsyncChaosMetricsRecorder(delegate, 16, 10);
+        try {
+            recorder.recordCount(MetricType.CPU_ASSAULT);
+
+            verify(delegate, timeout(5000)).recordCount(MetricType.CPU_ASSAULT, 1);
+        } finally {
+            recorder.close();
+        }
+    }
+}
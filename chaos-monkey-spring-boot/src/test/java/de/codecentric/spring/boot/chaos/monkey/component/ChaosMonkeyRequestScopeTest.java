@@ -15,6 +15,8 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.component;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -22,15 +24,20 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyAssault;
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyResponseBodyAssault;
 import de.codecentric.spring.boot.chaos.monkey.assaults.ExceptionAssault;
 import de.codecentric.spring.boot.chaos.monkey.assaults.LatencyAssault;
+import de.codecentric.spring.boot.chaos.monkey.assaults.LockContentionAssault;
 import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultRateLimit;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeyProperties;
 import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
 import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.DefaultChaosToggleNameMapper;
 import de.codecentric.spring.boot.chaos.monkey.configuration.toggles.DefaultChaosToggles;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -77,8 +84,8 @@ class ChaosMonkeyRequestScopeTest {
 
         chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-        verify(latencyAssault, never()).attack();
-        verify(exceptionAssault, never()).attack();
+        verify(latencyAssault, never()).attack(any(), any());
+        verify(exceptionAssault, never()).attack(any(), any());
     }
 
     @Nested
@@ -100,7 +107,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, times(1)).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -111,7 +118,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(exceptionAssault, times(1)).attack();
+            verify(exceptionAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -121,7 +128,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, times(1)).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -131,7 +138,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(exceptionAssault, times(1)).attack();
+            verify(exceptionAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -142,7 +149,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(exceptionAssault, times(1)).attack();
+            verify(exceptionAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -154,7 +161,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, times(1)).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -164,7 +171,7 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(exceptionAssault, times(1)).attack();
+            verify(exceptionAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -174,15 +181,50 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, times(1)).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
+        }
+
+        @Test
+        void isLatencyActiveExpectNonBlockingDelay() {
+            given(exceptionAssault.isActive()).willReturn(false);
+            given(latencyAssault.isActive()).willReturn(true);
+            given(latencyAssault.attackNonBlocking(any(), any())).willReturn(500L);
+
+            ResponseAttack attack = chaosMonkeyRequestScope.callChaosMonkeyNonBlocking(null, null);
+
+            assertThat(attack.getDelay()).isEqualTo(500L);
+            verify(latencyAssault, never()).attack(any(), any());
+            verify(latencyAssault, never()).delayApplied(any(), any(), any(Long.class));
+
+            attack.delayApplied();
+
+            verify(latencyAssault).delayApplied(null, null, 500L);
+        }
+
+        @Test
+        void givenRateLimitedAssaultExpectOnlyAllowedAttacks() {
+            given(exceptionAssault.isActive()).willReturn(false);
+            given(latencyAssault.isActive()).willReturn(true);
+            given(assaultProperties.isRateLimitsActive()).willReturn(true);
+            given(assaultProperties.getRateLimits())
+                    .willReturn(Collections.singletonList(new AssaultRateLimit(ChaosTarget.REPOSITORY, "latency", false, 0.001, 2)));
+
+            for (int i = 0; i < 5; i++) {
+                chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.REPOSITORY, "Repository.findAll");
+            }
+            chaosMonkeyRequestScope.callChaosMonkey(ChaosTarget.SERVICE, "Service.findAll");
+
+            // the burst on the repository, the service is not limited
+            verify(latencyAssault, times(3)).attack(any(), any());
+            verify(metricEventPublisherMock, times(3)).publishMetricEvent(MetricType.ASSAULT_RATE_LIMITED);
         }
 
         @Test
         void givenNoAssaultsActiveExpectNoAttack() {
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, never()).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, never()).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
         }
 
         @Test
@@ -192,8 +234,8 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, null);
 
-            verify(latencyAssault, never()).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, never()).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
         }
 
         @Test
@@ -205,8 +247,8 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, "notInListService");
 
-            verify(latencyAssault, never()).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, never()).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
         }
 
         @Test
@@ -221,8 +263,8 @@ class ChaosMonkeyRequestScopeTest {
 
             chaosMonkeyRequestScope.callChaosMonkey(null, customService);
 
-            verify(latencyAssault, times(1)).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
         }
 
         @Test
@@ -238,8 +280,8 @@ class ChaosMonkeyRequestScopeTest {
             String simpleName = customRepository + ".findAll";
             chaosMonkeyRequestScope.callChaosMonkey(null, simpleName);
 
-            verify(latencyAssault, times(1)).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
         }
 
         @Test
@@ -255,8 +297,46 @@ class ChaosMonkeyRequestScopeTest {
             String simpleName = packageName + "CrudRepository.findAll";
             chaosMonkeyRequestScope.callChaosMonkey(null, simpleName);
 
-            verify(latencyAssault, times(1)).attack();
-            verify(exceptionAssault, never()).attack();
+            verify(latencyAssault, times(1)).attack(any(), any());
+            verify(exceptionAssault, never()).attack(any(), any());
+        }
+
+        @Test
+        void chaosMonkeyIsCalledWhenServiceIsWatchedByOneOfManyPrefixes() {
+            List<String> watchedCustomServices = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                watchedCustomServices.add("com.example.service" + i + ".OrderService");
+            }
+            // covered by the shorter prefix
+            watchedCustomServices.add("com.example.service42.OrderService.cancel");
+            watchedCustomServices.add("com.example.service42.Order");
+
+            given(latencyAssault.isActive()).willReturn(true);
+            given(assaultProperties.getWatchedCustomServices()).willReturn(watchedCustomServices);
+            given(chaosMonkeySettings.getAssaultProperties().isWatchedCustomServicesActive()).willReturn(true);
+
+            chaosMonkeyRequestScope.callChaosMonkey(null, "com.example.service42.OrderService.cancel");
+            chaosMonkeyRequestScope.callChaosMonkey(null, "com.example.service42.OrderRepository.save");
+            chaosMonkeyRequestScope.callChaosMonkey(null, "com.example.service420.PaymentService.pay");
+            chaosMonkeyRequestScope.callChaosMonkey(null, "com.example.service4.OrderRepository.save");
+            // served from the cached result
+            chaosMonkeyRequestScope.callChaosMonkey(null, "com.example.service42.OrderService.cancel");
+
+            verify(latencyAssault, times(3)).attack(any(), any());
+        }
+
+        @Test
+        void chaosMonkeyPicksUpChangedWatchedCustomServices() {
+            given(latencyAssault.isActive()).willReturn(true);
+            given(chaosMonkeySettings.getAssaultProperties().isWatchedCustomServicesActive()).willReturn(true);
+            given(assaultProperties.getWatchedCustomServices()).willReturn(Collections.singletonList("CustomService"),
+                    Collections.singletonList("OtherService"));
+
+            chaosMonkeyRequestScope.callChaosMonkey(null, "OtherService");
+            verify(latencyAssault, never()).attack(any(), any());
+
+            chaosMonkeyRequestScope.callChaosMonkey(null, "OtherService");
+            verify(latencyAssault, times(1)).attack(any(), any());
         }
 
         @Test
@@ -271,6 +351,59 @@ class ChaosMonkeyRequestScopeTest {
             customScope.callChaosMonkey(null, "foo");
             verify(customAssault).attack();
         }
+
+        @Test
+        void responseBodyAssaultIsReturnedToStreamingCallers() {
+            ChaosMonkeyResponseBodyAssault bodyAssault = mock(ChaosMonkeyResponseBodyAssault.class);
+            given(bodyAssault.isActive()).willReturn(true);
+            ChaosMonkeyRequestScope streamingScope = new ChaosMonkeyRequestScope(chaosMonkeySettings,
+                    Arrays.asList(latencyAssault, bodyAssault), Collections.emptyList(), metricEventPublisherMock, new DefaultChaosToggles(),
+                    new DefaultChaosToggleNameMapper(chaosMonkeyProperties.getTogglePrefix()));
+
+            ResponseAttack attack = streamingScope.callChaosMonkeyStreaming(ChaosTarget.WEB_CLIENT, "http://localhost/foo");
+
+            assertThat(attack.getBodyAssault()).isSameAs(bodyAssault);
+            assertThat(attack.getDelay()).isZero();
+            verify(bodyAssault, never()).attack();
+        }
+
+        @Test
+        void blockingOnlyAssaultIsNeverChosenForNonBlockingCallers() {
+            LockContentionAssault lockContentionAssault = mock(LockContentionAssault.class);
+            given(lockContentionAssault.isBlockingOnly()).willReturn(true);
+            given(lockContentionAssault.isActive()).willReturn(true);
+            given(latencyAssault.isActive()).willReturn(true);
+            given(latencyAssault.attackNonBlocking(any(), any())).willReturn(500L);
+            // only the latency assault is a candidate for non-blocking callers
+            given(assaultProperties.chooseAssault(1)).willReturn(0);
+            ChaosMonkeyRequestScope lockScope = new ChaosMonkeyRequestScope(chaosMonkeySettings,
+                    Arrays.asList(latencyAssault, lockContentionAssault), Collections.emptyList(), metricEventPublisherMock,
+                    new DefaultChaosToggles(), new DefaultChaosToggleNameMapper(chaosMonkeyProperties.getTogglePrefix()));
+
+            ResponseAttack attack = lockScope.callChaosMonkeyNonBlocking(ChaosTarget.COMPONENT, "com.example.DemoService.sayHello");
+
+            assertThat(attack.getDelay()).isEqualTo(500L);
+            verify(lockContentionAssault, never()).attackNonBlocking(any(), any());
+
+            given(assaultProperties.chooseAssault(2)).willReturn(1);
+            lockScope.callChaosMonkey(ChaosTarget.COMPONENT, "com.example.DemoService.sayHello");
+
+            verify(lockContentionAssault).attack(any(), any());
+        }
+
+        @Test
+        void responseBodyAssaultIsNeverChosenForBlockingCallers() {
+            ChaosMonkeyResponseBodyAssault bodyAssault = mock(ChaosMonkeyResponseBodyAssault.class);
+            given(latencyAssault.isActive()).willReturn(true);
+            ChaosMonkeyRequestScope streamingScope = new ChaosMonkeyRequestScope(chaosMonkeySettings,
+                    Arrays.asList(latencyAssault, bodyAssault), Collections.emptyList(), metricEventPublisherMock, new DefaultChaosToggles(),
+                    new DefaultChaosToggleNameMapper(chaosMonkeyProperties.getTogglePrefix()));
+
+            streamingScope.callChaosMonkey(ChaosTarget.REST_TEMPLATE, "http://localhost/foo");
+
+            verify(latencyAssault, times(1)).attack(any(), any());
+            verify(bodyAssault, never()).isActive();
+        }
     }
 
     @Test
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class DeterministicSamplerTest {
+
+    @Test
+    void shouldPickEveryNthCallOfAThread() {
+        DeterministicSampler sampler = new DeterministicSampler(8);
+
+        for (int i = 1; i <= 30; i++) {
+            assertThat(sampler.sample(3)).isEqualTo(i % 3 == 0);
+        }
+    }
+
+    @Test
+    void shouldRoundStripesToPowerOfTwo() {
+        assertThat(new DeterministicSampler(1).getStripes()).isEqualTo(1);
+        assertThat(new DeterministicSampler(6).getStripes()).isEqualTo(8);
+        assertThat(new DeterministicSampler(1000).getStripes()).isEqualTo(64);
+    }
+
+    @Test
+    void shouldPickOneInNOverAllThreadsWithinTheNumberOfStripes() throws InterruptedException {
+        DeterministicSampler sampler = new DeterministicSampler(4);
+        AtomicInteger picked = new AtomicInteger();
+        int threads = 8;
+        int callsPerThread = 10_000;
+        int level = 7;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                for (int call = 0; call < callsPerThread; call++) {
+                    if (sampler.sample(level)) {
+                        picked.incrementAndGet();
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int expected = threads * callsPerThread / level;
+        assertThat(picked.get()).isBetween(expected - sampler.getStripes(), expected + sampler.getStripes());
+    }
+}
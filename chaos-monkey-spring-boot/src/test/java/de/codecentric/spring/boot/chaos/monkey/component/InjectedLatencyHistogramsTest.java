@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto;
+import org.junit.jupiter.api.Test;
+
+class InjectedLatencyHistogramsTest {
+
+    @Test
+    void shouldReportPercentilesPerTarget() {
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(false);
+        for (int i = 1; i <= 1000; i++) {
+            histograms.record(ChaosTarget.SERVICE, "com.example.DemoService.sayHello", i);
+        }
+        histograms.record(ChaosTarget.REPOSITORY, null, 5000);
+
+        InjectedLatencyDto snapshot = histograms.snapshot();
+
+        assertThat(snapshot.getTotal().getCount()).isEqualTo(1001);
+        assertThat(snapshot.getTotal().getMax()).isBetween(5000L, 5005L);
+        assertThat(snapshot.getTargets()).containsOnlyKeys("service", "repository");
+        InjectedLatencyDto.Percentiles service = snapshot.getTargets().get("service");
+        assertThat(service.getP50()).isEqualTo(500);
+        assertThat(service.getP99()).isEqualTo(990);
+        assertThat(service.getP999()).isEqualTo(999);
+        assertThat(snapshot.getMethods()).isNull();
+    }
+
+    @Test
+    void shouldRecordPerMethodIfEnabled() {
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(true);
+
+        histograms.record(ChaosTarget.SERVICE, "com.example.DemoService.sayHello", 100);
+        histograms.record(ChaosTarget.SERVICE, "com.example.DemoService.sayBye", 200);
+        histograms.record(null, null, 300);
+
+        InjectedLatencyDto snapshot = histograms.snapshot();
+        assertThat(snapshot.getTotal().getCount()).isEqualTo(3);
+        assertThat(snapshot.getTargets().get("service").getCount()).isEqualTo(2);
+        assertThat(snapshot.getMethods()).containsOnlyKeys("com.example.DemoService.sayHello", "com.example.DemoService.sayBye");
+        assertThat(snapshot.getMethods().get("com.example.DemoService.sayBye").getP50()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldLimitTheNumberOfMethods() {
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(true);
+
+        for (int i = 0; i < InjectedLatencyHistograms.MAX_METHODS + 10; i++) {
+            histograms.record(ChaosTarget.WEB_CLIENT, "http://localhost/" + i, 10);
+        }
+
+        InjectedLatencyDto snapshot = histograms.snapshot();
+        assertThat(snapshot.getMethods()).hasSize(InjectedLatencyHistograms.MAX_METHODS);
+        assertThat(snapshot.getTargets().get("webClient").getCount()).isEqualTo(InjectedLatencyHistograms.MAX_METHODS + 10);
+    }
+
+    @Test
+    void shouldStartOverOnReset() {
+        InjectedLatencyHistograms histograms = new InjectedLatencyHistograms(false);
+        histograms.record(ChaosTarget.SERVICE, null, 100);
+
+        histograms.reset();
+
+        assertThat(histograms.snapshot().getTotal().getCount()).isZero();
+        assertThat(histograms.snapshot().getTargets()).isEmpty();
+    }
+}
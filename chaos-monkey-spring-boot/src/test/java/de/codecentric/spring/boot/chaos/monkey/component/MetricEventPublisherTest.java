@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import de.codecentric.spring.boot.chaos.monkey.events.MetricEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class MetricEventPublisherTest {
+
+    @Mock
+    private ChaosMetricsRecorder recorder;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    void shouldRecordWithoutApplicationEvents() {
+        MetricEventPublisher publisher = new MetricEventPublisher(recorder, false);
+        publisher.setApplicationEventPublisher(applicationEventPublisher);
+
+        publisher.publishMetricEvent("execution.DemoService.sayHello", MetricType.SERVICE);
+        publisher.publishMetricEvent(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        publisher.publishMetricEvent(MetricType.LATENCY_ASSAULT, 1000L);
+
+        verify(recorder).recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+        verify(recorder).recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        verify(recorder).recordValue(MetricType.LATENCY_ASSAULT, 1000L);
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldPublishWatchedCallsWithResolvedRecorder() {
+        Runnable recordCall = mock(Runnable.class);
+        given(recorder.watchedCallRecorder(MetricType.SERVICE, "execution.DemoService.sayHello")).willReturn(recordCall);
+        MetricEventPublisher publisher = new MetricEventPublisher(recorder, true);
+        publisher.setApplicationEventPublisher(applicationEventPublisher);
+
+        Runnable publishCall = publisher.watchedCallPublisher("execution.DemoService.sayHello", MetricType.SERVICE);
+        publishCall.run();
+        publishCall.run();
+
+        verify(recordCall, times(2)).run();
+        verify(applicationEventPublisher, times(2)).publishEvent(any(MetricEvent.class));
+    }
+
+    @Test
+    void shouldAlsoPublishApplicationEventsIfEnabled() {
+        MetricEventPublisher publisher = new MetricEventPublisher(recorder, true);
+        publisher.setApplicationEventPublisher(applicationEventPublisher);
+
+        publisher.publishMetricEvent(MetricType.EXCEPTION_ASSAULT);
+
+        verify(recorder).recordCount(MetricType.EXCEPTION_ASSAULT);
+        verify(applicationEventPublisher).publishEvent(any(MetricEvent.class));
+    }
+}
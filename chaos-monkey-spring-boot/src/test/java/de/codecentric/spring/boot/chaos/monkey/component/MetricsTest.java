@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Metrics metrics = new Metrics(registry);
+
+    @Test
+    void shouldCountUntaggedEvents() {
+        metrics.recordCount(MetricType.LATENCY_ASSAULT);
+        metrics.recordCount(MetricType.LATENCY_ASSAULT);
+
+        assertThat(registry.get("chaos.monkey.assault.latency.count").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIncrementByTheRecordedAmount() {
+        metrics.recordCount(MetricType.APPLICATION_REQ_COUNT, 3, "type", "total");
+        metrics.recordWatchedCalls(MetricType.SERVICE, "execution.DemoService.sayHello", 4);
+
+        assertThat(registry.get("chaos.monkey.application.request.count").tag("type", "total").counter().count()).isEqualTo(3);
+        assertThat(registry.get("chaos.monkey.service.watcher").tag("component", "DemoService.sayHello").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldKeepLastGaugeValue() {
+        metrics.recordValue(MetricType.LATENCY_ASSAULT, 1200);
+        metrics.recordValue(MetricType.LATENCY_ASSAULT, 800);
+
+        assertThat(registry.get("chaos.monkey.assault.latency.count.gauge.").gauge().value()).isEqualTo(800);
+        assertThat(registry.get("chaos.monkey.assault.latency.count").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldCountTaggedEventsPerTags() {
+        metrics.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        metrics.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "total");
+        metrics.recordCount(MetricType.APPLICATION_REQ_COUNT, "type", "assaulted");
+
+        assertThat(registry.get("chaos.monkey.application.request.count").tag("type", "total").counter().count()).isEqualTo(2);
+        assertThat(registry.get("chaos.monkey.application.request.count").tag("type", "assaulted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountWatchedMethodsPerComponent() {
+        metrics.recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+        metrics.recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+
+        assertThat(registry.get("chaos.monkey.service.watcher").tag("component", "DemoService.sayHello").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountWatchedMethodsWithResolvedRecorder() {
+        Runnable recordCall = metrics.watchedCallRecorder(MetricType.SERVICE, "execution.DemoService.sayHello");
+        recordCall.run();
+        metrics.recordWatchedCall(MetricType.SERVICE, "execution.DemoService.sayHello");
+
+        assertThat(registry.get("chaos.monkey.service.watcher").tag("component", "DemoService.sayHello").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordInjectedLatencyPerTarget() {
+        metrics.recordInjectedLatency(ChaosTarget.SERVICE, 100);
+        metrics.recordInjectedLatency(ChaosTarget.SERVICE, 300);
+        metrics.recordInjectedLatency(null, 50);
+
+        assertThat(registry.get("chaos.monkey.assault.latency.injected").tag("target", "service").summary().count()).isEqualTo(2);
+        assertThat(registry.get("chaos.monkey.assault.latency.injected").tag("target", "service").summary().max()).isEqualTo(300);
+        assertThat(registry.get("chaos.monkey.assault.latency.injected").tag("target", "unknown").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRemoveGaugesOnDestroy() {
+        metrics.destroy();
+
+        assertThat(registry.find("chaos.monkey.assault.latency.count.gauge.").gauge()).isNull();
+    }
+}
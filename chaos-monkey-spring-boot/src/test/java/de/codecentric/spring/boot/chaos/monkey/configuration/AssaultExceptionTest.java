@@ -141,4 +141,110 @@ class AssaultExceptionTest {
         RuntimeException exception = assertThrows(RuntimeException.class, assaultException::throwExceptionInstance);
         assertThat(exception.getMessage()).isEqualTo("test static initializer");
     }
+
+    @Test
+    void testReusedInstanceHasNoStackTrace() {
+        AssaultException assaultException = new AssaultException();
+        assaultException.setReuseInstance(true);
+
+        RuntimeException first = assertThrows(RuntimeException.class, assaultException::throwExceptionInstance);
+        RuntimeException second = assertThrows(RuntimeException.class, assaultException::throwExceptionInstance);
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(first.getMessage()).isEqualTo("Chaos Monkey - RuntimeException");
+    }
+
+    @Test
+    void testReusedInstanceDoesNotRecordSuppressedExceptions() {
+        AssaultException assaultException = new AssaultException();
+        assaultException.setReuseInstance(true);
+
+        RuntimeException first = assertThrows(RuntimeException.class, () -> throwInTryWithResources(assaultException));
+        RuntimeException second = assertThrows(RuntimeException.class, () -> throwInTryWithResources(assaultException));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSuppressed()).isEmpty();
+        assertThrows(IllegalStateException.class, () -> first.initCause(new IllegalArgumentException()));
+        assertThat(first.fillInStackTrace().getStackTrace()).isEmpty();
+    }
+
+    private static void throwInTryWithResources(AssaultException assaultException) {
+        try (AutoCloseable resource = () -> {
+            throw new IllegalStateException("closing");
+        }) {
+            assaultException.throwExceptionInstance();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ImmutableException extends RuntimeException {
+
+        public ImmutableException(String message) {
+            super(message);
+        }
+
+        protected ImmutableException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+            super(message, cause, enableSuppression, writableStackTrace);
+        }
+    }
+
+    @Test
+    void testReusedInstanceOfCustomTypeIsCreatedImmutable() throws ClassNotFoundException {
+        AssaultException assaultException = new AssaultException();
+        assaultException.setType(ImmutableException.class.getName());
+        assaultException.setReuseInstance(true);
+
+        ImmutableException exception = assertThrows(ImmutableException.class, assaultException::throwExceptionInstance);
+        exception.addSuppressed(new IllegalStateException());
+
+        assertThat(exception.getSuppressed()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Chaos Monkey - RuntimeException");
+        assertThat(assaultException.getExceptionClass()).isEqualTo(ImmutableException.class);
+    }
+
+    @Test
+    void testTypeWhichCannotBeCreatedImmutableIsNotReused() {
+        AssaultException assaultException = new AssaultException();
+        assaultException.setType(IllegalStateException.class.getName());
+        assaultException.setReuseInstance(true);
+
+        IllegalStateException first = assertThrows(IllegalStateException.class, assaultException::throwExceptionInstance);
+        IllegalStateException second = assertThrows(IllegalStateException.class, assaultException::throwExceptionInstance);
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void testNewInstanceForEveryAttackByDefault() {
+        AssaultException assaultException = new AssaultException();
+
+        RuntimeException first = assertThrows(RuntimeException.class, assaultException::throwExceptionInstance);
+        RuntimeException second = assertThrows(RuntimeException.class, assaultException::throwExceptionInstance);
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void testChangedConfigurationIsPickedUp() throws ClassNotFoundException {
+        AssaultException assaultException = new AssaultException();
+        assaultException.prepare();
+        assertThat(assaultException.getExceptionClass()).isEqualTo(RuntimeException.class);
+
+        assaultException.setType(IllegalStateException.class.getName());
+        assaultException.getArguments().get(0).setValue("changed");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, assaultException::throwExceptionInstance);
+        assertThat(exception.getMessage()).isEqualTo("changed");
+        assertThat(assaultException.getExceptionClass()).isEqualTo(IllegalStateException.class);
+    }
+
+    @Test
+    void testFaultyTypeHasNoExceptionClass() {
+        AssaultException assaultException = new AssaultException();
+        assaultException.setType("NonExistentClass");
+
+        assertThrows(ClassNotFoundException.class, assaultException::getExceptionClass);
+    }
 }
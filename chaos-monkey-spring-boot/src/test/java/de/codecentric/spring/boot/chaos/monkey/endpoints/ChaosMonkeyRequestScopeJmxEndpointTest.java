@@ -85,6 +85,70 @@ class ChaosMonkeyRequestScopeJmxEndpointTest {
         assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getCpuActive()).isNotEqualTo(cpuActive);
     }
 
+    @Test
+    void toggleGcPressureAssault() {
+        boolean gcPressureActive = chaosMonkeySettings.getAssaultProperties().isGcPressureActive();
+        chaosMonkeyJmxEndpoint.toggleGcPressureAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getGcPressureActive()).isNotEqualTo(gcPressureActive);
+    }
+
+    @Test
+    void toggleLockContentionAssault() {
+        boolean lockContentionActive = chaosMonkeySettings.getAssaultProperties().isLockContentionActive();
+        chaosMonkeyJmxEndpoint.toggleLockContentionAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getLockContentionActive()).isNotEqualTo(lockContentionActive);
+    }
+
+    @Test
+    void toggleBandwidthAssault() {
+        boolean bandwidthActive = chaosMonkeySettings.getAssaultProperties().isBandwidthActive();
+        chaosMonkeyJmxEndpoint.toggleBandwidthAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getBandwidthActive()).isNotEqualTo(bandwidthActive);
+    }
+
+    @Test
+    void toggleResponseBodyAssault() {
+        boolean responseBodyActive = chaosMonkeySettings.getAssaultProperties().isResponseBodyActive();
+        chaosMonkeyJmxEndpoint.toggleResponseBodyAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getResponseBodyActive()).isNotEqualTo(responseBodyActive);
+    }
+
+    @Test
+    void toggleThreadPoolAssault() {
+        boolean threadPoolActive = chaosMonkeySettings.getAssaultProperties().isThreadPoolActive();
+        chaosMonkeyJmxEndpoint.toggleThreadPoolAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getThreadPoolActive()).isNotEqualTo(threadPoolActive);
+    }
+
+    @Test
+    void toggleDiskIoAssault() {
+        boolean diskIoActive = chaosMonkeySettings.getAssaultProperties().isDiskIoActive();
+        chaosMonkeyJmxEndpoint.toggleDiskIoAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getDiskIoActive()).isNotEqualTo(diskIoActive);
+    }
+
+    @Test
+    void toggleFileDescriptorAssault() {
+        boolean fileDescriptorActive = chaosMonkeySettings.getAssaultProperties().isFileDescriptorActive();
+        chaosMonkeyJmxEndpoint.toggleFileDescriptorAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getFileDescriptorActive()).isNotEqualTo(fileDescriptorActive);
+    }
+
+    @Test
+    void toggleSafepointAssault() {
+        boolean safepointActive = chaosMonkeySettings.getAssaultProperties().isSafepointActive();
+        chaosMonkeyJmxEndpoint.toggleSafepointAssault();
+
+        assertThat(chaosMonkeyJmxEndpoint.getAssaultProperties().getSafepointActive()).isNotEqualTo(safepointActive);
+    }
+
     @Test
     void isChaosMonkeyActive() {
         assertThat(chaosMonkeyJmxEndpoint.isChaosMonkeyActive())
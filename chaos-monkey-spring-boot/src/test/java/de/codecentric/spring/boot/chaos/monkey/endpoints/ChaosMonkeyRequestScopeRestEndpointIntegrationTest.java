@@ -29,6 +29,7 @@ import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.AssaultPropertiesUpdate;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.ChaosMonkeyStatusResponseDto;
+import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.InjectedLatencyDto;
 import de.codecentric.spring.boot.chaos.monkey.endpoints.dto.WatcherPropertiesUpdate;
 import de.codecentric.spring.boot.demo.chaos.monkey.ChaosDemoApplication;
 import java.time.OffsetDateTime;
@@ -248,6 +249,17 @@ class ChaosMonkeyRequestScopeRestEndpointIntegrationTest {
         assertThat(result.getBody().isEnabled()).isFalse();
     }
 
+    @Test
+    void getInjectedLatency() {
+        testRestTemplate.postForEntity(baseUrl + "/assaults/latency/histogram/reset", null, String.class);
+
+        ResponseEntity<InjectedLatencyDto> result = testRestTemplate.getForEntity(baseUrl + "/assaults/latency/histogram", InjectedLatencyDto.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertThat(Objects.requireNonNull(result.getBody()).getTotal().getCount()).isZero();
+        assertThat(result.getBody().getTargets()).isEmpty();
+    }
+
     // ENABLE CHAOS MONKEY
 
     @Test
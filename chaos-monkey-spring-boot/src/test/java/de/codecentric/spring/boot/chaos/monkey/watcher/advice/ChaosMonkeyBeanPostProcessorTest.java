@@ -87,8 +87,9 @@ public class ChaosMonkeyBeanPostProcessorTest {
     }
 
     private void verifyDependenciesCalledXTimes(int i) {
-        verify(requestScope, times(i)).callChaosMonkey(ChaosTarget.BEAN, simpleName);
-        verify(metrics, times(i)).publishMetricEvent(pointcutName, MetricType.BEAN);
+        verify(requestScope, times(i)).mapToggleName(ChaosTarget.BEAN, simpleName);
+        verify(requestScope, times(i)).callChaosMonkey(ChaosTarget.BEAN, simpleName, null);
+        verify(metrics, times(i)).watchedCallPublisher(pointcutName, MetricType.BEAN);
         verifyNoMoreInteractions(requestScope, metrics);
     }
 }
@@ -15,29 +15,44 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
 import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
 import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
 import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
 import de.codecentric.spring.boot.demo.chaos.monkey.component.DemoComponent;
+import java.util.concurrent.TimeUnit;
 import org.aopalliance.aop.Advice;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.aop.framework.ProxyCreatorSupport;
+import reactor.core.publisher.Mono;
 
 class ChaosMonkeyDefaultAdviceTest {
 
+    private static final String SIGNATURE = "de.codecentric.spring.boot.demo.chaos.monkey.component.DemoComponent.sayHello";
+
+    private static final String TOGGLE_NAME = "chaos.monkey.component";
+
     private boolean isEnabled = false;
     private final ChaosMonkeyRequestScope requestScope = mock(ChaosMonkeyRequestScope.class);
     private final MetricEventPublisher eventPublisher = mock(MetricEventPublisher.class);
+    private final ChaosMonkeyRequestAssault latencyAssault = mock(ChaosMonkeyRequestAssault.class);
+    private final Runnable callPublisher = mock(Runnable.class);
     private final Advice advice = new ChaosMonkeyDefaultAdvice(requestScope, eventPublisher, ChaosTarget.COMPONENT, () -> isEnabled);
     private DemoComponent proxy;
 
@@ -48,6 +63,8 @@ class ChaosMonkeyDefaultAdviceTest {
         proxyCreator.setTarget(new DemoComponent());
         proxy = (DemoComponent) proxyCreator.getAopProxyFactory().createAopProxy(proxyCreator).getProxy();
         reset(requestScope, eventPublisher);
+        when(requestScope.mapToggleName(ChaosTarget.COMPONENT, SIGNATURE)).thenReturn(TOGGLE_NAME);
+        when(eventPublisher.watchedCallPublisher("execution.DemoComponent.sayHello", MetricType.COMPONENT)).thenReturn(callPublisher);
     }
 
     @Test
@@ -56,9 +73,22 @@ class ChaosMonkeyDefaultAdviceTest {
 
         proxy.sayHello();
 
-        verify(requestScope, times(1)).callChaosMonkey(ChaosTarget.COMPONENT,
-                "de.codecentric.spring.boot.demo.chaos.monkey.component.DemoComponent.sayHello");
-        verify(eventPublisher, times(1)).publishMetricEvent("execution.DemoComponent.sayHello", MetricType.COMPONENT);
+        verify(requestScope, times(1)).callChaosMonkey(ChaosTarget.COMPONENT, SIGNATURE, TOGGLE_NAME);
+        verify(callPublisher, times(1)).run();
+    }
+
+    @Test
+    public void shouldReuseSignatureForRepeatedCalls() {
+        isEnabled = true;
+
+        proxy.sayHello();
+        proxy.sayHello();
+
+        // the toggle name and the metric publisher are resolved once per method
+        verify(requestScope, times(1)).mapToggleName(ChaosTarget.COMPONENT, SIGNATURE);
+        verify(eventPublisher, times(1)).watchedCallPublisher("execution.DemoComponent.sayHello", MetricType.COMPONENT);
+        verify(requestScope, times(2)).callChaosMonkey(ChaosTarget.COMPONENT, SIGNATURE, TOGGLE_NAME);
+        verify(callPublisher, times(2)).run();
         verifyNoMoreInteractions(requestScope, eventPublisher);
     }
 
@@ -70,4 +100,52 @@ class ChaosMonkeyDefaultAdviceTest {
 
         verifyNoInteractions(requestScope, eventPublisher);
     }
+
+    @Test
+    public void shouldResolveToggleNameAndMetricOnFirstEnabledCall() {
+        isEnabled = false;
+        proxy.sayHello();
+
+        isEnabled = true;
+        proxy.sayHello();
+
+        verify(requestScope, times(1)).mapToggleName(ChaosTarget.COMPONENT, SIGNATURE);
+        verify(eventPublisher, times(1)).watchedCallPublisher("execution.DemoComponent.sayHello", MetricType.COMPONENT);
+        verify(requestScope, times(1)).callChaosMonkey(ChaosTarget.COMPONENT, SIGNATURE, TOGGLE_NAME);
+        verify(callPublisher, times(1)).run();
+    }
+
+    @Test
+    public void shouldDelayReturnedMonoInsteadOfBlocking() {
+        isEnabled = true;
+        ProxyCreatorSupport proxyCreator = new ProxyCreatorSupport();
+        proxyCreator.addAdvice(advice);
+        proxyCreator.setTarget(new ReactiveComponent());
+        ReactiveComponent reactiveProxy = (ReactiveComponent) proxyCreator.getAopProxyFactory().createAopProxy(proxyCreator).getProxy();
+        String signature = ReactiveComponent.class.getName() + ".sayHello";
+        when(requestScope.callChaosMonkeyNonBlocking(eq(ChaosTarget.COMPONENT), eq(signature), any()))
+                .thenReturn(ResponseAttack.delay(200L, latencyAssault, ChaosTarget.COMPONENT, signature));
+
+        // the first call loads the proxy and reactor classes, it isn't timed
+        reactiveProxy.sayHello();
+
+        long start = System.nanoTime();
+        Mono<String> hello = reactiveProxy.sayHello();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(200);
+        // the delay is only applied, and recorded, when the mono is subscribed
+        verify(latencyAssault, never()).delayApplied(any(), any(), any(Long.class));
+
+        start = System.nanoTime();
+        assertThat(hello.block()).isEqualTo("hello");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+        verify(requestScope, never()).callChaosMonkey(any(), any(), any());
+        verify(latencyAssault).delayApplied(ChaosTarget.COMPONENT, signature, 200L);
+    }
+
+    public static class ReactiveComponent {
+
+        public Mono<String> sayHello() {
+            return Mono.just("hello");
+        }
+    }
 }
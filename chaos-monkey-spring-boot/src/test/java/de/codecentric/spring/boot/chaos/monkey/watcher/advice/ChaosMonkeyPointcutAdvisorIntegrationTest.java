@@ -15,6 +15,8 @@
  */
 package de.codecentric.spring.boot.chaos.monkey.watcher.advice;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -84,15 +86,15 @@ class ChaosMonkeyPointcutAdvisorIntegrationTest {
     @Test
     public void chaosMonkeyIsCalledWhenComponentIsNotFinal() {
         demoComponent.sayHello();
-        verify(chaosMonkeyRequestScopeMock, times(1)).callChaosMonkey(ChaosTarget.COMPONENT, demoComponentSimpleName);
-        verify(metricsMock, times(1)).publishMetricEvent(demoComponentPointcutName, MetricType.COMPONENT);
+        verify(chaosMonkeyRequestScopeMock, times(1)).callChaosMonkey(eq(ChaosTarget.COMPONENT), eq(demoComponentSimpleName), any());
+        verify(metricsMock, times(1)).watchedCallPublisher(demoComponentPointcutName, MetricType.COMPONENT);
     }
 
     @Test
     public void chaosMonkeyIsNotCalledWhenComponentIsFinal() {
         finalDemoComponent.sayHello();
-        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(ChaosTarget.COMPONENT, finalDemoComponentSimpleName);
-        verify(metricsMock, times(0)).publishMetricEvent(finalDemoComponentPointcutName, MetricType.COMPONENT);
+        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(eq(ChaosTarget.COMPONENT), eq(finalDemoComponentSimpleName), any());
+        verify(metricsMock, times(0)).watchedCallPublisher(finalDemoComponentPointcutName, MetricType.COMPONENT);
     }
 
     @Test
@@ -101,16 +103,16 @@ class ChaosMonkeyPointcutAdvisorIntegrationTest {
         applicationListenerComponent.onApplicationEvent(mock(ApplicationEvent.class));
         factoryBeanComponent.getObject();
 
-        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(null, beanPostProcessorComponentSimpleName);
-        verify(metricsMock, times(0)).publishMetricEvent(beanPostProcessorComponentPointcutName, MetricType.COMPONENT);
+        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(eq(null), eq(beanPostProcessorComponentSimpleName), any());
+        verify(metricsMock, times(0)).watchedCallPublisher(beanPostProcessorComponentPointcutName, MetricType.COMPONENT);
 
-        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(null, applicationListenerComponentSimpleName);
-        verify(metricsMock, times(0)).publishMetricEvent(applicationListenerComponentPointcutName, MetricType.COMPONENT);
+        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(eq(null), eq(applicationListenerComponentSimpleName), any());
+        verify(metricsMock, times(0)).watchedCallPublisher(applicationListenerComponentPointcutName, MetricType.COMPONENT);
 
-        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(null, beanFactorySingletonComponentSimpleName);
-        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(null, beanFactoryObjectTypeComponentSimpleName);
-        verify(metricsMock, times(0)).publishMetricEvent(beanFactorySingletonComponentPointcutName, MetricType.COMPONENT);
-        verify(metricsMock, times(0)).publishMetricEvent(beanFactoryObjectTypeComponentPointcutName, MetricType.COMPONENT);
+        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(eq(null), eq(beanFactorySingletonComponentSimpleName), any());
+        verify(chaosMonkeyRequestScopeMock, times(0)).callChaosMonkey(eq(null), eq(beanFactoryObjectTypeComponentSimpleName), any());
+        verify(metricsMock, times(0)).watchedCallPublisher(beanFactorySingletonComponentPointcutName, MetricType.COMPONENT);
+        verify(metricsMock, times(0)).watchedCallPublisher(beanFactoryObjectTypeComponentPointcutName, MetricType.COMPONENT);
     }
 
     @Configuration
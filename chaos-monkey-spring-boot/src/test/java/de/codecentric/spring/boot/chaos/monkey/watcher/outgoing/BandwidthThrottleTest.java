@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import de.codecentric.spring.boot.chaos.monkey.component.MetricEventPublisher;
+import de.codecentric.spring.boot.chaos.monkey.component.MetricType;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.BandwidthLimit;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeyProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.ChaosMonkeySettings;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BandwidthThrottleTest {
+
+    @Mock
+    private ChaosMonkeySettings settings;
+
+    @Mock
+    private MetricEventPublisher metricEventPublisher;
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    @Mock
+    private ClientHttpResponse response;
+
+    private final ChaosMonkeyProperties chaosMonkeyProperties = new ChaosMonkeyProperties();
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    private BandwidthThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        chaosMonkeyProperties.setEnabled(true);
+        assaultProperties.setBandwidthActive(true);
+        throttle = new BandwidthThrottle(settings, metricEventPublisher);
+    }
+
+    @Test
+    void hostsNotMatchingAnyLimitAreNotThrottled() {
+        given(settings.getChaosMonkeyProperties()).willReturn(chaosMonkeyProperties);
+        given(settings.getAssaultProperties()).willReturn(assaultProperties);
+        given(request.getURI()).willReturn(URI.create("https://example.org/api"));
+        assaultProperties.setBandwidthLimits(Collections.singletonList(new BandwidthLimit("*.example.com", 1000, 1000, 100)));
+
+        assertThat(throttle.throttle(request, execution)).isSameAs(execution);
+    }
+
+    @Test
+    void inactiveLimitsAreNotApplied() {
+        given(settings.getChaosMonkeyProperties()).willReturn(chaosMonkeyProperties);
+        given(settings.getAssaultProperties()).willReturn(assaultProperties);
+        assaultProperties.setBandwidthActive(false);
+        assaultProperties.setBandwidthLimits(Collections.singletonList(new BandwidthLimit(null, 1000, 1000, 100)));
+
+        assertThat(throttle.throttle(request, execution)).isSameAs(execution);
+    }
+
+    @Test
+    void throttlesTheResponseBodyOfMatchingHosts() throws Exception {
+        given(settings.getChaosMonkeyProperties()).willReturn(chaosMonkeyProperties);
+        given(settings.getAssaultProperties()).willReturn(assaultProperties);
+        given(request.getURI()).willReturn(URI.create("https://api.Example.com/api"));
+        assaultProperties.setBandwidthLimits(Collections.singletonList(new BandwidthLimit("*.example.com", 10000, 0, 1000)));
+        given(execution.execute(request, new byte[0])).willReturn(response);
+        given(response.getBody()).willReturn(new ByteArrayInputStream(new byte[3000]));
+
+        long start = System.nanoTime();
+        ClientHttpResponse throttled = throttle.throttle(request, execution).execute(request, new byte[0]);
+        byte[] body;
+        try (InputStream in = throttled.getBody()) {
+            body = StreamUtils.copyToByteArray(in);
+        }
+
+        // the first 1000 bytes are the burst
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(body).hasSize(3000);
+        verify(metricEventPublisher).publishMetricEvent(MetricType.BANDWIDTH_ASSAULT);
+        verify(metricEventPublisher).publishMetricEvent(eq(MetricType.BANDWIDTH_ASSAULT_DOWNLOAD_THROUGHPUT), anyLong());
+    }
+
+    @Test
+    void throttlesTheRequestBodyOfMatchingHosts() throws Exception {
+        given(settings.getChaosMonkeyProperties()).willReturn(chaosMonkeyProperties);
+        given(settings.getAssaultProperties()).willReturn(assaultProperties);
+        given(request.getURI()).willReturn(URI.create("https://example.com/api"));
+        assaultProperties.setBandwidthLimits(Collections.singletonList(new BandwidthLimit("example.com", 0, 10000, 1000)));
+        byte[] body = new byte[3000];
+        given(execution.execute(request, body)).willReturn(response);
+
+        long start = System.nanoTime();
+        ClientHttpResponse throttled = throttle.throttle(request, execution).execute(request, body);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(throttled).isSameAs(response);
+        verify(metricEventPublisher).publishMetricEvent(eq(MetricType.BANDWIDTH_ASSAULT_UPLOAD_THROUGHPUT), anyLong());
+    }
+
+    @Test
+    void bucketLetsTheBurstPassAndQueuesTheRest() {
+        BandwidthThrottle.ByteBucket bucket = new BandwidthThrottle.ByteBucket(1000, 100, 0);
+
+        assertThat(bucket.reserve(100, 0)).isZero();
+        assertThat(bucket.reserve(100, 0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        // concurrent requests queue up behind each other
+        assertThat(bucket.reserve(100, 0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void bucketDoesNotSaveUpMoreThanTheBurst() {
+        BandwidthThrottle.ByteBucket bucket = new BandwidthThrottle.ByteBucket(1000, 100, 0);
+
+        long later = TimeUnit.SECONDS.toNanos(10);
+
+        assertThat(bucket.reserve(100, later)).isZero();
+        assertThat(bucket.reserve(100, later)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
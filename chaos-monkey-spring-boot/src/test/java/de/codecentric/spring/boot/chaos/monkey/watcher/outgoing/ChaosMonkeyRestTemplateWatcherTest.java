@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyLatencyAssaultExecutor;
+import de.codecentric.spring.boot.chaos.monkey.assaults.ChaosMonkeyRequestAssault;
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosMonkeyRequestScope;
+import de.codecentric.spring.boot.chaos.monkey.component.ChaosTarget;
+import de.codecentric.spring.boot.chaos.monkey.component.ResponseAttack;
+import de.codecentric.spring.boot.chaos.monkey.configuration.AssaultProperties;
+import de.codecentric.spring.boot.chaos.monkey.configuration.InjectionPhase;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatchedOutgoingRequest;
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatcherProperties;
+import java.net.URI;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+@ExtendWith(MockitoExtension.class)
+class ChaosMonkeyRestTemplateWatcherTest {
+
+    private static final String URL = "https://example.com/api";
+
+    @Mock
+    private ChaosMonkeyRequestScope requestScope;
+
+    @Mock
+    private ChaosMonkeyLatencyAssaultExecutor latencyAssaultExecutor;
+
+    @Mock
+    private ChaosMonkeyRequestAssault latencyAssault;
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    @Mock
+    private ClientHttpResponse response;
+
+    private final WatcherProperties watcherProperties = new WatcherProperties();
+
+    private final AssaultProperties assaultProperties = new AssaultProperties();
+
+    private ChaosMonkeyRestTemplateWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcherProperties.setRestTemplate(true);
+        watcher = new ChaosMonkeyRestTemplateWatcher(requestScope, watcherProperties, assaultProperties, latencyAssaultExecutor);
+        given(request.getURI()).willReturn(URI.create(URL));
+    }
+
+    @Test
+    void afterResponseAttacksAfterTheRequestIsSent() throws Exception {
+        given(execution.execute(request, new byte[0])).willReturn(response);
+
+        assertThat(watcher.intercept(request, new byte[0], execution)).isSameAs(response);
+
+        InOrder inOrder = inOrder(execution, requestScope);
+        inOrder.verify(execution).execute(request, new byte[0]);
+        inOrder.verify(requestScope).callChaosMonkey(ChaosTarget.REST_TEMPLATE, URL);
+    }
+
+    @Test
+    void afterResponseReplacesAndClosesTheResponseOnException() throws Exception {
+        given(execution.execute(request, new byte[0])).willReturn(response);
+        willThrow(new RuntimeException("chaos")).given(requestScope).callChaosMonkey(ChaosTarget.REST_TEMPLATE, URL);
+
+        ClientHttpResponse result = watcher.intercept(request, new byte[0], execution);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        verify(response).close();
+    }
+
+    @Test
+    void beforeSendAttacksBeforeTheRequestIsSent() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.BEFORE_SEND);
+        given(execution.execute(request, new byte[0])).willReturn(response);
+
+        assertThat(watcher.intercept(request, new byte[0], execution)).isSameAs(response);
+
+        InOrder inOrder = inOrder(execution, requestScope);
+        inOrder.verify(requestScope).callChaosMonkey(ChaosTarget.REST_TEMPLATE, URL);
+        inOrder.verify(execution).execute(request, new byte[0]);
+    }
+
+    @Test
+    void beforeSendDoesNotSendOnException() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.BEFORE_SEND);
+        willThrow(new RuntimeException("chaos")).given(requestScope).callChaosMonkey(ChaosTarget.REST_TEMPLATE, URL);
+
+        ClientHttpResponse result = watcher.intercept(request, new byte[0], execution);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        verify(execution, never()).execute(any(), any());
+    }
+
+    @Test
+    void otherExceptionsArePropagated() {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.BEFORE_SEND);
+        willThrow(new IllegalStateException("no chaos")).given(requestScope).callChaosMonkey(ChaosTarget.REST_TEMPLATE, URL);
+
+        assertThatThrownBy(() -> watcher.intercept(request, new byte[0], execution))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shortCircuitAnswersLatencyWithGatewayTimeout() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.SHORT_CIRCUIT);
+        given(requestScope.callChaosMonkeyNonBlocking(ChaosTarget.REST_TEMPLATE, URL))
+                .willReturn(ResponseAttack.delay(500L, latencyAssault, ChaosTarget.REST_TEMPLATE, URL));
+        given(latencyAssaultExecutor.tryExecute(500L)).willReturn(true);
+
+        ClientHttpResponse result = watcher.intercept(request, new byte[0], execution);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        verify(latencyAssault).delayApplied(ChaosTarget.REST_TEMPLATE, URL, 500L);
+        verify(execution, never()).execute(any(), any());
+    }
+
+    @Test
+    void shortCircuitDoesNotRecordSkippedLatency() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.SHORT_CIRCUIT);
+        given(requestScope.callChaosMonkeyNonBlocking(ChaosTarget.REST_TEMPLATE, URL))
+                .willReturn(ResponseAttack.delay(500L, latencyAssault, ChaosTarget.REST_TEMPLATE, URL));
+        given(latencyAssaultExecutor.tryExecute(500L)).willReturn(false);
+
+        ClientHttpResponse result = watcher.intercept(request, new byte[0], execution);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        verify(latencyAssault, never()).delayApplied(any(), any(), any(Long.class));
+    }
+
+    @Test
+    void shortCircuitAnswersExceptionWithError() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.SHORT_CIRCUIT);
+        given(requestScope.callChaosMonkeyNonBlocking(ChaosTarget.REST_TEMPLATE, URL)).willThrow(new RuntimeException("chaos"));
+
+        ClientHttpResponse result = watcher.intercept(request, new byte[0], execution);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        verify(execution, never()).execute(any(), any());
+    }
+
+    @Test
+    void shortCircuitSendsRequestsThatAreNotAttacked() throws Exception {
+        watcherProperties.setRestTemplateInjectionPhase(InjectionPhase.SHORT_CIRCUIT);
+        given(requestScope.callChaosMonkeyNonBlocking(ChaosTarget.REST_TEMPLATE, URL)).willReturn(ResponseAttack.NONE);
+        given(execution.execute(request, new byte[0])).willReturn(response);
+
+        assertThat(watcher.intercept(request, new byte[0], execution)).isSameAs(response);
+        verify(latencyAssaultExecutor, never()).tryExecute(any(Long.class));
+    }
+
+    @Test
+    void requestsNotMatchingTheWatchedOutgoingRequestsAreNotAttacked() throws Exception {
+        assaultProperties.setWatchedOutgoingRequests(Collections.singletonList(new WatchedOutgoingRequest("other.example.com", null, null, null)));
+        given(execution.execute(request, new byte[0])).willReturn(response);
+
+        assertThat(watcher.intercept(request, new byte[0], execution)).isSameAs(response);
+        verifyNoInteractions(requestScope);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.codecentric.spring.boot.chaos.monkey.watcher.outgoing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.codecentric.spring.boot.chaos.monkey.configuration.WatchedOutgoingRequest;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+class OutgoingRequestMatcherTest {
+
+    private static final HttpHeaders NO_HEADERS = new HttpHeaders();
+
+    @Test
+    void matchesExactHostsCaseInsensitive() {
+        OutgoingRequestMatcher matcher = matcher(new WatchedOutgoingRequest("api.example.com", null, null, null));
+
+        assertThat(matches(matcher, "https://API.example.com/orders")).isTrue();
+        assertThat(matches(matcher, "https://api.example.com")).isTrue();
+        assertThat(matches(matcher, "https://other.example.com/orders")).isFalse();
+        assertThat(matches(matcher, "https://example.com/orders")).isFalse();
+    }
+
+    @Test
+    void matchesHostWildcards() {
+        OutgoingRequestMatcher oneLabel = matcher(new WatchedOutgoingRequest("*.example.com", null, null, null));
+        OutgoingRequestMatcher anyLabels = matcher(new WatchedOutgoingRequest("**.example.com", null, null, null));
+
+        assertThat(matches(oneLabel, "https://api.example.com/")).isTrue();
+        assertThat(matches(oneLabel, "https://eu.api.example.com/")).isFalse();
+        assertThat(matches(oneLabel, "https://example.com/")).isFalse();
+        assertThat(matches(anyLabels, "https://eu.api.example.com/")).isTrue();
+        assertThat(matches(anyLabels, "https://example.com/")).isTrue();
+        assertThat(matches(anyLabels, "https://example.org/")).isFalse();
+    }
+
+    @Test
+    void matchesPathTemplates() {
+        OutgoingRequestMatcher matcher = matcher(new WatchedOutgoingRequest(null, "/orders/{id}/items", null, null),
+                new WatchedOutgoingRequest(null, "/customers/**", null, null));
+
+        assertThat(matches(matcher, "http://localhost:8080/orders/42/items?expand=true")).isTrue();
+        assertThat(matches(matcher, "http://localhost:8080/orders/42")).isFalse();
+        assertThat(matches(matcher, "http://localhost:8080/orders/42/items/1")).isFalse();
+        assertThat(matches(matcher, "http://localhost:8080/customers")).isTrue();
+        assertThat(matches(matcher, "http://localhost:8080/customers/7/addresses")).isTrue();
+        assertThat(matches(matcher, "http://localhost:8080/suppliers/7")).isFalse();
+    }
+
+    @Test
+    void matchesAnySegmentsInTheMiddleOfThePath() {
+        OutgoingRequestMatcher matcher = matcher(new WatchedOutgoingRequest(null, "/api/**/health", null, null));
+
+        assertThat(matches(matcher, "http://localhost/api/health")).isTrue();
+        assertThat(matches(matcher, "http://localhost/api/v1/orders/health")).isTrue();
+        assertThat(matches(matcher, "http://localhost/api/v1/orders")).isFalse();
+    }
+
+    @Test
+    void matchesMethodsAndHeaders() {
+        OutgoingRequestMatcher matcher = matcher(new WatchedOutgoingRequest("example.com", "/orders", Arrays.asList(HttpMethod.POST, HttpMethod.PUT),
+                Collections.singletonMap("X-Tenant", "chaos")), new WatchedOutgoingRequest("example.com", "/orders", null,
+                        Collections.singletonMap("X-Canary", "*")));
+        HttpHeaders tenant = new HttpHeaders();
+        tenant.add("x-tenant", "chaos");
+        HttpHeaders canary = new HttpHeaders();
+        canary.add("X-Canary", "1");
+        URI uri = URI.create("https://example.com/orders");
+
+        assertThat(matcher.matches(HttpMethod.POST, uri, tenant)).isTrue();
+        assertThat(matcher.matches(HttpMethod.GET, uri, tenant)).isFalse();
+        assertThat(matcher.matches(HttpMethod.POST, uri, NO_HEADERS)).isFalse();
+        assertThat(matcher.matches(HttpMethod.GET, uri, canary)).isTrue();
+    }
+
+    @Test
+    void matchesOneOfManyRules() {
+        List<WatchedOutgoingRequest> watched = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            watched.add(new WatchedOutgoingRequest("service-" + i + ".internal", "/api/v1/resource-" + i + "/{id}", null, null));
+        }
+        OutgoingRequestMatcher matcher = new OutgoingRequestMatcher(watched);
+
+        assertThat(matches(matcher, "http://service-321.internal/api/v1/resource-321/5")).isTrue();
+        assertThat(matches(matcher, "http://service-321.internal/api/v1/resource-322/5")).isFalse();
+        assertThat(matcher.isFor(watched)).isTrue();
+        assertThat(matcher.isFor(new ArrayList<>(watched))).isFalse();
+    }
+
+    private static OutgoingRequestMatcher matcher(WatchedOutgoingRequest... watched) {
+        return new OutgoingRequestMatcher(Arrays.asList(watched));
+    }
+
+    private static boolean matches(OutgoingRequestMatcher matcher, String url) {
+        return matcher.matches(HttpMethod.GET, URI.create(url), NO_HEADERS);
+    }
+}